@@ -2,7 +2,25 @@ import axios from "axios";
 
 const api = axios.create({
   baseURL: "http://localhost:8080/api",
-  withCredentials: true, 
+  withCredentials: true,
+});
+
+// Access token expirado: renova a sessão uma vez (requisições simultâneas compartilham a renovação) e repete
+let refreshing: Promise<unknown> | null = null;
+
+api.interceptors.response.use(undefined, async (error) => {
+  const original = error.config;
+  if (error.response?.status !== 401 || !original || original._retry || original.url?.startsWith("/auth/")) {
+    return Promise.reject(error);
+  }
+  original._retry = true;
+  refreshing ??= api.post("/auth/refresh").finally(() => { refreshing = null; });
+  try {
+    await refreshing;
+  } catch {
+    return Promise.reject(error);
+  }
+  return api(original);
 });
 
 export default api;
@@ -0,0 +1,65 @@
+package UnB.UnBacklog.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import UnB.UnBacklog.util.LruCache;
+
+/**
+ * Evita verificar a assinatura RSA do mesmo token a cada requisição: os claims já
+ * validados ficam em cache, indexados pelo hash do token, até o seu {@code exp}.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final LruCache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (isValid(cached)) {
+                return cached;
+            }
+            cache.remove(key);
+        }
+
+        Jwt jwt = delegate.decode(token);
+        if (isValid(jwt)) {
+            cache.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    public LruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private boolean isValid(Jwt jwt) {
+        return jwt.getExpiresAt() != null && Instant.now().isBefore(jwt.getExpiresAt());
+    }
+
+    private String hash(String token) {
+        if (token == null) {
+            throw new JwtException("Token não encontrado");
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
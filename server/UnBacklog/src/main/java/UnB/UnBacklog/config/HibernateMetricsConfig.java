@@ -0,0 +1,38 @@
+package UnB.UnBacklog.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryMetricsCustomizer() {
+        // O texto do SQL chega no prepare; o tempo é medido na execução pelo SessionEventListener
+        StatementInspector statementInspector = sql -> {
+            RequestQueryMetrics metrics = RequestQueryMetrics.current();
+            if (metrics != null) metrics.statementPrepared(sql);
+            return sql;
+        };
+
+        Interceptor interceptor = new Interceptor() {
+            @Override
+            public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+                RequestQueryMetrics metrics = RequestQueryMetrics.current();
+                if (metrics != null) metrics.entityLoaded();
+                return false;
+            }
+        };
+
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementInspector);
+            properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryMetricsSessionListener.class.getName());
+        };
+    }
+}
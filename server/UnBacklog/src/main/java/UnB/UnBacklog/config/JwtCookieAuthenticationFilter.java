@@ -5,7 +5,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
@@ -13,16 +15,34 @@ import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import UnB.UnBacklog.service.AuthService;
+import UnB.UnBacklog.service.TokenRevocationService;
+
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
+    public static final String OPERATOR_ROLE = "OPERATOR";
+    private static final List<SimpleGrantedAuthority> OPERATOR_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + OPERATOR_ROLE));
 
     private final JwtDecoder jwtDecoder;
+    private final TokenRevocationService tokenRevocationService;
+    private final Set<UUID> operators;
 
-    public JwtCookieAuthenticationFilter(JwtDecoder jwtDecoder) {
+    public JwtCookieAuthenticationFilter(JwtDecoder jwtDecoder, TokenRevocationService tokenRevocationService,
+        @Value("${unbacklog.metrics.operators:}") String operators) {
         this.jwtDecoder = jwtDecoder;
+        this.tokenRevocationService = tokenRevocationService;
+        this.operators = Arrays.stream(operators.split(","))
+            .map(String::trim)
+            .filter(id -> !id.isEmpty())
+            .map(UUID::fromString)
+            .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -41,10 +61,18 @@ public class JwtCookieAuthenticationFilter extends OncePerRequestFilter {
                 if ("token".equals(cookie.getName())) {
                     try {
                         Jwt jwt = jwtDecoder.decode(cookie.getValue());
-                        UsernamePasswordAuthenticationToken auth =
-                                new UsernamePasswordAuthenticationToken(jwt.getSubject(), null, Collections.emptyList());
+                        // Sessão encerrada (logout, reuso de refresh token) ou token revogado individualmente
+                        if (tokenRevocationService.isRevoked(jwt.getClaimAsString(AuthService.SESSION_CLAIM))
+                            || tokenRevocationService.isRevoked(jwt.getId())) {
+                            throw new JwtException("Token revoked");
+                        }
+                        // O principal é o id do usuário e a credencial é o próprio token,
+                        // para que os serviços não precisem decodificá-lo de novo
+                        UUID userId = UUID.fromString(jwt.getSubject());
+                        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                                userId, cookie.getValue(), operators.contains(userId) ? OPERATOR_AUTHORITIES : List.of());
                         SecurityContextHolder.getContext().setAuthentication(auth);
-                    } catch (JwtException e) {
+                    } catch (JwtException | IllegalArgumentException e) {
                         SecurityContextHolder.clearContext();
                         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                         return;
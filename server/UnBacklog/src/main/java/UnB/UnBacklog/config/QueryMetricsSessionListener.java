@@ -0,0 +1,30 @@
+package UnB.UnBacklog.config;
+
+import org.hibernate.SessionEventListener;
+
+public class QueryMetricsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestQueryMetrics metrics = RequestQueryMetrics.current();
+        if (metrics != null) metrics.executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryMetrics metrics = RequestQueryMetrics.current();
+        if (metrics != null) metrics.executeEnded(false);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestQueryMetrics metrics = RequestQueryMetrics.current();
+        if (metrics != null) metrics.executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryMetrics metrics = RequestQueryMetrics.current();
+        if (metrics != null) metrics.executeEnded(true);
+    }
+}
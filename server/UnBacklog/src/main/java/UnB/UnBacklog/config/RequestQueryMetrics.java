@@ -0,0 +1,70 @@
+package UnB.UnBacklog.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contadores de acesso ao banco da requisição em andamento, preenchidos pelos
+ * ganchos do Hibernate na mesma thread que atende a requisição.
+ */
+public final class RequestQueryMetrics {
+    private static final ThreadLocal<RequestQueryMetrics> CURRENT = new ThreadLocal<>();
+
+    public static final class SqlStats {
+        private int executions;
+        private long nanos;
+
+        public int getExecutions() { return executions; }
+        public long getNanos() { return nanos; }
+    }
+
+    private int statements;
+    private int batches;
+    private long jdbcNanos;
+    private int entityLoads;
+    private String lastSql;
+    private long executeStart;
+    private final Map<String, SqlStats> bySql = new LinkedHashMap<>();
+
+    public static RequestQueryMetrics begin() {
+        RequestQueryMetrics metrics = new RequestQueryMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestQueryMetrics current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String sql) {
+        lastSql = sql;
+    }
+
+    void executeStarted() {
+        executeStart = System.nanoTime();
+    }
+
+    void executeEnded(boolean batch) {
+        long elapsed = System.nanoTime() - executeStart;
+        statements++;
+        if (batch) batches++;
+        jdbcNanos += elapsed;
+        SqlStats stats = bySql.computeIfAbsent(lastSql == null ? "?" : lastSql, sql -> new SqlStats());
+        stats.executions++;
+        stats.nanos += elapsed;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    public int getStatements() { return statements; }
+    public int getBatches() { return batches; }
+    public long getJdbcNanos() { return jdbcNanos; }
+    public int getEntityLoads() { return entityLoads; }
+    public Map<String, SqlStats> getBySql() { return bySql; }
+}
@@ -0,0 +1,88 @@
+package UnB.UnBacklog.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache de segundo nível do Hibernate para os dados que quase não mudam: projetos, usuários,
+ * membros e as consultas de membros. As regiões ficam em memória, limitadas por quantidade de
+ * entradas e com validade; escritas feitas pelo Hibernate (inclusive em cascata) atualizam as
+ * entidades e invalidam as consultas das tabelas afetadas.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    public static final String PROJECT_REGION = "project";
+    public static final String USER_REGION = "user";
+    public static final String PROJECT_USER_REGION = "project_user";
+    public static final String MEMBERSHIP_QUERY_REGION = "membership-queries";
+
+    public static final String[] REGIONS = { PROJECT_REGION, USER_REGION, PROJECT_USER_REGION, MEMBERSHIP_QUERY_REGION };
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+        @Value("${unbacklog.entity-cache.max-entries:10000}") long maxEntries,
+        @Value("${unbacklog.entity-cache.ttl-seconds:600}") long ttlSeconds,
+        @Value("${unbacklog.entity-cache.query-max-entries:5000}") long queryMaxEntries,
+        @Value("${unbacklog.entity-cache.query-ttl-seconds:300}") long queryTtlSeconds
+    ) {
+        CacheConfiguration<Object, Object> entities = region(maxEntries, ttlSeconds);
+        CacheConfiguration<Object, Object> queries = region(queryMaxEntries, queryTtlSeconds);
+        // Os carimbos de atualização por tabela não podem expirar antes das consultas que validam
+        CacheConfiguration<Object, Object> timestamps = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+            .build();
+
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+            .withCache(PROJECT_REGION, entities)
+            .withCache(USER_REGION, entities)
+            .withCache(PROJECT_USER_REGION, entities)
+            .withCache(MEMBERSHIP_QUERY_REGION, queries)
+            .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queries)
+            .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps)
+            .build();
+
+        // URI própria por contexto: o provedor guarda os gerenciadores por URI
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:unbacklog:second-level-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            // Região com nome errado deve falhar na subida, não virar um cache sem limite
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Acertos e faltas por região (/api/metrics/caches), sem o log de métricas a cada sessão
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> region(long maxEntries, long ttlSeconds) {
+        return CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+            .build();
+    }
+}
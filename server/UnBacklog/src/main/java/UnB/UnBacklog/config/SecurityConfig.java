@@ -2,21 +2,24 @@ package UnB.UnBacklog.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.web.cors.CorsConfiguration;
 
 import com.nimbusds.jose.jwk.JWK;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 
+import jakarta.servlet.DispatcherType;
+
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.KeyFactory;
@@ -42,6 +45,9 @@ public class SecurityConfig {
     @Value("classpath:app.pub")
     private Resource publicKeyResource;
 
+    @Value("${unbacklog.jwt-cache.max-size:10000}")
+    private int jwtCacheMaxSize;
+
 @Bean
 public SecurityFilterChain securityFilterChain(HttpSecurity http,
     JwtCookieAuthenticationFilter jwtCookieFilter) throws Exception {
@@ -59,9 +65,16 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http,
         }))
         .csrf(csrf -> csrf.disable())
         .authorizeHttpRequests(authz -> authz
+            // Conclusão de respostas assíncronas (SSE) já autenticadas na requisição original
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/auth/**").permitAll()
+            // Métricas internas (consultas, caches, threads, escritores, login) só para operadores
+            .requestMatchers("/api/metrics/**").hasRole(JwtCookieAuthenticationFilter.OPERATOR_ROLE)
             .anyRequest().authenticated()
         )
+        // Sem cookie ou com token expirado responde 401 (e não 403): é o que leva o cliente a chamar /api/auth/refresh
+        .exceptionHandling(exceptions -> exceptions
+            .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
         .addFilterBefore(jwtCookieFilter, org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
@@ -69,8 +82,8 @@ public SecurityFilterChain securityFilterChain(HttpSecurity http,
 
 
     @Bean
-    public JwtDecoder jwtDecoder() throws Exception {
-        return NimbusJwtDecoder.withPublicKey(publicKey()).build();
+    public CachingJwtDecoder jwtDecoder() throws Exception {
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(publicKey()).build(), jwtCacheMaxSize);
     }
 
     @Bean
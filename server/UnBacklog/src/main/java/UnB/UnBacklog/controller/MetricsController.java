@@ -0,0 +1,113 @@
+package UnB.UnBacklog.controller;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import UnB.UnBacklog.config.CachingJwtDecoder;
+import UnB.UnBacklog.config.VirtualThreadPinningMonitor;
+import UnB.UnBacklog.service.ActivityLogWriter;
+import UnB.UnBacklog.service.BacklogSearchService;
+import UnB.UnBacklog.service.BoardReadModelService;
+import UnB.UnBacklog.service.LoginThrottleService;
+import UnB.UnBacklog.service.PasswordHashingService;
+import UnB.UnBacklog.service.ProjectMembershipService;
+import UnB.UnBacklog.service.ProjectSummaryService;
+import UnB.UnBacklog.service.RankRebalancer;
+import UnB.UnBacklog.service.SecondLevelCacheService;
+import UnB.UnBacklog.service.StatusHistoryWriter;
+import UnB.UnBacklog.service.TokenRevocationService;
+import UnB.UnBacklog.service.QueryMetricsService;
+import UnB.UnBacklog.util.LruCache;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+    private final QueryMetricsService queryMetricsService;
+    private final ProjectMembershipService projectMembershipService;
+    private final ProjectSummaryService projectSummaryService;
+    private final CachingJwtDecoder jwtDecoder;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final StatusHistoryWriter statusHistoryWriter;
+    private final BacklogSearchService backlogSearchService;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleService loginThrottleService;
+    private final SecondLevelCacheService secondLevelCacheService;
+    private final ActivityLogWriter activityLogWriter;
+    private final RankRebalancer rankRebalancer;
+    private final BoardReadModelService boardReadModelService;
+
+    public MetricsController(QueryMetricsService queryMetricsService, ProjectMembershipService projectMembershipService,
+        ProjectSummaryService projectSummaryService, CachingJwtDecoder jwtDecoder,
+        ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor, StatusHistoryWriter statusHistoryWriter,
+        BacklogSearchService backlogSearchService, TokenRevocationService tokenRevocationService,
+        PasswordHashingService passwordHashingService, LoginThrottleService loginThrottleService,
+        SecondLevelCacheService secondLevelCacheService, ActivityLogWriter activityLogWriter,
+        RankRebalancer rankRebalancer, BoardReadModelService boardReadModelService) {
+        this.queryMetricsService = queryMetricsService;
+        this.projectMembershipService = projectMembershipService;
+        this.projectSummaryService = projectSummaryService;
+        this.jwtDecoder = jwtDecoder;
+        this.pinningMonitor = pinningMonitor;
+        this.statusHistoryWriter = statusHistoryWriter;
+        this.backlogSearchService = backlogSearchService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordHashingService = passwordHashingService;
+        this.loginThrottleService = loginThrottleService;
+        this.secondLevelCacheService = secondLevelCacheService;
+        this.activityLogWriter = activityLogWriter;
+        this.rankRebalancer = rankRebalancer;
+        this.boardReadModelService = boardReadModelService;
+    }
+
+    public record CacheMetrics(LruCache.Stats membership, LruCache.Stats jwt, LruCache.Stats summary, LruCache.Stats search, LruCache.Stats board,
+        TokenRevocationService.Stats revocation, Map<String, SecondLevelCacheService.RegionStats> secondLevel) {}
+    public record ThreadMetrics(boolean virtualThreads, long pinnedEvents, int liveThreads) {}
+    public record WriterMetrics(StatusHistoryWriter.Stats statusHistory, ActivityLogWriter.Stats activity,
+        RankRebalancer.Stats rank) {}
+    public record AuthMetrics(PasswordHashingService.Stats hashing, LoginThrottleService.Stats throttle) {}
+
+    @GetMapping("/queries")
+    public ResponseEntity<Map<String, QueryMetricsService.EndpointSnapshot>> getQueryMetrics() {
+        return ResponseEntity.ok(queryMetricsService.snapshot());
+    }
+
+    @GetMapping("/caches")
+    public ResponseEntity<CacheMetrics> getCacheMetrics() {
+        return ResponseEntity.ok(new CacheMetrics(
+            projectMembershipService.stats(),
+            jwtDecoder.stats(),
+            projectSummaryService.stats(),
+            backlogSearchService.stats(),
+            boardReadModelService.stats(),
+            tokenRevocationService.stats(),
+            secondLevelCacheService.stats()
+        ));
+    }
+
+    @GetMapping("/threads")
+    public ResponseEntity<ThreadMetrics> getThreadMetrics() {
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        return ResponseEntity.ok(new ThreadMetrics(
+            monitor != null,
+            monitor == null ? 0 : monitor.pinnedEvents(),
+            ManagementFactory.getThreadMXBean().getThreadCount()
+        ));
+    }
+
+    @GetMapping("/writers")
+    public ResponseEntity<WriterMetrics> getWriterMetrics() {
+        return ResponseEntity.ok(new WriterMetrics(statusHistoryWriter.stats(), activityLogWriter.stats(), rankRebalancer.stats()));
+    }
+
+    @GetMapping("/auth")
+    public ResponseEntity<AuthMetrics> getAuthMetrics() {
+        return ResponseEntity.ok(new AuthMetrics(passwordHashingService.stats(), loginThrottleService.stats()));
+    }
+}
@@ -1,18 +1,46 @@
 package UnB.UnBacklog.controller;
 
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.service.ActivityLogService;
+import UnB.UnBacklog.service.BacklogSearchService;
+import UnB.UnBacklog.service.BacklogTransferService;
+import UnB.UnBacklog.service.BoardEventStreamService;
+import UnB.UnBacklog.service.BoardJsonWriter;
+import UnB.UnBacklog.service.BoardReadModelService;
+import UnB.UnBacklog.service.ProjectAnalyticsService;
 import UnB.UnBacklog.service.ProjectService;
+import UnB.UnBacklog.service.ProjectSummaryService;
+import UnB.UnBacklog.util.BacklogFormat;
+import UnB.UnBacklog.util.ETags;
 import UnB.UnBacklog.util.ProjectRole;
 import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryOperationType;
 import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
 import UnB.UnBacklog.util.UserStoryStatus;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,6 +49,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -29,9 +58,25 @@ import org.springframework.web.bind.annotation.RequestParam;
 @RequestMapping("/api/project")
 public class ProjectController {
     private final ProjectService projectService; 
+    private final ProjectSummaryService projectSummaryService;
+    private final BoardEventStreamService boardEventStreamService;
+    private final ProjectAnalyticsService projectAnalyticsService;
+    private final BacklogSearchService backlogSearchService;
+    private final BoardJsonWriter boardJsonWriter;
+    private final ActivityLogService activityLogService;
+    private final BacklogTransferService backlogTransferService;
+    private final BoardReadModelService boardReadModelService;
 
-    public ProjectController(ProjectService projectService){
+    public ProjectController(ProjectService projectService, ProjectSummaryService projectSummaryService, BoardEventStreamService boardEventStreamService, ProjectAnalyticsService projectAnalyticsService, BacklogSearchService backlogSearchService, BoardJsonWriter boardJsonWriter, ActivityLogService activityLogService, BacklogTransferService backlogTransferService, BoardReadModelService boardReadModelService){
         this.projectService = projectService; 
+        this.projectSummaryService = projectSummaryService;
+        this.boardEventStreamService = boardEventStreamService;
+        this.projectAnalyticsService = projectAnalyticsService;
+        this.backlogSearchService = backlogSearchService;
+        this.boardJsonWriter = boardJsonWriter;
+        this.activityLogService = activityLogService;
+        this.backlogTransferService = backlogTransferService;
+        this.boardReadModelService = boardReadModelService;
     }
 
     public record ErrorResponse(String message) {}
@@ -39,6 +84,9 @@ public class ProjectController {
     public record CreateRequest(String name, String description, List<Associate> associates){}
     public record CreateUserStory(String title, String description, UserStoryPriority priority, UserStoryStatus status){}
     public record UpdateUserStory(String title, String description, UserStoryPriority priority, UserStoryStatus status, String sprintId){}
+    public record ReorderUserStory(String afterId, String beforeId){}
+    public record UserStoryOperation(UserStoryOperationType type, String userStoryId, String title, String description, UserStoryPriority priority, UserStoryStatus status, String sprintId){}
+    public record BatchUserStoryRequest(List<UserStoryOperation> operations){}
     public record CreateSprint(String objective, LocalDateTime startDate, LocalDateTime finishDate, SprintStatus status ){}
     public record UpdateSprint( String objective, LocalDateTime startDate, LocalDateTime finishDate, SprintStatus status) {}
 
@@ -66,6 +114,71 @@ public class ProjectController {
         }
     }
 
+    @GetMapping("{projectId}/summary")
+    public ResponseEntity<?> getSummary(@CookieValue(name = "token", required = false) String token,
+     @PathVariable String projectId, WebRequest request) {
+        try {
+            String eTag = projectService.getBoardETag(token, projectId);
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).body(projectSummaryService.getSummary(token, projectId));
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Board inteiro (sprints com suas histórias e o backlog) servido da projeção em memória
+    @GetMapping("{projectId}/board")
+    public ResponseEntity<?> getBoard(@CookieValue(name = "token", required = false) String token,
+     @PathVariable String projectId) {
+        try {
+            return ResponseEntity.ok(boardReadModelService.getBoard(token, projectId));
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("{projectId}/analytics")
+    public ResponseEntity<?> getAnalytics(@CookieValue(name = "token", required = false) String token,
+     @PathVariable String projectId,
+     @RequestParam(required = false) String sprintId,
+     @RequestParam(required = false) Integer days) {
+        try {
+            return ResponseEntity.ok(projectAnalyticsService.getAnalytics(token, projectId, sprintId, days));
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("{projectId}/activity")
+    public ResponseEntity<?> getActivity(@CookieValue(name = "token", required = false) String token,
+     @PathVariable String projectId,
+     @RequestParam(required = false) String cursor,
+     @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(activityLogService.getActivity(token, projectId, cursor, limit));
+        }
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("{projectId}/events")
+    public ResponseEntity<?> streamEvents(@CookieValue(name = "token", required = false) String token,
+     @PathVariable String projectId,
+     @RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(boardEventStreamService.subscribe(token, projectId, lastEventId));
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @PostMapping("{projectId}/user-story")
     public ResponseEntity<?> createUserStory(@CookieValue(name = "token", required = false) String token,
     @PathVariable String projectId,  @RequestBody CreateUserStory createUserStory, HttpServletResponse response) {
@@ -79,12 +192,109 @@ public class ProjectController {
         }
     }
 
+    @PostMapping("{projectId}/user-story/batch")
+    public ResponseEntity<?> batchUserStories(@CookieValue(name = "token", required = false) String token,
+    @PathVariable String projectId, @RequestBody BatchUserStoryRequest batchRequest) {
+        try {
+            return ResponseEntity.ok(
+                projectService.batchUserStories(token, projectId, batchRequest.operations())
+            );
+        } 
+        catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("A User Story was modified by another request"));
+        }
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @GetMapping("{projectId}/user-story")
     public ResponseEntity<?> getUserStory(@CookieValue(name = "token", required = false) String token,
-     @PathVariable String projectId,HttpServletResponse response) {
+     @PathVariable String projectId, WebRequest request, HttpServletResponse response) throws IOException {
+        String eTag;
+        try {
+            eTag = projectService.getBoardETag(token, projectId);
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        // Escrito direto na resposta; retornar null indica que ela já foi tratada
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        boardJsonWriter.writeUserStories(UUID.fromString(projectId), response.getOutputStream());
+        return null;
+    }
+
+    // Corpo lido aos poucos: CSV com cabeçalho ou JSON Lines, em UTF-8
+    @PostMapping("{projectId}/user-story/import")
+    public ResponseEntity<?> importUserStories(
+        @CookieValue(name = "token", required = false) String token,
+        @PathVariable String projectId,
+        @RequestParam(defaultValue = "CSV") BacklogFormat format,
+        HttpServletRequest request) {
+        try (BufferedReader body = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(backlogTransferService.importUserStories(token, projectId, format, body));
+        }
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("{projectId}/user-story/export")
+    public ResponseEntity<?> exportUserStories(
+        @CookieValue(name = "token", required = false) String token,
+        @PathVariable String projectId,
+        @RequestParam(defaultValue = "CSV") BacklogFormat format,
+        HttpServletResponse response) throws IOException {
+        UUID projectUUID;
+        try {
+            projectUUID = backlogTransferService.authorizeExport(token, projectId);
+        }
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+        // Escrito direto na resposta; retornar null indica que ela já foi tratada
+        boolean csv = format == BacklogFormat.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"backlog." + (csv ? "csv" : "jsonl") + "\"");
+        backlogTransferService.exportUserStories(projectUUID, format, response.getOutputStream());
+        return null;
+    }
+
+    @GetMapping("{projectId}/user-story/page")
+    public ResponseEntity<?> listUserStories(
+        @CookieValue(name = "token", required = false) String token,
+        @PathVariable String projectId,
+        @RequestParam(required = false) UserStoryStatus status,
+        @RequestParam(required = false) UserStoryPriority priority,
+        @RequestParam(required = false) String sprintId,
+        @RequestParam(required = false) UserStorySort sort,
+        @RequestParam(required = false) Sort.Direction direction,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(
+                projectService.listUserStories(token, projectId, status, priority, sprintId, sort, direction, cursor, limit)
+            );
+        } 
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("{projectId}/user-story/search")
+    public ResponseEntity<?> searchUserStories(
+        @CookieValue(name = "token", required = false) String token,
+        @PathVariable String projectId,
+        @RequestParam(required = false) String q,
+        @RequestParam(required = false) Integer offset,
+        @RequestParam(required = false) Integer limit) {
         try {
             return ResponseEntity.ok(
-                projectService.getUserStory(token, projectId)
+                backlogSearchService.search(token, projectId, q, offset, limit)
             );
         } 
         catch (Exception e) {
@@ -98,10 +308,9 @@ public class ProjectController {
         @PathVariable String projectId, 
         @PathVariable String userStoryId,
         @RequestBody UpdateUserStory updateUserStory, 
-        HttpServletResponse response) {
+        @RequestHeader(name = "If-Match", required = false) String ifMatch) {
         try {
-            return ResponseEntity.ok(
-                projectService.updateUserStory(
+            UserStory userStory = projectService.updateUserStory(
                     token, 
                     projectId, 
                     userStoryId,
@@ -109,10 +318,41 @@ public class ProjectController {
                     updateUserStory.description, 
                     updateUserStory.priority, 
                     updateUserStory.status,
-                    updateUserStory.sprintId
-                    )
-            );
+                    updateUserStory.sprintId,
+                    ifMatch
+                    );
+            return ResponseEntity.ok().eTag(ETags.of(userStory.getVersion())).body(userStory);
         } 
+        catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("User Story was modified by another request"));
+        }
+        catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    // Move a história para entre afterId e beforeId (um deles nulo: topo ou fim do backlog)
+    @PutMapping("{projectId}/user-story/{userStoryId}/rank")
+    public ResponseEntity<?> reorderUserStory(
+        @CookieValue(name = "token", required = false) String token,
+        @PathVariable String projectId,
+        @PathVariable String userStoryId,
+        @RequestBody ReorderUserStory reorderUserStory,
+        @RequestHeader(name = "If-Match", required = false) String ifMatch) {
+        try {
+            UserStory userStory = projectService.reorderUserStory(
+                    token,
+                    projectId,
+                    userStoryId,
+                    reorderUserStory.afterId,
+                    reorderUserStory.beforeId,
+                    ifMatch
+                    );
+            return ResponseEntity.ok().eTag(ETags.of(userStory.getVersion())).body(userStory);
+        }
+        catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("User Story was modified by another request"));
+        }
         catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -123,11 +363,14 @@ public class ProjectController {
         @CookieValue(name = "token", required = false) String token,
         @PathVariable String projectId, 
         @PathVariable String userStoryId,
-        HttpServletResponse response) {
+        @RequestHeader(name = "If-Match", required = false) String ifMatch) {
         try {
-            projectService.deleteUserStory(token, projectId, userStoryId);
+            projectService.deleteUserStory(token, projectId, userStoryId, ifMatch);
             return ResponseEntity.ok().build();
         } 
+        catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("User Story was modified by another request"));
+        }
         catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -143,6 +386,8 @@ public class ProjectController {
             return ResponseEntity.ok(
                 projectService.createSprint(token, projectId, sprint.objective(), sprint.startDate(), sprint.finishDate(), sprint.status())
             );
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Another sprint was activated concurrently"));
         } catch (Exception e) {
            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -151,15 +396,23 @@ public class ProjectController {
     @GetMapping("{projectId}/sprint")
     public ResponseEntity<?> getSprints(
         @CookieValue(name = "token", required = false) String token,
-        @PathVariable String projectId  
-        ) {
+        @PathVariable String projectId,
+        WebRequest request,
+        HttpServletResponse response
+        ) throws IOException {
+        String eTag;
         try {
-            return ResponseEntity.ok(
-                projectService.getSprints(token, projectId)
-            );
+            eTag = projectService.getBoardETag(token, projectId);
         } catch (Exception e) {
            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        boardJsonWriter.writeSprints(UUID.fromString(projectId), response.getOutputStream());
+        return null;
     }
 
     @PutMapping("{projectId}/sprint/{sprintId}")
@@ -167,20 +420,25 @@ public class ProjectController {
         @CookieValue(name = "token", required = false) String token,
         @PathVariable String projectId,
         @PathVariable String sprintId,
-        @RequestBody UpdateSprint updateSprint
+        @RequestBody UpdateSprint updateSprint,
+        @RequestHeader(name = "If-Match", required = false) String ifMatch
     ) {
         try {
-            return ResponseEntity.ok(
-                projectService.updateSprint(
+            Sprint sprint = projectService.updateSprint(
                     token,
                     projectId,
                     sprintId,
                     updateSprint.objective(),
                     updateSprint.startDate(),
                     updateSprint.finishDate(),
-                    updateSprint.status()
-                )
-            );
+                    updateSprint.status(),
+                    ifMatch
+                );
+            return ResponseEntity.ok().eTag(ETags.of(sprint.getVersion())).body(sprint);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("Sprint was modified by another request"));
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("Another sprint was activated concurrently"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -190,11 +448,14 @@ public class ProjectController {
     public ResponseEntity<?> deleteSprint(
         @CookieValue(name = "token", required = false) String token,
         @PathVariable String projectId,
-        @PathVariable String sprintId
+        @PathVariable String sprintId,
+        @RequestHeader(name = "If-Match", required = false) String ifMatch
     ) {
         try {
-            projectService.deleteSprint(token, projectId, sprintId);
+            projectService.deleteSprint(token, projectId, sprintId, ifMatch);
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(new ErrorResponse("Sprint was modified by another request"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
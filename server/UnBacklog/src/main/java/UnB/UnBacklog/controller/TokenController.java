@@ -1,29 +1,35 @@
 package UnB.UnBacklog.controller;
 
-import java.time.LocalDateTime;
-
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.web.bind.annotation.RestController;
 
 import UnB.UnBacklog.dto.LoginRequest;
-import UnB.UnBacklog.dto.LoginResponse;
 import UnB.UnBacklog.service.AuthService;
+import UnB.UnBacklog.service.LoginThrottleService.TooManyAttemptsException;
 
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
 
 @RestController
 @RequestMapping("/api/auth")
 public class TokenController {
+    private static final String ACCESS_COOKIE = "token";
+    // Enviado só para /api/auth: as demais requisições não carregam o refresh token
+    private static final String REFRESH_COOKIE = "refresh_token";
+    private static final String REFRESH_COOKIE_PATH = "/api/auth";
+
     private final AuthService authService;
-    
+
     public TokenController(AuthService authService) {
         this.authService = authService;
     }
@@ -35,20 +41,14 @@ public class TokenController {
 
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletResponse response) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request, HttpServletResponse response) {
         try {
-            String jwtToken = authService.login(loginRequest.email(), loginRequest.password());
-
-
-            Cookie cookie = new Cookie("token", jwtToken);
-            cookie.setHttpOnly(true);      
-            cookie.setSecure(false);       
-            cookie.setPath("/");           
-            cookie.setMaxAge(60 * 60);      
-
-            response.addCookie(cookie); 
-
+            setCookies(response, authService.login(loginRequest.email(), loginRequest.password(), request.getRemoteAddr()));
             return ResponseEntity.ok().build();
+        } catch (TooManyAttemptsException e) {
+            return tooManyRequests(e.getRetryAfterSeconds(), e.getMessage());
+        } catch (TaskRejectedException e) {
+            return tooManyRequests(1, "Server busy, try again");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse(e.getMessage()));
@@ -57,22 +57,75 @@ public class TokenController {
 
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody registerRequest registerRequest, HttpServletResponse response) {
+    public ResponseEntity<?> register(@RequestBody registerRequest registerRequest, HttpServletRequest request, HttpServletResponse response) {
         try {
-            String jwtToken = authService.register(registerRequest.email(), registerRequest.password(), registerRequest.name());
+            setCookies(response, authService.register(registerRequest.email(), registerRequest.password(), registerRequest.name(), request.getRemoteAddr()));
+            return ResponseEntity.ok().build();
+        } catch (TooManyAttemptsException e) {
+            return tooManyRequests(e.getRetryAfterSeconds(), e.getMessage());
+        } catch (TaskRejectedException e) {
+            return tooManyRequests(1, "Server busy, try again");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
 
-            Cookie cookie = new Cookie("token", jwtToken);
-            cookie.setHttpOnly(true);
-            cookie.setSecure(false);
-            cookie.setPath("/");
-            cookie.setMaxAge(60 * 60);
-            response.addCookie(cookie);
+    // Renova a sessão sem senha: o cliente chama ao receber 401 e repete a requisição
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(
+        @CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken,
+        HttpServletResponse response) {
+        try {
+            setCookies(response, authService.refresh(refreshToken));
+            return ResponseEntity.ok().build();
+        } catch (Exception e) {
+            clearCookies(response);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+        @CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken,
+        @CookieValue(name = ACCESS_COOKIE, required = false) String accessToken,
+        HttpServletResponse response) {
+        try {
+            authService.logout(refreshToken, accessToken);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ErrorResponse(e.getMessage()));
+        } finally {
+            clearCookies(response);
+        }
+    }
+
+    private ResponseEntity<ErrorResponse> tooManyRequests(long retryAfterSeconds, String message) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(message));
+    }
+
+    private void setCookies(HttpServletResponse response, AuthService.AuthTokens tokens) {
+        response.addCookie(cookie(ACCESS_COOKIE, tokens.accessToken(), "/", (int) tokens.accessExpiresIn()));
+        if (tokens.refreshToken() != null) {
+            response.addCookie(cookie(REFRESH_COOKIE, tokens.refreshToken(), REFRESH_COOKIE_PATH, (int) tokens.refreshExpiresIn()));
         }
     }
 
+    private void clearCookies(HttpServletResponse response) {
+        response.addCookie(cookie(ACCESS_COOKIE, "", "/", 0));
+        response.addCookie(cookie(REFRESH_COOKIE, "", REFRESH_COOKIE_PATH, 0));
+    }
+
+    private Cookie cookie(String name, String value, String path, int maxAge) {
+        Cookie cookie = new Cookie(name, value);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(false);
+        cookie.setPath(path);
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
 }
@@ -0,0 +1,18 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.BoardEventType;
+
+/** Entrada do feed de atividade: quem (actor) fez o quê (type) em qual história ou sprint. */
+public record ActivityEntryDTO(
+    long id,
+    BoardEventType type,
+    UUID actorId,
+    String actorName,
+    UUID userStoryId,
+    UUID sprintId,
+    String title,
+    LocalDateTime occurredAt
+) {}
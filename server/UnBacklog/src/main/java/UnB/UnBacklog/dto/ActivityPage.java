@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+
+public record ActivityPage(List<ActivityEntryDTO> items, String nextCursor) {}
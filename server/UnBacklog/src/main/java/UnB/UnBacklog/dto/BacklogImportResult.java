@@ -0,0 +1,12 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+
+/** Resultado de uma importação: contagens e os primeiros erros, com a linha de cada um. */
+public record BacklogImportResult(
+    long imported,
+    long failed,
+    List<LineError> errors
+) {
+    public record LineError(long line, String message) {}
+}
@@ -0,0 +1,27 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.SprintStatus;
+
+/**
+ * Board de um projeto já montado: as sprints (por data de início) com suas histórias e o
+ * backlog, cada lista de histórias na ordem do backlog.
+ */
+public record BoardDTO(
+    UUID projectId,
+    List<SprintBoard> sprints,
+    List<UserStoryDTO> backlog
+) {
+    public record SprintBoard(
+        UUID sprintId,
+        long version,
+        String objective,
+        LocalDateTime startDate,
+        LocalDateTime finishDate,
+        SprintStatus status,
+        List<UserStoryDTO> userStories
+    ) {}
+}
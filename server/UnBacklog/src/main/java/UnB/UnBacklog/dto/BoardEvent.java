@@ -0,0 +1,88 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.BoardEventType;
+
+/**
+ * Alteração no board de um projeto, publicada pelo ProjectService e entregue aos
+ * listeners depois do commit. Só os campos do tipo do evento são preenchidos:
+ * USER_STORY_CREATED/UPDATED trazem userStory; USER_STORY_DELETED traz userStoryId;
+ * USER_STORY_MOVED traz userStoryId e sprintId (ausente = backlog); eventos de sprint
+ * trazem sprint (no SPRINT_DELETED as histórias da sprint também foram removidas).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BoardEvent(
+    BoardEventType type,
+    UUID projectId,
+    UUID actorId,
+    UserStoryDTO userStory,
+    UUID userStoryId,
+    UUID sprintId,
+    SprintSummaryDTO sprint
+) {
+
+    public static BoardEvent userStoryCreated(UUID projectId, UUID actorId, UserStory userStory) {
+        return new BoardEvent(BoardEventType.USER_STORY_CREATED, projectId, actorId, toDTO(userStory), null, null, null);
+    }
+
+    public static BoardEvent userStoryCreated(UUID projectId, UUID actorId, UserStoryDTO userStory) {
+        return new BoardEvent(BoardEventType.USER_STORY_CREATED, projectId, actorId, userStory, null, null, null);
+    }
+
+    public static BoardEvent userStoryUpdated(UUID projectId, UUID actorId, UserStory userStory) {
+        return new BoardEvent(BoardEventType.USER_STORY_UPDATED, projectId, actorId, toDTO(userStory), null, null, null);
+    }
+
+    public static BoardEvent userStoryDeleted(UUID projectId, UUID actorId, UUID userStoryId) {
+        return new BoardEvent(BoardEventType.USER_STORY_DELETED, projectId, actorId, null, userStoryId, null, null);
+    }
+
+    public static BoardEvent userStoryMoved(UUID projectId, UUID actorId, UUID userStoryId, UUID sprintId) {
+        return new BoardEvent(BoardEventType.USER_STORY_MOVED, projectId, actorId, null, userStoryId, sprintId, null);
+    }
+
+    public static BoardEvent sprintCreated(UUID projectId, UUID actorId, Sprint sprint) {
+        return new BoardEvent(BoardEventType.SPRINT_CREATED, projectId, actorId, null, null, null, toDTO(sprint));
+    }
+
+    public static BoardEvent sprintUpdated(UUID projectId, UUID actorId, Sprint sprint) {
+        return new BoardEvent(BoardEventType.SPRINT_UPDATED, projectId, actorId, null, null, null, toDTO(sprint));
+    }
+
+    public static BoardEvent sprintUpdated(UUID projectId, UUID actorId, SprintSummaryDTO sprint) {
+        return new BoardEvent(BoardEventType.SPRINT_UPDATED, projectId, actorId, null, null, null, sprint);
+    }
+
+    public static BoardEvent sprintDeleted(UUID projectId, UUID actorId, UUID sprintId) {
+        return new BoardEvent(BoardEventType.SPRINT_DELETED, projectId, actorId, null, null, sprintId, null);
+    }
+
+    private static UserStoryDTO toDTO(UserStory userStory) {
+        return new UserStoryDTO(
+            userStory.getId(),
+            userStory.getTitle(),
+            userStory.getDescription(),
+            userStory.getPriority(),
+            userStory.getStatus(),
+            userStory.getSprint() == null ? null : userStory.getSprint().getSprintId(),
+            userStory.getVersion(),
+            userStory.getRank()
+        );
+    }
+
+    private static SprintSummaryDTO toDTO(Sprint sprint) {
+        return new SprintSummaryDTO(
+            sprint.getSprintId(),
+            sprint.getObjective(),
+            sprint.getStartDate(),
+            sprint.getFinishDate(),
+            sprint.getStatus(),
+            sprint.getVersion()
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDate;
+
+public record BurndownPointDTO(
+    LocalDate day,
+    long completed,
+    long remaining
+) {}
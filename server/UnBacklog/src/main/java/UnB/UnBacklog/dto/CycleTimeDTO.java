@@ -0,0 +1,15 @@
+package UnB.UnBacklog.dto;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+
+public record CycleTimeDTO(
+    UserStoryPriority priority,
+    long completed,
+    double averageHours
+) {
+
+    // Usado pela consulta agregada sobre priority_daily_rollup
+    public CycleTimeDTO(UserStoryPriority priority, Long completed, Long cycleTimeSeconds) {
+        this(priority, completed, completed == 0 ? 0 : cycleTimeSeconds / 3600.0 / completed);
+    }
+}
@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+
+public record PriorityCountDTO(UserStoryPriority priority, Long count) {}
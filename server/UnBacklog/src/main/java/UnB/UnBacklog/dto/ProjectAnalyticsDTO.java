@@ -0,0 +1,10 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+
+public record ProjectAnalyticsDTO(
+    SprintBurndownDTO burndown,
+    List<SprintVelocityDTO> velocity,
+    double averageVelocity,
+    List<CycleTimeDTO> cycleTime
+) {}
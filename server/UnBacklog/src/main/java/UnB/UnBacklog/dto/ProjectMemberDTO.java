@@ -0,0 +1,15 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+import UnB.UnBacklog.util.ProjectRole;
+
+public record ProjectMemberDTO(
+    UUID projectId,
+    String projectName,
+    String projectDescription,
+    UUID userId,
+    String userName,
+    String email,
+    ProjectRole role
+) {}
@@ -0,0 +1,12 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+/**
+ * Membro incluído, removido ou com papel alterado, publicado pelo ProjectUserListener no flush.
+ * O cache de papéis só é invalidado depois do commit: antes dele uma consulta ainda leria a linha antiga.
+ */
+public record ProjectMembershipChangedEvent(
+    UUID projectId,
+    UUID userId
+) {}
@@ -0,0 +1,16 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+public record ProjectSummaryDTO(
+    long totalUserStories,
+    long backlogUserStories,
+    Map<UserStoryStatus, Long> byStatus,
+    Map<UserStoryPriority, Long> byPriority,
+    List<SprintCountDTO> bySprint,
+    SprintSummaryDTO activeSprint
+) {}
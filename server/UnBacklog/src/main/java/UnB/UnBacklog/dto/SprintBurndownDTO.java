@@ -0,0 +1,14 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.SprintStatus;
+
+public record SprintBurndownDTO(
+    UUID sprintId,
+    String objective,
+    SprintStatus status,
+    long scope,
+    List<BurndownPointDTO> points
+) {}
@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+public record SprintCountDTO(UUID sprintId, Long count) {}
@@ -0,0 +1,15 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.SprintStatus;
+
+public record SprintSummaryDTO(
+    UUID sprintId,
+    String objective,
+    LocalDateTime startDate,
+    LocalDateTime finishDate,
+    SprintStatus status,
+    long version
+) {}
@@ -0,0 +1,11 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record SprintVelocityDTO(
+    UUID sprintId,
+    String objective,
+    LocalDateTime finishDate,
+    long completed
+) {}
@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import UnB.UnBacklog.util.UserStoryStatus;
+
+public record StatusCountDTO(UserStoryStatus status, Long count) {}
@@ -0,0 +1,64 @@
+package UnB.UnBacklog.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+/**
+ * Mudança de status ou de sprint de uma história, publicada pelo ProjectService e gravada no
+ * histórico antes do commit. fromSprintId é a sprint antes da mudança; sprintId nulo com o
+ * mesmo status indica que a história saiu da sprint (para o backlog ou removida).
+ */
+public record StatusTransitionEvent(
+    UUID projectId,
+    UUID userStoryId,
+    UUID fromSprintId,
+    UUID sprintId,
+    UserStoryPriority priority,
+    UserStoryStatus fromStatus,
+    UserStoryStatus toStatus,
+    UUID actorId,
+    LocalDateTime changedAt
+) {
+
+    /** Mudança de status sem troca de sprint; fromStatus nulo é a criação. */
+    public static StatusTransitionEvent of(UserStory userStory, UserStoryStatus fromStatus, UUID actorId) {
+        return of(userStory, fromStatus, fromStatus == null ? null : sprintIdOf(userStory), actorId);
+    }
+
+    public static StatusTransitionEvent of(UserStory userStory, UserStoryStatus fromStatus, UUID fromSprintId, UUID actorId) {
+        return new StatusTransitionEvent(
+            userStory.getProject().getProjectId(),
+            userStory.getId(),
+            fromSprintId,
+            sprintIdOf(userStory),
+            userStory.getPriority(),
+            fromStatus,
+            userStory.getStatus(),
+            actorId,
+            LocalDateTime.now()
+        );
+    }
+
+    /** História removida: sai da sprint em que estava, com o status que tinha. */
+    public static StatusTransitionEvent removed(UserStory userStory, UUID actorId) {
+        return new StatusTransitionEvent(
+            userStory.getProject().getProjectId(),
+            userStory.getId(),
+            sprintIdOf(userStory),
+            null,
+            userStory.getPriority(),
+            userStory.getStatus(),
+            userStory.getStatus(),
+            actorId,
+            LocalDateTime.now()
+        );
+    }
+
+    private static UUID sprintIdOf(UserStory userStory) {
+        return userStory.getSprint() == null ? null : userStory.getSprint().getSprintId();
+    }
+}
@@ -0,0 +1,17 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+public record UserStoryDTO(
+    UUID id,
+    String title,
+    String description,
+    UserStoryPriority priority,
+    UserStoryStatus status,
+    UUID sprintId,
+    long version,
+    String rank
+) {}
@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+
+public record UserStoryPage(List<UserStoryDTO> items, String nextCursor) {}
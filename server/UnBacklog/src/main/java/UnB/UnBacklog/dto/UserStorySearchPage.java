@@ -0,0 +1,5 @@
+package UnB.UnBacklog.dto;
+
+import java.util.List;
+
+public record UserStorySearchPage(List<UserStoryDTO> items, int total, Integer nextOffset) {}
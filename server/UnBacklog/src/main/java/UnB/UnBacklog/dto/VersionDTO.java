@@ -0,0 +1,8 @@
+package UnB.UnBacklog.dto;
+
+import java.util.UUID;
+
+public record VersionDTO(
+    UUID id,
+    long version
+) {}
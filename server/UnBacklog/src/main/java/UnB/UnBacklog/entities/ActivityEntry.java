@@ -0,0 +1,83 @@
+package UnB.UnBacklog.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.BoardEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Entrada imutável do registro de atividade de um projeto. As linhas são inseridas em lote
+ * pelo ActivityLogWriter via JDBC; a entidade existe para a leitura paginada do feed.
+ */
+@Entity
+@Table(name = "activity_log", indexes = {
+    @Index(name = "idx_activity_project", columnList = "project_id, id")
+})
+public class ActivityEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private UUID projectId;
+
+    @Column(name = "actor_id", updatable = false)
+    private UUID actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false)
+    private BoardEventType type;
+
+    @Column(name = "user_story_id", updatable = false)
+    private UUID userStoryId;
+
+    @Column(name = "sprint_id", updatable = false)
+    private UUID sprintId;
+
+    @Column(updatable = false)
+    private String title;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public BoardEventType getType() {
+        return type;
+    }
+
+    public UUID getUserStoryId() {
+        return userStoryId;
+    }
+
+    public UUID getSprintId() {
+        return sprintId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
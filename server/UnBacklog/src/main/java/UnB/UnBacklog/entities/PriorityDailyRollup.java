@@ -0,0 +1,89 @@
+package UnB.UnBacklog.entities;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/** Histórias concluídas e soma dos tempos de ciclo por projeto, dia e prioridade. */
+@Entity
+@Table(name = "priority_daily_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_priority_rollup_day", columnNames = {"project_id", "rollup_day", "priority"}))
+public class PriorityDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UserStoryPriority priority;
+
+    private long completed;
+
+    @Column(name = "cycle_time_seconds")
+    private long cycleTimeSeconds;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public UserStoryPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(UserStoryPriority priority) {
+        this.priority = priority;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getCycleTimeSeconds() {
+        return cycleTimeSeconds;
+    }
+
+    public void setCycleTimeSeconds(long cycleTimeSeconds) {
+        this.cycleTimeSeconds = cycleTimeSeconds;
+    }
+}
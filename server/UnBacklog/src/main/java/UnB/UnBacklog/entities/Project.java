@@ -5,6 +5,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -18,12 +23,17 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
+
 @Entity
 @Table(name = "project")
+@SQLDelete(sql = "UPDATE project SET deleted_at = CURRENT_TIMESTAMP WHERE project_id = ?")
+@SQLRestriction("deleted_at IS NULL")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECT_REGION)
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "project_id", columnDefinition = "CHAR(36)", nullable = false, updatable = false)
+    @Column(name = "project_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private UUID projectId;
 
     private String name;
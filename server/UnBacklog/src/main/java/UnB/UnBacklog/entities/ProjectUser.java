@@ -2,27 +2,39 @@ package UnB.UnBacklog.entities;
 
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
 import UnB.UnBacklog.util.ProjectRole;
 
 @Entity
-@Table(name = "project_user")
+// Cobrem a checagem de papel (projeto, usuário) e a lista de projetos do usuário sem ler a tabela
+@Table(name = "project_user", indexes = {
+    @Index(name = "idx_project_user_project", columnList = "project_id, user_id, role"),
+    @Index(name = "idx_project_user_user", columnList = "user_id, project_id")
+})
+@EntityListeners(ProjectUserListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECT_USER_REGION)
 public class ProjectUser {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "id", columnDefinition = "CHAR(36)", nullable = false, updatable = false)
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private UUID id;
 
     @ManyToOne
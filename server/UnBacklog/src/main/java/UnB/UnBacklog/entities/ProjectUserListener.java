@@ -0,0 +1,30 @@
+package UnB.UnBacklog.entities;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import UnB.UnBacklog.dto.ProjectMembershipChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+@Component
+public class ProjectUserListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProjectUserListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Roda no flush, antes do commit: a invalidação fica para o ProjectMembershipService depois dele
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(ProjectUser projectUser) {
+        if (projectUser.getProject() == null || projectUser.getUser() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(
+            projectUser.getProject().getProjectId(), projectUser.getUser().getUserId()));
+    }
+}
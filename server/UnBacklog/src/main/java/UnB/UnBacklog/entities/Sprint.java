@@ -5,6 +5,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import UnB.UnBacklog.util.SprintStatus;
@@ -16,20 +20,31 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "sprint")
+@Table(name = "sprint", indexes = {
+    @Index(name = "idx_sprint_project_status", columnList = "project_id, deleted_at, status"),
+    @Index(name = "idx_sprint_deleted_at", columnList = "deleted_at")
+})
+@SQLDelete(sql = "UPDATE sprint SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 WHERE sprint_id = ? AND version = ?")
+@SQLRestriction("deleted_at IS NULL")
 public class Sprint {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "sprint_id", columnDefinition = "CHAR(36)", nullable = false, updatable = false)
+    @Column(name = "sprint_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private UUID sprintId;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "project_id")
     @JsonIgnore
@@ -44,11 +59,18 @@ public class Sprint {
    @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
-    @OneToMany(mappedBy = "sprint", cascade = CascadeType.ALL)
+    // Sem REMOVE: ProjectService remove as histórias da sprint com um único UPDATE
+    @OneToMany(mappedBy = "sprint", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<UserStory> userStories = new ArrayList<>();
 
     @Enumerated(EnumType.STRING)
     private SprintStatus status;
+
+    // Calculada pelo banco e preenchida só enquanto a sprint está ACTIVE; o índice único
+    // garante no máximo uma sprint ativa por projeto mesmo com ativações concorrentes
+    @Column(name = "active_project_id", unique = true, insertable = false, updatable = false,
+        columnDefinition = "BINARY(16) GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN project_id END)")
+    private UUID activeProjectId;
     
     public UUID getSprintId() {
         return sprintId;
@@ -58,6 +80,14 @@ public class Sprint {
         this.sprintId = sprintId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Project getProject() {
         return project;
     }
@@ -0,0 +1,86 @@
+package UnB.UnBacklog.entities;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/** Histórias concluídas e reabertas por sprint e dia, mantidas pelo StatusHistoryWriter. */
+@Entity
+@Table(name = "sprint_daily_rollup",
+    uniqueConstraints = @UniqueConstraint(name = "uk_sprint_rollup_day", columnNames = {"sprint_id", "rollup_day"}),
+    indexes = @Index(name = "idx_sprint_rollup_project", columnList = "project_id"))
+public class SprintDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "sprint_id", nullable = false)
+    private UUID sprintId;
+
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    private long completed;
+
+    private long reopened;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public UUID getSprintId() {
+        return sprintId;
+    }
+
+    public void setSprintId(UUID sprintId) {
+        this.sprintId = sprintId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getReopened() {
+        return reopened;
+    }
+
+    public void setReopened(long reopened) {
+        this.reopened = reopened;
+    }
+}
@@ -1,7 +1,12 @@
 package UnB.UnBacklog.entities;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import UnB.UnBacklog.util.UserStoryPriority;
@@ -13,17 +18,30 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "user_story")
+// Remoção lógica: delete vira um UPDATE de uma linha e as consultas ignoram as removidas;
+// TombstonePurgeService apaga de vez depois do período de retenção
+@Table(name = "user_story", indexes = {
+    @Index(name = "idx_user_story_project_status", columnList = "project_id, deleted_at, status"),
+    @Index(name = "idx_user_story_sprint", columnList = "sprint_id, deleted_at"),
+    @Index(name = "idx_user_story_project_rank", columnList = "project_id, deleted_at, rank_key"),
+    @Index(name = "idx_user_story_project_priority", columnList = "project_id, deleted_at, priority_rank, id"),
+    @Index(name = "idx_user_story_project_status_rank", columnList = "project_id, deleted_at, status_rank, id"),
+    @Index(name = "idx_user_story_deleted_at", columnList = "deleted_at")
+})
+@SQLDelete(sql = "UPDATE user_story SET deleted_at = CURRENT_TIMESTAMP, version = version + 1 WHERE id = ? AND version = ?")
+@SQLRestriction("deleted_at IS NULL")
 public class UserStory {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(name = "id", columnDefinition = "CHAR(36)", nullable = false, updatable = false)
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private UUID id;
 
     private String title;
@@ -36,6 +54,25 @@ public class UserStory {
     @Enumerated(EnumType.STRING)
     private UserStoryStatus status;
 
+    // Posição no backlog (RankKeys): mover uma história grava só a chave dela. RANK é palavra reservada no MySQL
+    @Column(name = "rank_key", nullable = false)
+    private String rank;
+
+    // Posição do enum na ordenação (ordem de declaração, nulo por último), calculada pelo banco;
+    // a listagem paginada ordena e posiciona o cursor por estas colunas, servidas por índice
+    @Column(name = "priority_rank", insertable = false, updatable = false,
+        columnDefinition = "INT GENERATED ALWAYS AS (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 ELSE 3 END)")
+    private int priorityRank;
+
+    @Column(name = "status_rank", insertable = false, updatable = false,
+        columnDefinition = "INT GENERATED ALWAYS AS (CASE status WHEN 'TO_DO' THEN 0 WHEN 'DOING' THEN 1 WHEN 'DONE' THEN 2 ELSE 3 END)")
+    private int statusRank;
+
+    // Controle de concorrência otimista: updates com versão desatualizada falham em vez de sobrescrever
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "sprint_id")
     @JsonIgnore
@@ -46,6 +83,10 @@ public class UserStory {
     @JoinColumn(name = "project_id")
     private Project project;
 
+    @Column(name = "deleted_at")
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     
     public UUID getId() {
         return id;
@@ -55,6 +96,14 @@ public class UserStory {
         this.id = id;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -87,6 +136,14 @@ public class UserStory {
         this.status = status;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
     public Sprint getSprint() {
         return sprint;
     }
@@ -103,4 +160,11 @@ public class UserStory {
         this.project = project;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,156 @@
+package UnB.UnBacklog.entities;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Registro imutável de uma mudança de status de história (fromStatus nulo = criação).
+ * Guarda os ids sem relacionamentos para que a escrita em lote não carregue entidades.
+ * fromSprintId é a sprint antes da mudança, para que trocas de sprint também entrem nos
+ * agregados. rolledUpAt nulo: ainda não aplicada aos agregados diários.
+ */
+@Entity
+@Table(name = "user_story_status_transition", indexes = {
+    @Index(name = "idx_transition_story", columnList = "user_story_id, changed_at"),
+    @Index(name = "idx_transition_project", columnList = "project_id, changed_at"),
+    @Index(name = "idx_transition_pending", columnList = "rolled_up_at")
+})
+public class UserStoryStatusTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private UUID projectId;
+
+    @Column(name = "user_story_id", nullable = false, updatable = false)
+    private UUID userStoryId;
+
+    @Column(name = "from_sprint_id", updatable = false)
+    private UUID fromSprintId;
+
+    @Column(name = "sprint_id", updatable = false)
+    private UUID sprintId;
+
+    @Column(name = "actor_id", updatable = false)
+    private UUID actorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", updatable = false)
+    private UserStoryStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false, updatable = false)
+    private UserStoryStatus toStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private UserStoryPriority priority;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "rolled_up_at")
+    private LocalDateTime rolledUpAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public UUID getUserStoryId() {
+        return userStoryId;
+    }
+
+    public void setUserStoryId(UUID userStoryId) {
+        this.userStoryId = userStoryId;
+    }
+
+    public UUID getFromSprintId() {
+        return fromSprintId;
+    }
+
+    public void setFromSprintId(UUID fromSprintId) {
+        this.fromSprintId = fromSprintId;
+    }
+
+    public UUID getSprintId() {
+        return sprintId;
+    }
+
+    public void setSprintId(UUID sprintId) {
+        this.sprintId = sprintId;
+    }
+
+    public UUID getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(UUID actorId) {
+        this.actorId = actorId;
+    }
+
+    public UserStoryStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(UserStoryStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public UserStoryStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(UserStoryStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public UserStoryPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(UserStoryPriority priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public LocalDateTime getRolledUpAt() {
+        return rolledUpAt;
+    }
+
+    public void setRolledUpAt(LocalDateTime rolledUpAt) {
+        this.rolledUpAt = rolledUpAt;
+    }
+}
@@ -0,0 +1,22 @@
+package UnB.UnBacklog.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import UnB.UnBacklog.dto.ActivityEntryDTO;
+import UnB.UnBacklog.entities.ActivityEntry;
+
+public interface ActivityEntryRepository extends JpaRepository<ActivityEntry, Long> {
+    // Mais recentes primeiro, a partir do cursor (id da última entrada da página anterior)
+    @Query("SELECT new UnB.UnBacklog.dto.ActivityEntryDTO(a.id, a.type, a.actorId, u.name, a.userStoryId, a.sprintId, a.title, a.occurredAt) " +
+        "FROM ActivityEntry a " +
+        "LEFT JOIN User u ON u.userId = a.actorId " +
+        "WHERE a.projectId = :projectId AND a.id < :before " +
+        "ORDER BY a.id DESC")
+    List<ActivityEntryDTO> findPage(@Param("projectId") UUID projectId, @Param("before") long before, Limit limit);
+}
@@ -0,0 +1,25 @@
+package UnB.UnBacklog.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import UnB.UnBacklog.dto.CycleTimeDTO;
+import UnB.UnBacklog.entities.PriorityDailyRollup;
+
+public interface PriorityDailyRollupRepository extends JpaRepository<PriorityDailyRollup, UUID> {
+    @Query("SELECT r FROM PriorityDailyRollup r WHERE r.projectId IN :projectIds AND r.day IN :days")
+    List<PriorityDailyRollup> findByProjectIdsAndDays(@Param("projectIds") Collection<UUID> projectIds, @Param("days") Collection<LocalDate> days);
+
+    @Query("SELECT new UnB.UnBacklog.dto.CycleTimeDTO(r.priority, SUM(r.completed), SUM(r.cycleTimeSeconds)) " +
+        "FROM PriorityDailyRollup r " +
+        "WHERE r.projectId = :projectId AND r.day >= :from " +
+        "GROUP BY r.priority " +
+        "ORDER BY r.priority")
+    List<CycleTimeDTO> sumCycleTimeByPriority(@Param("projectId") UUID projectId, @Param("from") LocalDate from);
+}
@@ -1,18 +1,33 @@
 package UnB.UnBacklog.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.QueryHint;
+
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
 import UnB.UnBacklog.dto.ProjectUserDTO;
 import UnB.UnBacklog.entities.Project;
 import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.util.ProjectRole;
 
 
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
+    // Cacheada até a próxima escrita em project, project_user ou user
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.MEMBERSHIP_QUERY_REGION)
+    })
     @Query("SELECT new UnB.UnBacklog.dto.ProjectUserDTO(u.userId, u.name, u.email, pu.role) " +
         "FROM ProjectUser pu " +
         "JOIN pu.user u " +
@@ -20,4 +35,24 @@ public interface ProjectRepository extends JpaRepository<Project, UUID> {
         "WHERE p.projectId = :projectId")
     List<ProjectUserDTO> findUsersWithRolesByProjectId(@Param("projectId") UUID projectId);
 
-}
\ No newline at end of file
+    // O join com project descarta projetos removidos
+    @Query("SELECT pu.role FROM ProjectUser pu " +
+        "JOIN pu.project p " +
+        "WHERE p.projectId = :projectId AND pu.user.userId = :userId AND p.deletedAt IS NULL")
+    Optional<ProjectRole> findRoleByProjectIdAndUserId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM project_user WHERE project_id IN " +
+        "(SELECT project_id FROM project WHERE deleted_at < :cutoff) LIMIT :limit", nativeQuery = true)
+    int purgeMembersOfProjectsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Histórias, sprints e membros do projeto são expurgados antes
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM project WHERE deleted_at < :cutoff " +
+        "AND NOT EXISTS (SELECT 1 FROM user_story u WHERE u.project_id = project.project_id) " +
+        "AND NOT EXISTS (SELECT 1 FROM sprint s WHERE s.project_id = project.project_id) " +
+        "AND NOT EXISTS (SELECT 1 FROM project_user pu WHERE pu.project_id = project.project_id) LIMIT :limit", nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,28 @@
+package UnB.UnBacklog.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import UnB.UnBacklog.dto.SprintCountDTO;
+import UnB.UnBacklog.entities.SprintDailyRollup;
+
+public interface SprintDailyRollupRepository extends JpaRepository<SprintDailyRollup, UUID> {
+    @Query("SELECT r FROM SprintDailyRollup r WHERE r.sprintId IN :sprintIds AND r.day IN :days")
+    List<SprintDailyRollup> findBySprintIdsAndDays(@Param("sprintIds") Collection<UUID> sprintIds, @Param("days") Collection<LocalDate> days);
+
+    @Query("SELECT r FROM SprintDailyRollup r WHERE r.sprintId = :sprintId ORDER BY r.day")
+    List<SprintDailyRollup> findBySprintId(@Param("sprintId") UUID sprintId);
+
+    // Histórias concluídas líquidas (concluídas - reabertas) de cada sprint do projeto
+    @Query("SELECT new UnB.UnBacklog.dto.SprintCountDTO(r.sprintId, SUM(r.completed - r.reopened)) " +
+        "FROM SprintDailyRollup r " +
+        "WHERE r.projectId = :projectId " +
+        "GROUP BY r.sprintId")
+    List<SprintCountDTO> sumCompletedBySprint(@Param("projectId") UUID projectId);
+}
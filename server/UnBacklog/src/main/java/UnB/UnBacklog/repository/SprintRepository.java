@@ -1,11 +1,56 @@
 package UnB.UnBacklog.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.VersionDTO;
 import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.util.SprintStatus;
 
 public interface SprintRepository extends JpaRepository<Sprint, UUID> {
+    @Query("SELECT new UnB.UnBacklog.dto.SprintSummaryDTO(s.sprintId, s.objective, s.startDate, s.finishDate, s.status, s.version) " +
+        "FROM Sprint s " +
+        "WHERE s.project.projectId = :projectId AND s.status = :status")
+    List<SprintSummaryDTO> findSummariesByProjectIdAndStatus(@Param("projectId") UUID projectId, @Param("status") SprintStatus status);
 
+    @Query("SELECT new UnB.UnBacklog.dto.SprintSummaryDTO(s.sprintId, s.objective, s.startDate, s.finishDate, s.status, s.version) " +
+        "FROM Sprint s " +
+        "WHERE s.project.projectId = :projectId " +
+        "ORDER BY s.sprintId")
+    List<SprintSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.VersionDTO(s.sprintId, s.version) " +
+        "FROM Sprint s " +
+        "WHERE s.project.projectId = :projectId " +
+        "ORDER BY s.sprintId")
+    List<VersionDTO> findVersionsByProjectId(@Param("projectId") UUID projectId);
+
+    // Não limpa o contexto de persistência: a sprint sendo ativada continua gerenciada
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Sprint s SET s.status = UnB.UnBacklog.util.SprintStatus.COMPLETED, s.version = s.version + 1 " +
+        "WHERE s.project.projectId = :projectId AND s.status = UnB.UnBacklog.util.SprintStatus.ACTIVE " +
+        "AND (:exceptSprintId IS NULL OR s.sprintId <> :exceptSprintId)")
+    int completeActiveSprints(@Param("projectId") UUID projectId, @Param("exceptSprintId") UUID exceptSprintId);
+
+    // Só apaga sprints sem histórias restantes, que são expurgadas antes
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sprint WHERE deleted_at < :cutoff " +
+        "AND NOT EXISTS (SELECT 1 FROM user_story u WHERE u.sprint_id = sprint.sprint_id) LIMIT :limit", nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM sprint WHERE project_id IN " +
+        "(SELECT project_id FROM project WHERE deleted_at < :cutoff) " +
+        "AND NOT EXISTS (SELECT 1 FROM user_story u WHERE u.sprint_id = sprint.sprint_id) LIMIT :limit", nativeQuery = true)
+    int purgeOfProjectsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
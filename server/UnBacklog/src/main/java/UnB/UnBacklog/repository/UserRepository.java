@@ -4,18 +4,46 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
+import UnB.UnBacklog.dto.ProjectMemberDTO;
 import UnB.UnBacklog.entities.Project;
 import UnB.UnBacklog.entities.User;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
-    Optional<User> findByEmail(String email); 
-    
+    // Consultas cacheadas até a próxima escrita em project, project_user ou user
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.MEMBERSHIP_QUERY_REGION)
+    })
+    Optional<User> findByEmail(String email);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.MEMBERSHIP_QUERY_REGION)
+    })
     @Query("SELECT pu.project FROM ProjectUser pu WHERE pu.user.userId = :userId")
     List<Project> findProjectsByUserId(@Param("userId") UUID userId);
+
+    // Todos os membros de todos os projetos do usuário em uma única consulta
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.MEMBERSHIP_QUERY_REGION)
+    })
+    @Query("SELECT new UnB.UnBacklog.dto.ProjectMemberDTO(p.projectId, p.name, p.description, u.userId, u.name, u.email, pu.role) " +
+        "FROM ProjectUser pu " +
+        "JOIN pu.project p " +
+        "JOIN pu.user u " +
+        "WHERE p.projectId IN (SELECT mpu.project.projectId FROM ProjectUser mpu WHERE mpu.user.userId = :userId) " +
+        "ORDER BY p.createdAt, p.projectId")
+    List<ProjectMemberDTO> findProjectMembersByUserId(@Param("userId") UUID userId);
 } 
@@ -1,12 +1,108 @@
 package UnB.UnBacklog.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import UnB.UnBacklog.dto.PriorityCountDTO;
+import UnB.UnBacklog.dto.SprintCountDTO;
+import UnB.UnBacklog.dto.StatusCountDTO;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.dto.VersionDTO;
 import UnB.UnBacklog.entities.UserStory;
+import jakarta.persistence.QueryHint;
 
 
-public interface UserStoryRepository extends JpaRepository<UserStory, UUID> {
+public interface UserStoryRepository extends JpaRepository<UserStory, UUID>, UserStoryRepositoryCustom {
+    @Query("SELECT new UnB.UnBacklog.dto.StatusCountDTO(s.status, COUNT(s)) " +
+        "FROM UserStory s " +
+        "WHERE s.project.projectId = :projectId " +
+        "GROUP BY s.status")
+    List<StatusCountDTO> countByStatus(@Param("projectId") UUID projectId);
 
+    @Query("SELECT new UnB.UnBacklog.dto.PriorityCountDTO(s.priority, COUNT(s)) " +
+        "FROM UserStory s " +
+        "WHERE s.project.projectId = :projectId " +
+        "GROUP BY s.priority")
+    List<PriorityCountDTO> countByPriority(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.SprintCountDTO(sp.sprintId, COUNT(s)) " +
+        "FROM UserStory s " +
+        "LEFT JOIN s.sprint sp " +
+        "WHERE s.project.projectId = :projectId " +
+        "GROUP BY sp.sprintId")
+    List<SprintCountDTO> countBySprint(@Param("projectId") UUID projectId);
+
+    @Query("SELECT COUNT(s) FROM UserStory s WHERE s.sprint.sprintId = :sprintId")
+    long countBySprintId(@Param("sprintId") UUID sprintId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.VersionDTO(s.id, s.version) " +
+        "FROM UserStory s " +
+        "WHERE s.project.projectId = :projectId " +
+        "ORDER BY s.id")
+    List<VersionDTO> findVersionsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+        "FROM UserStory s LEFT JOIN s.sprint sp " +
+        "WHERE s.project.projectId = :projectId")
+    List<UserStoryDTO> findDTOsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+        "FROM UserStory s LEFT JOIN s.sprint sp " +
+        "WHERE s.project.projectId = :projectId AND s.id IN :ids")
+    List<UserStoryDTO> findDTOsByProjectIdAndIds(@Param("projectId") UUID projectId, @Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT MAX(s.rank) FROM UserStory s WHERE s.project.projectId = :projectId")
+    String findMaxRankByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT new UnB.UnBacklog.dto.VersionDTO(s.id, s.version) FROM UserStory s WHERE s.project.projectId = :projectId ORDER BY s.rank, s.id")
+    List<VersionDTO> findVersionsByProjectIdOrderByRank(@Param("projectId") UUID projectId);
+
+    // Consultas em stream: o driver entrega as linhas em blocos (useCursorFetch) e nada fica no contexto de persistência
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+        "FROM UserStory s LEFT JOIN s.sprint sp " +
+        "WHERE s.project.projectId = :projectId")
+    Stream<UserStoryDTO> streamDTOsByProjectId(@Param("projectId") UUID projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+        "FROM UserStory s LEFT JOIN s.sprint sp " +
+        "WHERE s.project.projectId = :projectId " +
+        "ORDER BY s.rank, s.id")
+    Stream<UserStoryDTO> streamDTOsByProjectIdOrderByRank(@Param("projectId") UUID projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+        "FROM UserStory s JOIN s.sprint sp " +
+        "WHERE sp.project.projectId = :projectId " +
+        "ORDER BY sp.sprintId")
+    Stream<UserStoryDTO> streamSprintDTOsByProjectId(@Param("projectId") UUID projectId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserStory s SET s.deletedAt = :now, s.version = s.version + 1 " +
+        "WHERE s.sprint.sprintId = :sprintId AND s.deletedAt IS NULL")
+    int softDeleteBySprintId(@Param("sprintId") UUID sprintId, @Param("now") LocalDateTime now);
+
+    // Expurgo em lotes: cada chamada é uma transação curta que trava no máximo :limit linhas
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM user_story WHERE deleted_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int purgeDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM user_story WHERE project_id IN " +
+        "(SELECT project_id FROM project WHERE deleted_at < :cutoff) LIMIT :limit", nativeQuery = true)
+    int purgeOfProjectsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
 }
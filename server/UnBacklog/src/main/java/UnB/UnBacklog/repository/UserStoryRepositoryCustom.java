@@ -0,0 +1,20 @@
+package UnB.UnBacklog.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+public interface UserStoryRepositoryCustom {
+
+    record Filter(UserStoryStatus status, UserStoryPriority priority, UUID sprintId, boolean backlogOnly) {}
+
+    record Keyset(String sortKey, UUID id) {}
+
+    List<UserStoryDTO> findPage(UUID projectId, Filter filter, UserStorySort sort, Sort.Direction direction, Keyset after, int limit);
+}
@@ -0,0 +1,56 @@
+package UnB.UnBacklog.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.util.UserStorySort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+public class UserStoryRepositoryImpl implements UserStoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserStoryDTO> findPage(UUID projectId, Filter filter, UserStorySort sort, Sort.Direction direction, Keyset after, int limit) {
+        String key = sort.expression();
+        String operator = direction.isAscending() ? ">" : "<";
+        String order = direction.isAscending() ? "ASC" : "DESC";
+
+        StringBuilder jpql = new StringBuilder(
+            "SELECT new UnB.UnBacklog.dto.UserStoryDTO(s.id, s.title, s.description, s.priority, s.status, sp.sprintId, s.version, s.rank) " +
+            "FROM UserStory s LEFT JOIN s.sprint sp " +
+            "WHERE s.project.projectId = :projectId");
+
+        if (filter.status() != null) jpql.append(" AND s.status = :status");
+        if (filter.priority() != null) jpql.append(" AND s.priority = :priority");
+        if (filter.sprintId() != null) jpql.append(" AND sp.sprintId = :sprintId");
+        if (filter.backlogOnly()) jpql.append(" AND sp IS NULL");
+        if (after != null) {
+            // A primeira condição é um intervalo sobre o índice da ordenação; o OR sozinho não é
+            String bound = direction.isAscending() ? ">=" : "<=";
+            jpql.append(" AND ").append(key).append(" ").append(bound).append(" :afterKey");
+            jpql.append(" AND (").append(key).append(" ").append(operator).append(" :afterKey")
+                .append(" OR (").append(key).append(" = :afterKey AND s.id ").append(operator).append(" :afterId))");
+        }
+        jpql.append(" ORDER BY ").append(key).append(" ").append(order).append(", s.id ").append(order);
+
+        TypedQuery<UserStoryDTO> query = entityManager.createQuery(jpql.toString(), UserStoryDTO.class)
+            .setParameter("projectId", projectId)
+            .setMaxResults(limit);
+
+        if (filter.status() != null) query.setParameter("status", filter.status());
+        if (filter.priority() != null) query.setParameter("priority", filter.priority());
+        if (filter.sprintId() != null) query.setParameter("sprintId", filter.sprintId());
+        if (after != null) {
+            query.setParameter("afterKey", sort.isNumeric() ? Integer.valueOf(after.sortKey()) : after.sortKey());
+            query.setParameter("afterId", after.id());
+        }
+        return query.getResultList();
+    }
+}
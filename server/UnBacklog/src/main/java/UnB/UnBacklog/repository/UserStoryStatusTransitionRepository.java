@@ -0,0 +1,32 @@
+package UnB.UnBacklog.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import UnB.UnBacklog.entities.UserStoryStatusTransition;
+
+public interface UserStoryStatusTransitionRepository extends JpaRepository<UserStoryStatusTransition, UUID> {
+    // Entradas em DOING e criações: possíveis inícios do tempo de ciclo das histórias
+    @Query("SELECT t FROM UserStoryStatusTransition t " +
+        "WHERE t.userStoryId IN :userStoryIds " +
+        "AND (t.toStatus = UnB.UnBacklog.util.UserStoryStatus.DOING OR t.fromStatus IS NULL)")
+    List<UserStoryStatusTransition> findCycleStartsByUserStoryIds(@Param("userStoryIds") Collection<UUID> userStoryIds);
+
+    @Query("SELECT t FROM UserStoryStatusTransition t WHERE t.rolledUpAt IS NULL ORDER BY t.changedAt")
+    List<UserStoryStatusTransition> findPending(Limit limit);
+
+    long countByRolledUpAtIsNull();
+
+    // Só marca as que ainda estão pendentes: menos linhas que ids indica outra instância agregando
+    @Modifying
+    @Query("UPDATE UserStoryStatusTransition t SET t.rolledUpAt = :rolledUpAt WHERE t.id IN :ids AND t.rolledUpAt IS NULL")
+    int markRolledUp(@Param("ids") Collection<UUID> ids, @Param("rolledUpAt") LocalDateTime rolledUpAt);
+}
@@ -0,0 +1,55 @@
+package UnB.UnBacklog.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import UnB.UnBacklog.dto.ActivityEntryDTO;
+import UnB.UnBacklog.dto.ActivityPage;
+import UnB.UnBacklog.repository.ActivityEntryRepository;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Feed de atividade do projeto, das entradas mais recentes para as mais antigas. Lê só o que
+ * o ActivityLogWriter já gravou: uma alteração aparece no feed depois do próximo ciclo de gravação.
+ */
+@Service
+public class ActivityLogService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final ActivityEntryRepository activityEntryRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final Utils utils;
+
+    public ActivityLogService(ActivityEntryRepository activityEntryRepository,
+        ProjectMembershipService projectMembershipService, Utils utils) {
+        this.activityEntryRepository = activityEntryRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.utils = utils;
+    }
+
+    public ActivityPage getActivity(String token, String projectId, String cursor, Integer limit) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "Not allowed");
+
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long before;
+        try {
+            before = cursor == null ? Long.MAX_VALUE : Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new Exception("Invalid cursor");
+        }
+
+        // Busca um item a mais para saber se existe próxima página
+        List<ActivityEntryDTO> rows = activityEntryRepository.findPage(projectUUID, before, Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new ActivityPage(rows, null);
+        }
+        List<ActivityEntryDTO> items = List.copyOf(rows.subList(0, pageSize));
+        return new ActivityPage(items, Long.toString(items.get(items.size() - 1).id()));
+    }
+}
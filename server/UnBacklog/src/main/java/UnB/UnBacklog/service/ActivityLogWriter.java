@@ -0,0 +1,183 @@
+package UnB.UnBacklog.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.util.BoardEventType;
+import UnB.UnBacklog.util.JdbcUuids;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Grava o registro de atividade fora da requisição. Cada evento do board confirmado vira uma
+ * linha numa fila limitada, que uma única thread insere em lotes JDBC. Com a fila cheia quem
+ * publica espera até offerTimeoutMillis antes de descartar; um lote que falha é tentado de
+ * novo nos ciclos seguintes (sem drenar mais da fila) até maxAttempts vezes.
+ */
+@Service
+public class ActivityLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+    private static final int TITLE_LENGTH = 255;
+    private static final String INSERT = "INSERT INTO activity_log " +
+        "(project_id, actor_id, type, user_story_id, sprint_id, title, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Activity> queue;
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // Entre o flush agendado e o do shutdown; ReentrantLock e não synchronized: os lotes JDBC
+    // não devem prender a thread portadora com o perfil vthreads
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile List<Activity> pending = List.of();
+    private int attempts;
+    private long reportedDrops;
+
+    private record Activity(UUID projectId, UUID actorId, BoardEventType type, UUID userStoryId, UUID sprintId,
+        String title, LocalDateTime occurredAt) {}
+
+    public record Stats(int queued, int pending, long written, long retried, long failed, long dropped) {}
+
+    public ActivityLogWriter(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        @Value("${unbacklog.activity.queue-size:10000}") int queueSize,
+        @Value("${unbacklog.activity.batch-size:500}") int batchSize,
+        @Value("${unbacklog.activity.offer-timeout-ms:50}") long offerTimeoutMillis,
+        @Value("${unbacklog.activity.max-attempts:5}") int maxAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        try {
+            if (!queue.offer(toActivity(event), offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                dropped.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${unbacklog.activity.flush-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (!pending.isEmpty() && !write(pending)) {
+                return;
+            }
+
+            List<Activity> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+
+            long drops = dropped.sum();
+            if (drops > reportedDrops) {
+                log.warn("Activity log queue full: {} entries dropped so far", drops);
+                reportedDrops = drops;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Tenta esvaziar a fila antes de o pool de conexões fechar; desiste depois de maxAttempts ciclos
+    @PreDestroy
+    public void shutdown() {
+        for (int i = 0; i < maxAttempts && (!pending.isEmpty() || !queue.isEmpty()); i++) {
+            flush();
+        }
+        int lost = pending.size() + queue.size();
+        if (lost > 0) {
+            log.error("Shutting down with {} activity entries not written", lost);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), pending.size(), written.sum(), retried.sum(), failed.sum(), dropped.sum());
+    }
+
+    // false: o lote ficou pendente para o próximo ciclo
+    private boolean write(List<Activity> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT, batch, batch.size(), ActivityLogWriter::bind));
+            written.add(batch.size());
+        } catch (DataAccessException e) {
+            if (++attempts < maxAttempts) {
+                retried.add(batch.size());
+                pending = batch;
+                log.warn("Could not write {} activity entries (attempt {} of {}), retrying", batch.size(), attempts, maxAttempts, e);
+                return false;
+            }
+            failed.add(batch.size());
+            log.error("Giving up on {} activity entries after {} attempts", batch.size(), attempts, e);
+        }
+        pending = List.of();
+        attempts = 0;
+        return true;
+    }
+
+    private static void bind(PreparedStatement statement, Activity activity) throws SQLException {
+        JdbcUuids.set(statement, 1, activity.projectId());
+        JdbcUuids.set(statement, 2, activity.actorId());
+        statement.setString(3, activity.type().name());
+        JdbcUuids.set(statement, 4, activity.userStoryId());
+        JdbcUuids.set(statement, 5, activity.sprintId());
+        statement.setString(6, activity.title());
+        statement.setObject(7, activity.occurredAt());
+    }
+
+    private static Activity toActivity(BoardEvent event) {
+        UUID userStoryId = event.userStoryId();
+        UUID sprintId = event.sprintId();
+        String title = null;
+        if (event.userStory() != null) {
+            userStoryId = event.userStory().id();
+            sprintId = event.userStory().sprintId();
+            title = event.userStory().title();
+        } else if (event.sprint() != null) {
+            sprintId = event.sprint().sprintId();
+            title = event.sprint().objective();
+        }
+        if (title != null && title.length() > TITLE_LENGTH) {
+            title = title.substring(0, TITLE_LENGTH);
+        }
+        return new Activity(event.projectId(), event.actorId(), event.type(), userStoryId, sprintId, title, LocalDateTime.now());
+    }
+}
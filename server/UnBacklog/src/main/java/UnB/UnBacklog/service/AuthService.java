@@ -1,88 +1,247 @@
 package UnB.UnBacklog.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.Optional;
+import java.util.UUID;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.entities.RefreshToken;
 import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.RefreshTokenRepository;
 import UnB.UnBacklog.repository.UserRepository;
 
+/**
+ * Login e sessões. O login (BCrypt) abre uma sessão que emite um access token JWT curto e
+ * um refresh token opaco; a renovação troca o refresh token por um novo sem tocar na
+ * senha, estendendo a sessão até o limite absoluto. Um refresh token usado duas vezes fora
+ * da tolerância indica vazamento e encerra a sessão inteira. Login e cadastro passam antes
+ * pelo limite de tentativas e fazem o BCrypt no pool dedicado, sem transação aberta.
+ */
 @Service
 public class AuthService {
+    public static final String SESSION_CLAIM = "sid";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private UserRepository userRepository;
-    @Autowired
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-    private JwtEncoder jwtEncoder; 
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleService loginThrottleService;
+    private JwtEncoder jwtEncoder;
+    private final JwtDecoder jwtDecoder;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+    private final long accessTokenSeconds;
+    private final long refreshIdleSeconds;
+    private final long sessionMaxSeconds;
+    private final long refreshGraceSeconds;
+
+    /** Tokens emitidos e por quantos segundos valem; refreshToken é nulo quando não foi trocado. */
+    public record AuthTokens(String accessToken, long accessExpiresIn, String refreshToken, long refreshExpiresIn) {}
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtEncoder jwtEncoder){
+    public AuthService(
+        UserRepository userRepository,
+        PasswordHashingService passwordHashingService,
+        LoginThrottleService loginThrottleService,
+        JwtEncoder jwtEncoder,
+        JwtDecoder jwtDecoder,
+        RefreshTokenRepository refreshTokenRepository,
+        TokenRevocationService tokenRevocationService,
+        TransactionTemplate transactionTemplate,
+        @Value("${unbacklog.auth.access-token-seconds:1800}") long accessTokenSeconds,
+        @Value("${unbacklog.auth.refresh-idle-seconds:604800}") long refreshIdleSeconds,
+        @Value("${unbacklog.auth.session-max-seconds:2592000}") long sessionMaxSeconds,
+        @Value("${unbacklog.auth.refresh-grace-seconds:30}") long refreshGraceSeconds
+    ){
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder; 
-        this.jwtEncoder = jwtEncoder; 
+        this.passwordHashingService = passwordHashingService;
+        this.loginThrottleService = loginThrottleService;
+        this.jwtEncoder = jwtEncoder;
+        this.jwtDecoder = jwtDecoder;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.transactionTemplate = transactionTemplate;
+        this.accessTokenSeconds = accessTokenSeconds;
+        this.refreshIdleSeconds = refreshIdleSeconds;
+        this.sessionMaxSeconds = sessionMaxSeconds;
+        this.refreshGraceSeconds = refreshGraceSeconds;
+    }
 
-    } 
-    public String login(String email, String password){ 
-        Optional<User> optionalUser = userRepository.findByEmail(email); 
+    // Sem transação: a espera pelo BCrypt não segura conexão do banco
+    public AuthTokens login(String email, String password, String clientAddress){
+        loginThrottleService.acquire(email, clientAddress);
+        Optional<User> optionalUser = userRepository.findByEmail(email);
 
-        if(optionalUser.isEmpty()){ 
-            throw new BadCredentialsException("user or password incorrect"); 
+        if(optionalUser.isEmpty()){
+            throw new BadCredentialsException("user or password incorrect");
         }
 
-        User user = optionalUser.get(); 
+        User user = optionalUser.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            throw new BadCredentialsException("user or password incorrect"); 
+        if (!passwordHashingService.matches(password, user.getPassword())) {
+            throw new BadCredentialsException("user or password incorrect");
         }
 
-        Instant now = Instant.now(); 
-        Long expiresIn = 1800l; 
+        return startSession(user.getUserId());
+    }
 
-        JwtClaimsSet claims = JwtClaimsSet.builder()
-            .issuer("mybackend")
-            .subject(user.getUserId().toString())
-            .issuedAt(now)
-            .expiresAt(now.plusSeconds(expiresIn))
-            .build();
-        
-        String jwtValue = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    // Como no login, o BCrypt roda antes da transação: só os inserts seguram conexão
+    public AuthTokens register(String email, String password, String name, String clientAddress){
+        loginThrottleService.acquire(null, clientAddress);
+        if(userRepository.findByEmail(email).isPresent()){
+            throw new BadCredentialsException("User already created");
+        }
 
-        return jwtValue; 
-        
+        String passwordHash = passwordHashingService.encode(password);
+
+        return transactionTemplate.execute(status -> {
+            // Outro cadastro com o mesmo email pode ter terminado durante o hash
+            if(userRepository.findByEmail(email).isPresent()){
+                throw new BadCredentialsException("User already created");
+            }
+
+            User user = new User();
+            user.setName(name);
+            user.setEmail(email);
+            user.setPassword(passwordHash);
+            userRepository.save(user);
+
+            return startSession(user.getUserId());
+        });
     }
 
-    public String register(String email, String password, String name){
-        Optional<User> optionalUser = userRepository.findByEmail(email); 
+    // Sem rollback na falha: o encerramento da sessão por reuso precisa ser gravado
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthTokens refresh(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token not found");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+            .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null || !current.getExpiresAt().isAfter(now)) {
+            throw new BadCredentialsException("Session expired");
+        }
 
-        if(!optionalUser.isEmpty()){ 
-            throw new BadCredentialsException("User already created"); 
+        if (current.getRotatedAt() != null || refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            LocalDateTime rotatedAt = current.getRotatedAt() == null ? now : current.getRotatedAt();
+            if (rotatedAt.plusSeconds(refreshGraceSeconds).isBefore(now)) {
+                endSession(current.getSessionId(), now);
+                throw new BadCredentialsException("Refresh token reused, session ended");
+            }
+            // Outra aba renovou no mesmo instante e já recebeu o novo refresh token
+            return new AuthTokens(accessToken(current.getUserId(), current.getSessionId()), accessTokenSeconds, null, 0);
         }
 
-        User user = new User(); 
-        user.setName(name);
-        user.setEmail(email);
-        user.setPassword(bCryptPasswordEncoder.encode(password));
-        userRepository.save(user);
-        
-        Instant now = Instant.now(); 
-        Long expiresIn = 1800l; 
+        return issue(current.getUserId(), current.getSessionId(), current.getSessionExpiresAt(), now);
+    }
+
+    /** Encerra a sessão do refresh token ou, sem ele, a do access token. */
+    @Transactional
+    public void logout(String refreshToken, String accessToken) {
+        LocalDateTime now = LocalDateTime.now();
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            Optional<RefreshToken> current = refreshTokenRepository.findByTokenHash(hash(refreshToken));
+            if (current.isPresent()) {
+                endSession(current.get().getSessionId(), now);
+                return;
+            }
+        }
+        if (accessToken == null || accessToken.isBlank()) {
+            return;
+        }
+        Jwt jwt;
+        try {
+            jwt = jwtDecoder.decode(accessToken);
+        } catch (JwtException e) {
+            return;
+        }
+        // Tokens emitidos antes das sessões não têm sid e simplesmente expiram
+        String sessionId = jwt.getClaimAsString(SESSION_CLAIM);
+        if (sessionId != null) {
+            endSession(UUID.fromString(sessionId), now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${unbacklog.auth.purge-ms:3600000}", initialDelayString = "${unbacklog.auth.purge-ms:3600000}")
+    @Transactional
+    public void purgeExpiredRefreshTokens() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private AuthTokens startSession(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return issue(userId, UUID.randomUUID(), now.plusSeconds(sessionMaxSeconds), now);
+    }
+
+    private AuthTokens issue(UUID userId, UUID sessionId, LocalDateTime sessionExpiresAt, LocalDateTime now) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // Renovar estende a sessão por mais um período de inatividade, até o limite absoluto
+        LocalDateTime idleExpiresAt = now.plusSeconds(refreshIdleSeconds);
+        LocalDateTime expiresAt = idleExpiresAt.isBefore(sessionExpiresAt) ? idleExpiresAt : sessionExpiresAt;
+
+        RefreshToken row = new RefreshToken();
+        row.setTokenHash(hash(refreshToken));
+        row.setUserId(userId);
+        row.setSessionId(sessionId);
+        row.setExpiresAt(expiresAt);
+        row.setSessionExpiresAt(sessionExpiresAt);
+        refreshTokenRepository.save(row);
+
+        long refreshExpiresIn = Duration.between(now, expiresAt).getSeconds();
+        return new AuthTokens(accessToken(userId, sessionId), accessTokenSeconds, refreshToken, refreshExpiresIn);
+    }
+
+    private String accessToken(UUID userId, UUID sessionId) {
+        Instant now = Instant.now();
+
         JwtClaimsSet claims = JwtClaimsSet.builder()
             .issuer("mybackend")
-            .subject(user.getUserId().toString())
+            .subject(userId.toString())
+            .id(UUID.randomUUID().toString())
+            .claim(SESSION_CLAIM, sessionId.toString())
             .issuedAt(now)
-            .expiresAt(now.plusSeconds(expiresIn))
+            .expiresAt(now.plusSeconds(accessTokenSeconds))
             .build();
-        
-        String jwtValue = jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
 
-        return jwtValue; 
-        
+        return jwtEncoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    // Os access tokens da sessão expiram no máximo em accessTokenSeconds: a revogação não precisa durar mais
+    private void endSession(UUID sessionId, LocalDateTime now) {
+        refreshTokenRepository.revokeSession(sessionId, now);
+        tokenRevocationService.revoke(sessionId.toString(), now.plusSeconds(accessTokenSeconds));
+    }
+
+    // O refresh token tem 256 bits aleatórios: SHA-256 sem sal basta para não guardá-lo em claro
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
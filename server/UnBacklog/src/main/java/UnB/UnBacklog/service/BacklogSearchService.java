@@ -0,0 +1,135 @@
+package UnB.UnBacklog.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.dto.UserStorySearchPage;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.InvertedIndex;
+import UnB.UnBacklog.util.LruCache;
+import UnB.UnBacklog.util.ProjectEventCache;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Busca textual no título e na descrição das histórias. Cada projeto tem seu próprio
+ * índice, montado a partir do banco e mantido pelos eventos do board num ProjectEventCache.
+ * O índice só devolve ids; os dados das histórias são lidos do banco,
+ * então o resultado nunca mostra status ou versão desatualizados.
+ */
+@Service
+public class BacklogSearchService {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserStoryRepository userStoryRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final Utils utils;
+    private final ProjectEventCache<Shard> shards;
+
+    private static final class Shard {
+        final InvertedIndex<UUID> index = new InvertedIndex<>();
+        // Versão indexada de cada história: um evento atrasado não volta o índice para trás
+        final Map<UUID, Long> versions = new HashMap<>();
+    }
+
+    public BacklogSearchService(
+        UserStoryRepository userStoryRepository,
+        ProjectMembershipService projectMembershipService,
+        Utils utils,
+        @Value("${unbacklog.search.max-projects:500}") int maxProjects
+    ) {
+        this.userStoryRepository = userStoryRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.utils = utils;
+        this.shards = new ProjectEventCache<>(maxProjects, this::load, BacklogSearchService::apply);
+    }
+
+    public UserStorySearchPage search(String token, String projectId, String q, Integer offset, Integer limit) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "Not allowed");
+
+        List<String> terms = InvertedIndex.tokenize(q);
+        int from = offset == null ? 0 : Math.max(0, offset);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (terms.isEmpty()) {
+            return new UserStorySearchPage(List.of(), 0, null);
+        }
+
+        InvertedIndex.Result<UUID> result = shards.read(projectUUID, shard -> shard.index.search(terms, true, from + pageSize));
+
+        List<UUID> ids = result.hits().stream().skip(from).map(InvertedIndex.Hit::key).toList();
+        Map<UUID, UserStoryDTO> rows = ids.isEmpty() ? Map.of()
+            : userStoryRepository.findDTOsByProjectIdAndIds(projectUUID, ids).stream()
+                .collect(Collectors.toMap(UserStoryDTO::id, Function.identity()));
+        List<UserStoryDTO> items = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            UserStoryDTO row = rows.get(id);
+            if (row != null) {
+                items.add(row);
+            }
+        }
+        Integer nextOffset = from + pageSize < result.total() ? from + pageSize : null;
+        return new UserStorySearchPage(items, result.total(), nextOffset);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        switch (event.type()) {
+            case USER_STORY_CREATED, USER_STORY_UPDATED, USER_STORY_DELETED -> shards.apply(event.projectId(), event);
+            // As histórias da sprint foram removidas junto; o índice é remontado na próxima busca
+            case SPRINT_DELETED -> shards.evict(event.projectId());
+            default -> {}
+        }
+    }
+
+    public LruCache.Stats stats() {
+        return shards.stats();
+    }
+
+    private Shard load(UUID projectId) {
+        Shard shard = new Shard();
+        for (UserStoryDTO userStory : userStoryRepository.findDTOsByProjectId(projectId)) {
+            shard.index.put(userStory.id(), terms(userStory));
+            shard.versions.put(userStory.id(), userStory.version());
+        }
+        return shard;
+    }
+
+    private static void apply(Shard shard, BoardEvent event) {
+        UserStoryDTO userStory = event.userStory();
+        if (userStory != null) {
+            Long indexed = shard.versions.get(userStory.id());
+            if (indexed == null || userStory.version() >= indexed) {
+                shard.index.put(userStory.id(), terms(userStory));
+                shard.versions.put(userStory.id(), userStory.version());
+            }
+        } else if (event.userStoryId() != null) {
+            shard.index.remove(event.userStoryId());
+            shard.versions.remove(event.userStoryId());
+        }
+    }
+
+    private static Map<String, Integer> terms(UserStoryDTO userStory) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String term : InvertedIndex.tokenize(userStory.title())) {
+            terms.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : InvertedIndex.tokenize(userStory.description())) {
+            terms.merge(term, 1, Integer::sum);
+        }
+        return terms;
+    }
+}
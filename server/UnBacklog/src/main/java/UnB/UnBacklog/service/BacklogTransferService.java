@@ -0,0 +1,404 @@
+package UnB.UnBacklog.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import UnB.UnBacklog.dto.BacklogImportResult;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.StatusTransitionEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.BacklogFormat;
+import UnB.UnBacklog.util.CsvReader;
+import UnB.UnBacklog.util.JdbcUuids;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.RankKeys;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Importação e exportação do backlog em CSV ou JSON Lines. A importação lê um registro por
+ * vez, valida cada um e insere em lotes JDBC, um lote por transação: a memória fica limitada
+ * ao lote, qualquer que seja o tamanho do arquivo, e um registro inválido só gera um erro na
+ * sua linha. A exportação percorre uma consulta em stream na ordem do backlog.
+ */
+@Service
+public class BacklogTransferService {
+    private static final Logger log = LoggerFactory.getLogger(BacklogTransferService.class);
+    private static final int TEXT_LENGTH = 255;
+    private static final List<String> CSV_COLUMNS = List.of("id", "title", "description", "priority", "status", "sprintId", "rank");
+    private static final String INSERT = "INSERT INTO user_story " +
+        "(id, project_id, sprint_id, title, description, priority, status, rank_key, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final Utils utils;
+    private final ProjectMembershipService projectMembershipService;
+    private final UserStoryRepository userStoryRepository;
+    private final SprintRepository sprintRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxLineLength;
+    private final int maxErrors;
+
+    private record Row(long line, UserStoryDTO userStory) {}
+
+    public BacklogTransferService(
+        Utils utils,
+        ProjectMembershipService projectMembershipService,
+        UserStoryRepository userStoryRepository,
+        SprintRepository sprintRepository,
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        ApplicationEventPublisher eventPublisher,
+        ObjectMapper objectMapper,
+        @Value("${unbacklog.import.batch-size:500}") int batchSize,
+        @Value("${unbacklog.import.max-line-length:65536}") int maxLineLength,
+        @Value("${unbacklog.import.max-errors:100}") int maxErrors
+    ) {
+        this.utils = utils;
+        this.projectMembershipService = projectMembershipService;
+        this.userStoryRepository = userStoryRepository;
+        this.sprintRepository = sprintRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+        this.maxErrors = maxErrors;
+    }
+
+    // O papel é verificado uma vez por arquivo; as histórias entram no fim do backlog, na ordem do arquivo
+    public BacklogImportResult importUserStories(String token, String projectId, BacklogFormat format, Reader body) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can import user stories");
+
+        Set<UUID> sprintIds = sprintRepository.findSummariesByProjectId(projectUUID).stream()
+            .map(SprintSummaryDTO::sprintId)
+            .collect(Collectors.toSet());
+        Import state = new Import(projectUUID, userId, sprintIds, userStoryRepository.findMaxRankByProjectId(projectUUID));
+        if (format == BacklogFormat.JSONL) {
+            readJsonLines(body, state);
+        } else {
+            readCsv(body, state);
+        }
+        state.flush();
+        return new BacklogImportResult(state.imported, state.failed, List.copyOf(state.errors));
+    }
+
+    public UUID authorizeExport(String token, String projectId) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "Not allowed");
+        return projectUUID;
+    }
+
+    // Quem chama já verificou o acesso com authorizeExport
+    @Transactional(readOnly = true)
+    public void exportUserStories(UUID projectId, BacklogFormat format, OutputStream out) throws IOException {
+        // Não fecha o writer: o stream pertence à resposta
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<UserStoryDTO> userStories = userStoryRepository.streamDTOsByProjectIdOrderByRank(projectId)) {
+            Iterator<UserStoryDTO> rows = userStories.iterator();
+            if (format == BacklogFormat.JSONL) {
+                while (rows.hasNext()) {
+                    writer.write(objectMapper.writeValueAsString(rows.next()));
+                    writer.write('\n');
+                }
+            } else {
+                writer.write(String.join(",", CSV_COLUMNS));
+                writer.write("\r\n");
+                while (rows.hasNext()) {
+                    writeCsv(writer, rows.next());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    private void readCsv(Reader body, Import state) throws Exception {
+        CsvReader csv = new CsvReader(body, maxLineLength);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (IllegalArgumentException e) {
+            throw new Exception("Invalid CSV header: " + e.getMessage());
+        }
+        if (header == null) {
+            return;
+        }
+        // Colunas pelo nome, em qualquer ordem (sem o BOM que planilhas gravam no início); colunas
+        // desconhecidas, como id e rank da exportação, são ignoradas
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        if (!columns.containsKey("title")) {
+            throw new Exception("CSV header must have a title column");
+        }
+
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                state.error(csv.recordLine(), e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                return;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            state.accept(csv.recordLine(), name -> {
+                Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+                return index == null || index >= record.size() ? null : record.get(index);
+            });
+        }
+    }
+
+    private void readJsonLines(Reader body, Import state) throws IOException {
+        StringBuilder line = new StringBuilder();
+        long number = 0;
+        int length;
+        while ((length = readLine(body, line)) >= 0) {
+            number++;
+            if (length > maxLineLength) {
+                state.error(number, "Line longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line.toString());
+            } catch (JsonProcessingException e) {
+                state.error(number, "Invalid JSON");
+                continue;
+            }
+            if (!node.isObject()) {
+                state.error(number, "Each line must be a JSON object");
+                continue;
+            }
+            state.accept(number, name -> {
+                JsonNode value = node.get(name);
+                if (value == null || value.isNull()) {
+                    return null;
+                }
+                if (!value.isValueNode()) {
+                    throw new IllegalArgumentException(name + " must be a string");
+                }
+                return value.asText();
+            });
+        }
+    }
+
+    // Lê até o fim da linha guardando no máximo maxLineLength caracteres; -1 no fim da entrada
+    private int readLine(Reader in, StringBuilder line) throws IOException {
+        line.setLength(0);
+        int length = 0;
+        int c = in.read();
+        if (c == -1) {
+            return -1;
+        }
+        while (c != -1 && c != '\n') {
+            if (++length <= maxLineLength) {
+                line.append((char) c);
+            }
+            c = in.read();
+        }
+        if (line.length() > 0 && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return length;
+    }
+
+    private static void writeCsv(Writer writer, UserStoryDTO userStory) throws IOException {
+        writer.write(userStory.id().toString());
+        writer.write(',');
+        writer.write(CsvReader.escape(userStory.title()));
+        writer.write(',');
+        writer.write(CsvReader.escape(userStory.description()));
+        writer.write(',');
+        writer.write(userStory.priority() == null ? "" : userStory.priority().name());
+        writer.write(',');
+        writer.write(userStory.status() == null ? "" : userStory.status().name());
+        writer.write(',');
+        writer.write(userStory.sprintId() == null ? "" : userStory.sprintId().toString());
+        writer.write(',');
+        writer.write(userStory.rank());
+        writer.write("\r\n");
+    }
+
+    private static void bind(PreparedStatement statement, UUID projectId, UserStoryDTO userStory) throws SQLException {
+        JdbcUuids.set(statement, 1, userStory.id());
+        JdbcUuids.set(statement, 2, projectId);
+        JdbcUuids.set(statement, 3, userStory.sprintId());
+        statement.setString(4, userStory.title());
+        statement.setString(5, userStory.description());
+        statement.setString(6, userStory.priority() == null ? null : userStory.priority().name());
+        statement.setString(7, userStory.status() == null ? null : userStory.status().name());
+        statement.setString(8, userStory.rank());
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        String name = trimToNull(value);
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + field + " '" + name + "', expected one of " +
+                Arrays.stream(type.getEnumConstants()).map(Enum::name).collect(Collectors.joining(", ")));
+        }
+    }
+
+    // Estado de uma importação: o lote em andamento, a última chave de ordem e as contagens
+    private final class Import {
+        private final UUID projectId;
+        private final UUID userId;
+        private final Set<UUID> sprintIds;
+        private final List<BacklogImportResult.LineError> errors = new ArrayList<>();
+        private List<Row> batch = new ArrayList<>();
+        private String lastRank;
+        private long imported;
+        private long failed;
+
+        private Import(UUID projectId, UUID userId, Set<UUID> sprintIds, String lastRank) {
+            this.projectId = projectId;
+            this.userId = userId;
+            this.sprintIds = sprintIds;
+            this.lastRank = lastRank;
+        }
+
+        // field devolve o valor bruto de uma coluna, ou null se ela não veio
+        private void accept(long line, Function<String, String> field) {
+            try {
+                String title = trimToNull(field.apply("title"));
+                if (title == null) {
+                    throw new IllegalArgumentException("title is required");
+                }
+                String description = trimToNull(field.apply("description"));
+                if (title.length() > TEXT_LENGTH || (description != null && description.length() > TEXT_LENGTH)) {
+                    throw new IllegalArgumentException("title and description must have at most " + TEXT_LENGTH + " characters");
+                }
+                UserStoryPriority priority = parseEnum(UserStoryPriority.class, "priority", field.apply("priority"));
+                UserStoryStatus status = parseEnum(UserStoryStatus.class, "status", field.apply("status"));
+                UUID sprintId = parseSprintId(field.apply("sprintId"));
+
+                lastRank = RankKeys.after(lastRank);
+                batch.add(new Row(line, new UserStoryDTO(UUID.randomUUID(), title, description, priority, status, sprintId, 0, lastRank)));
+            } catch (IllegalArgumentException e) {
+                error(line, e.getMessage());
+                return;
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private UUID parseSprintId(String value) {
+            String sprintId = trimToNull(value);
+            if (sprintId == null) {
+                return null;
+            }
+            UUID sprintUUID;
+            try {
+                sprintUUID = UUID.fromString(sprintId);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid sprintId '" + sprintId + "'");
+            }
+            if (!sprintIds.contains(sprintUUID)) {
+                throw new IllegalArgumentException("Sprint not found");
+            }
+            return sprintUUID;
+        }
+
+        private void error(long line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BacklogImportResult.LineError(line, message));
+            }
+        }
+
+        // Um lote por transação; os eventos são entregues depois do commit, como nas demais escritas do board
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<Row> rows = batch;
+            batch = new ArrayList<>(batchSize);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (statement, row) -> bind(statement, projectId, row.userStory()));
+                    LocalDateTime now = LocalDateTime.now();
+                    for (Row row : rows) {
+                        UserStoryDTO userStory = row.userStory();
+                        eventPublisher.publishEvent(BoardEvent.userStoryCreated(projectId, userId, userStory));
+                        if (userStory.status() != null) {
+                            eventPublisher.publishEvent(new StatusTransitionEvent(projectId, userStory.id(), null, userStory.sprintId(),
+                                userStory.priority(), null, userStory.status(), userId, now));
+                        }
+                    }
+                });
+                imported += rows.size();
+            } catch (DataAccessException e) {
+                log.warn("Could not import {} user stories into project {}", rows.size(), projectId, e);
+                for (Row row : rows) {
+                    error(row.line(), "Could not be saved");
+                }
+            }
+        }
+    }
+}
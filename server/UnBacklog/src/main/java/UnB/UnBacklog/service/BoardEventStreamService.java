@@ -0,0 +1,310 @@
+package UnB.UnBacklog.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.util.Utils;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Distribui os eventos do board por Server-Sent Events. Cada projeto guarda os últimos
+ * eventos para que um cliente reconectado com Last-Event-ID receba só o que perdeu; se o
+ * id não puder ser atendido (reinício do servidor ou evento já descartado) o cliente
+ * recebe um evento "reset" e deve recarregar o board. Cada conexão tem uma fila limitada:
+ * um cliente que não acompanha é desconectado e retoma pelo Last-Event-ID. As escritas nas
+ * conexões bloqueiam enquanto o cliente não lê, então rodam num pool próprio e limitado, fora
+ * do executor do @Async.
+ */
+@Service
+public class BoardEventStreamService {
+    private static final Logger log = LoggerFactory.getLogger(BoardEventStreamService.class);
+    private static final long RECONNECT_MILLIS = 3000;
+
+    private final Utils utils;
+    private final ProjectMembershipService projectMembershipService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int replaySize;
+    private final int connectionBuffer;
+    private final long timeoutMillis;
+    private final long retentionMillis;
+    // Ids de eventos de outra execução do servidor não são aceitos no Last-Event-ID
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<UUID, ProjectStream> streams = new ConcurrentHashMap<>();
+
+    private record SequencedEvent(String id, String name, String data) {}
+
+    private static final SequencedEvent HEARTBEAT = new SequencedEvent(null, null, null);
+
+    private static final class ProjectStream {
+        long lastSequence;
+        long lastEventAt = System.currentTimeMillis();
+        boolean removed;
+        final ArrayDeque<SequencedEvent> replay = new ArrayDeque<>();
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    }
+
+    @Autowired
+    public BoardEventStreamService(
+        Utils utils,
+        ProjectMembershipService projectMembershipService,
+        ObjectMapper objectMapper,
+        @Value("${unbacklog.events.drain-threads:8}") int drainThreads,
+        @Value("${unbacklog.events.drain-queue-size:10000}") int drainQueueSize,
+        @Value("${unbacklog.events.replay-size:500}") int replaySize,
+        @Value("${unbacklog.events.connection-buffer:256}") int connectionBuffer,
+        @Value("${unbacklog.events.timeout-ms:1800000}") long timeoutMillis,
+        @Value("${unbacklog.events.retention-ms:600000}") long retentionMillis
+    ) {
+        this(utils, projectMembershipService, objectMapper, drainExecutor(drainThreads, drainQueueSize),
+            replaySize, connectionBuffer, timeoutMillis, retentionMillis);
+    }
+
+    BoardEventStreamService(
+        Utils utils,
+        ProjectMembershipService projectMembershipService,
+        ObjectMapper objectMapper,
+        Executor executor,
+        int replaySize,
+        int connectionBuffer,
+        long timeoutMillis,
+        long retentionMillis
+    ) {
+        this.utils = utils;
+        this.projectMembershipService = projectMembershipService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.replaySize = replaySize;
+        this.connectionBuffer = connectionBuffer;
+        this.timeoutMillis = timeoutMillis;
+        this.retentionMillis = retentionMillis;
+    }
+
+    // Cada conexão tem no máximo uma tarefa pendente, então a fila limita as conexões à espera de envio
+    private static ExecutorService drainExecutor(int threads, int queueSize) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-drain-");
+        threadFactory.setDaemon(true);
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public SseEmitter subscribe(String token, String projectId, String lastEventId) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
+
+        Subscriber subscriber = new Subscriber(projectUUID, new SseEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+
+        // Reenvio e inscrição sob o mesmo lock da publicação: nenhum evento é perdido ou duplicado
+        withStream(projectUUID, stream -> {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                Long after = parseSequence(lastEventId);
+                SequencedEvent oldest = stream.replay.peekFirst();
+                long oldestSequence = oldest == null ? stream.lastSequence + 1 : parseSequence(oldest.id());
+                // Se faltar mais do que cabe na fila da conexão, recarregar o board sai mais barato
+                if (after == null || after > stream.lastSequence || after < oldestSequence - 1
+                    || stream.lastSequence - after > connectionBuffer - 1) {
+                    subscriber.offer(new SequencedEvent(null, "reset", "{}"));
+                } else {
+                    for (SequencedEvent event : stream.replay) {
+                        if (parseSequence(event.id()) > after) {
+                            subscriber.offer(event);
+                        }
+                    }
+                }
+            }
+            stream.subscribers.add(subscriber);
+        });
+        // Força o envio dos cabeçalhos para o cliente considerar a conexão aberta
+        subscriber.offer(HEARTBEAT);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize board event {}", event.type(), e);
+            return;
+        }
+
+        withStream(event.projectId(), stream -> {
+            stream.lastSequence++;
+            stream.lastEventAt = System.currentTimeMillis();
+            SequencedEvent sequenced = new SequencedEvent(epoch + "-" + stream.lastSequence, event.type().name(), data);
+            stream.replay.addLast(sequenced);
+            if (stream.replay.size() > replaySize) {
+                stream.replay.removeFirst();
+            }
+            for (Subscriber subscriber : stream.subscribers) {
+                subscriber.offer(sequenced);
+            }
+        });
+    }
+
+    /** Mantém as conexões vivas através de proxies e descarta projetos sem uso. */
+    @Scheduled(fixedDelayString = "${unbacklog.events.heartbeat-ms:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        streams.forEach((projectId, stream) -> {
+            synchronized (stream) {
+                if (stream.subscribers.isEmpty() && now - stream.lastEventAt > retentionMillis) {
+                    stream.removed = true;
+                    streams.remove(projectId, stream);
+                    return;
+                }
+                for (Subscriber subscriber : stream.subscribers) {
+                    subscriber.offer(HEARTBEAT);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void withStream(UUID projectId, Consumer<ProjectStream> action) {
+        // Repete se o heartbeat acabou de descartar o stream obtido
+        while (true) {
+            ProjectStream stream = streams.computeIfAbsent(projectId, id -> new ProjectStream());
+            synchronized (stream) {
+                if (!stream.removed) {
+                    action.accept(stream);
+                    return;
+                }
+            }
+        }
+    }
+
+    private Long parseSequence(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private final class Subscriber {
+        final UUID projectId;
+        final SseEmitter emitter;
+        final BlockingQueue<SequencedEvent> queue = new ArrayBlockingQueue<>(connectionBuffer);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(UUID projectId, SseEmitter emitter) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+        }
+
+        void offer(SequencedEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                // Cliente lento: encerra a conexão e ele retoma pelo Last-Event-ID
+                disconnect();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool de envio saturado: o cliente reconecta e retoma pelo Last-Event-ID
+                draining.set(false);
+                disconnect();
+            }
+        }
+
+        private void disconnect() {
+            close();
+            emitter.complete();
+        }
+
+        void drain() {
+            try {
+                SequencedEvent event;
+                while (!closed.get() && (event = queue.poll()) != null) {
+                    send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        private void send(SequencedEvent event) throws IOException {
+            if (event == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name(event.name())
+                .reconnectTime(RECONNECT_MILLIS)
+                .data(event.data());
+            if (event.id() != null) {
+                builder.id(event.id());
+            }
+            emitter.send(builder);
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                queue.clear();
+                ProjectStream stream = streams.get(projectId);
+                if (stream != null) {
+                    stream.subscribers.remove(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package UnB.UnBacklog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+
+/**
+ * Escreve as listas grandes do board direto na resposta, linha a linha, a partir de
+ * consultas em stream. A memória usada por requisição fica limitada ao buffer do gerador,
+ * independente do tamanho do projeto. Quem chama já verificou o acesso ao projeto.
+ */
+@Service
+public class BoardJsonWriter {
+    private final UserStoryRepository userStoryRepository;
+    private final SprintRepository sprintRepository;
+    private final ObjectMapper objectMapper;
+
+    public BoardJsonWriter(UserStoryRepository userStoryRepository, SprintRepository sprintRepository, ObjectMapper objectMapper) {
+        this.userStoryRepository = userStoryRepository;
+        this.sprintRepository = sprintRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeUserStories(UUID projectId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = generator(out);
+            Stream<UserStoryDTO> userStories = userStoryRepository.streamDTOsByProjectId(projectId)) {
+            generator.writeStartArray();
+            Iterator<UserStoryDTO> rows = userStories.iterator();
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeSprints(UUID projectId, OutputStream out) throws IOException {
+        List<SprintSummaryDTO> sprints = sprintRepository.findSummariesByProjectId(projectId);
+        try (JsonGenerator generator = generator(out);
+            Stream<UserStoryDTO> userStories = userStoryRepository.streamSprintDTOsByProjectId(projectId)) {
+            // Sprints e histórias vêm ordenadas por sprint_id: cada sprint consome as suas do stream
+            Iterator<UserStoryDTO> rows = userStories.iterator();
+            UserStoryDTO next = rows.hasNext() ? rows.next() : null;
+
+            generator.writeStartArray();
+            for (SprintSummaryDTO sprint : sprints) {
+                String sprintId = sprint.sprintId().toString();
+                generator.writeStartObject();
+                generator.writeObjectField("sprintId", sprint.sprintId());
+                generator.writeNumberField("version", sprint.version());
+                generator.writeStringField("objective", sprint.objective());
+                generator.writeObjectField("startDate", sprint.startDate());
+                generator.writeObjectField("finishDate", sprint.finishDate());
+                generator.writeArrayFieldStart("userStories");
+                // Histórias de uma sprint criada depois da listagem acima são ignoradas
+                while (next != null && next.sprintId().toString().compareTo(sprintId) <= 0) {
+                    if (next.sprintId().toString().equals(sprintId)) {
+                        generator.writeObject(next);
+                    }
+                    next = rows.hasNext() ? rows.next() : null;
+                }
+                generator.writeEndArray();
+                generator.writeObjectField("status", sprint.status());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        // O stream pertence à resposta: o servlet container fecha
+        return objectMapper.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
@@ -0,0 +1,153 @@
+package UnB.UnBacklog.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import UnB.UnBacklog.dto.BoardDTO;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.BoardEventType;
+import UnB.UnBacklog.util.LruCache;
+import UnB.UnBacklog.util.ProjectEventCache;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Modelo de leitura do board: para cada projeto, as sprints e as histórias em mapas por id,
+ * montados do banco e mantidos pelos eventos do board num ProjectEventCache.
+ * O BoardDTO é montado uma vez e reaproveitado até o próximo evento do projeto, então uma
+ * leitura sem escritas no meio é só uma consulta ao cache.
+ */
+@Service
+public class BoardReadModelService {
+    private static final Comparator<UserStoryDTO> BACKLOG_ORDER =
+        Comparator.comparing(UserStoryDTO::rank).thenComparing(UserStoryDTO::id);
+    private static final Comparator<SprintSummaryDTO> SPRINT_ORDER =
+        Comparator.comparing(SprintSummaryDTO::startDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SprintSummaryDTO::sprintId);
+
+    private final UserStoryRepository userStoryRepository;
+    private final SprintRepository sprintRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final Utils utils;
+    private final ProjectEventCache<Projection> boards;
+
+    private static final class Projection {
+        final Map<UUID, SprintSummaryDTO> sprints = new HashMap<>();
+        final Map<UUID, UserStoryDTO> userStories = new HashMap<>();
+        // Último board montado; cada evento aplicado o descarta
+        volatile BoardDTO view;
+    }
+
+    public BoardReadModelService(
+        UserStoryRepository userStoryRepository,
+        SprintRepository sprintRepository,
+        ProjectMembershipService projectMembershipService,
+        Utils utils,
+        @Value("${unbacklog.board.max-projects:500}") int maxProjects
+    ) {
+        this.userStoryRepository = userStoryRepository;
+        this.sprintRepository = sprintRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.utils = utils;
+        this.boards = new ProjectEventCache<>(maxProjects, this::load, BoardReadModelService::apply);
+    }
+
+    public BoardDTO getBoard(String token, String projectId) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
+
+        // Sob o lock de leitura nenhum evento é aplicado: o board montado corresponde aos mapas
+        return boards.read(projectUUID, projection -> {
+            BoardDTO view = projection.view;
+            if (view == null) {
+                view = assemble(projectUUID, projection);
+                projection.view = view;
+            }
+            return view;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        // O evento não traz a versão nova da história: a projeção é remontada na próxima leitura
+        if (event.type() == BoardEventType.USER_STORY_MOVED) {
+            evict(event.projectId());
+            return;
+        }
+        boards.apply(event.projectId(), event);
+    }
+
+    // Para escritas que não publicam eventos, como a renumeração do backlog
+    public void evict(UUID projectId) {
+        boards.evict(projectId);
+    }
+
+    public LruCache.Stats stats() {
+        return boards.stats();
+    }
+
+    private Projection load(UUID projectId) {
+        Projection projection = new Projection();
+        for (SprintSummaryDTO sprint : sprintRepository.findSummariesByProjectId(projectId)) {
+            projection.sprints.put(sprint.sprintId(), sprint);
+        }
+        for (UserStoryDTO userStory : userStoryRepository.findDTOsByProjectId(projectId)) {
+            projection.userStories.put(userStory.id(), userStory);
+        }
+        return projection;
+    }
+
+    // Eventos de commits concorrentes podem chegar fora de ordem: uma versão mais antiga não sobrescreve a atual
+    private static void apply(Projection projection, BoardEvent event) {
+        switch (event.type()) {
+            case USER_STORY_CREATED, USER_STORY_UPDATED -> projection.userStories.merge(event.userStory().id(), event.userStory(),
+                (current, next) -> next.version() >= current.version() ? next : current);
+            case USER_STORY_DELETED -> projection.userStories.remove(event.userStoryId());
+            case SPRINT_CREATED, SPRINT_UPDATED -> projection.sprints.merge(event.sprint().sprintId(), event.sprint(),
+                (current, next) -> next.version() >= current.version() ? next : current);
+            case SPRINT_DELETED -> {
+                projection.sprints.remove(event.sprintId());
+                projection.userStories.values().removeIf(userStory -> event.sprintId().equals(userStory.sprintId()));
+            }
+            case USER_STORY_MOVED -> {}
+        }
+        projection.view = null;
+    }
+
+    private static BoardDTO assemble(UUID projectId, Projection projection) {
+        Map<UUID, List<UserStoryDTO>> bySprint = new HashMap<>();
+        List<UserStoryDTO> backlog = new ArrayList<>();
+        for (UserStoryDTO userStory : projection.userStories.values()) {
+            if (userStory.sprintId() == null) {
+                backlog.add(userStory);
+            } else {
+                bySprint.computeIfAbsent(userStory.sprintId(), id -> new ArrayList<>()).add(userStory);
+            }
+        }
+        backlog.sort(BACKLOG_ORDER);
+
+        // Histórias de uma sprint que a projeção não conhece ficam de fora, como no BoardJsonWriter
+        List<SprintSummaryDTO> sprints = new ArrayList<>(projection.sprints.values());
+        sprints.sort(SPRINT_ORDER);
+        List<BoardDTO.SprintBoard> sprintBoards = new ArrayList<>(sprints.size());
+        for (SprintSummaryDTO sprint : sprints) {
+            List<UserStoryDTO> userStories = bySprint.getOrDefault(sprint.sprintId(), new ArrayList<>());
+            userStories.sort(BACKLOG_ORDER);
+            sprintBoards.add(new BoardDTO.SprintBoard(sprint.sprintId(), sprint.version(), sprint.objective(),
+                sprint.startDate(), sprint.finishDate(), sprint.status(), List.copyOf(userStories)));
+        }
+        return new BoardDTO(projectId, List.copyOf(sprintBoards), List.copyOf(backlog));
+    }
+}
@@ -0,0 +1,91 @@
+package UnB.UnBacklog.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import UnB.UnBacklog.util.LruCache;
+import UnB.UnBacklog.util.TokenBucket;
+
+/**
+ * Limita tentativas de login e cadastro antes de qualquer BCrypt: um balde de fichas por
+ * e-mail (força bruta numa conta) e outro por IP (credential stuffing com muitos e-mails).
+ * Os baldes ficam num LRU limitado; um balde descartado volta cheio, o que só acontece
+ * depois de maxKeys chaves mais recentes.
+ */
+@Service
+public class LoginThrottleService {
+    private final LruCache<String, TokenBucket> emailBuckets;
+    private final LruCache<String, TokenBucket> addressBuckets;
+    private final int emailBurst;
+    private final int emailPerMinute;
+    private final int addressBurst;
+    private final int addressPerMinute;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+
+    public record Stats(long allowed, long rejectedByEmail, long rejectedByAddress, LruCache.Stats emails, LruCache.Stats addresses) {}
+
+    /** Tentativas esgotadas: o cliente pode tentar de novo depois de retryAfterSeconds. */
+    public static class TooManyAttemptsException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public TooManyAttemptsException(long retryAfterSeconds) {
+            super("Too many attempts, try again in " + retryAfterSeconds + " seconds");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    public LoginThrottleService(
+        @Value("${unbacklog.auth.throttle.email-burst:5}") int emailBurst,
+        @Value("${unbacklog.auth.throttle.email-per-minute:5}") int emailPerMinute,
+        @Value("${unbacklog.auth.throttle.ip-burst:30}") int addressBurst,
+        @Value("${unbacklog.auth.throttle.ip-per-minute:30}") int addressPerMinute,
+        @Value("${unbacklog.auth.throttle.max-keys:100000}") int maxKeys
+    ) {
+        this.emailBurst = emailBurst;
+        this.emailPerMinute = emailPerMinute;
+        this.addressBurst = addressBurst;
+        this.addressPerMinute = addressPerMinute;
+        this.emailBuckets = new LruCache<>(maxKeys);
+        this.addressBuckets = new LruCache<>(maxKeys);
+    }
+
+    /** Consome uma tentativa do IP e, se informado, do e-mail; lança TooManyAttemptsException se algum estiver esgotado. */
+    public void acquire(String email, String address) {
+        long now = System.nanoTime();
+        if (address != null) {
+            long wait = addressBuckets.computeIfAbsent(address, key -> new TokenBucket(addressBurst, addressPerMinute, now))
+                .tryAcquire(now);
+            if (wait > 0) {
+                rejectedByAddress.increment();
+                throw new TooManyAttemptsException(toSeconds(wait));
+            }
+        }
+        if (email != null) {
+            String key = email.trim().toLowerCase();
+            long wait = emailBuckets.computeIfAbsent(key, k -> new TokenBucket(emailBurst, emailPerMinute, now))
+                .tryAcquire(now);
+            if (wait > 0) {
+                rejectedByEmail.increment();
+                throw new TooManyAttemptsException(toSeconds(wait));
+            }
+        }
+        allowed.increment();
+    }
+
+    public Stats stats() {
+        return new Stats(allowed.sum(), rejectedByEmail.sum(), rejectedByAddress.sum(), emailBuckets.stats(), addressBuckets.stats());
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+}
@@ -0,0 +1,322 @@
+package UnB.UnBacklog.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.dto.BurndownPointDTO;
+import UnB.UnBacklog.dto.ProjectAnalyticsDTO;
+import UnB.UnBacklog.dto.SprintBurndownDTO;
+import UnB.UnBacklog.dto.SprintCountDTO;
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.SprintVelocityDTO;
+import UnB.UnBacklog.dto.StatusTransitionEvent;
+import UnB.UnBacklog.entities.PriorityDailyRollup;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.SprintDailyRollup;
+import UnB.UnBacklog.entities.UserStoryStatusTransition;
+import UnB.UnBacklog.repository.PriorityDailyRollupRepository;
+import UnB.UnBacklog.repository.SprintDailyRollupRepository;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.repository.UserStoryStatusTransitionRepository;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Grava o histórico de status e mantém os agregados diários usados pelos gráficos. As
+ * consultas de burndown, velocidade e tempo de ciclo leem só os agregados, nunca o histórico.
+ * Cada transição é aplicada aos agregados uma única vez, na transação que a marca como agregada.
+ */
+@Service
+public class ProjectAnalyticsService {
+
+    private static final int DEFAULT_CYCLE_TIME_DAYS = 90;
+    private static final int MAX_BURNDOWN_DAYS = 366;
+
+    private final UserStoryStatusTransitionRepository transitionRepository;
+    private final SprintDailyRollupRepository sprintRollupRepository;
+    private final PriorityDailyRollupRepository priorityRollupRepository;
+    private final SprintRepository sprintRepository;
+    private final UserStoryRepository userStoryRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final Utils utils;
+
+    private record SprintDay(UUID sprintId, LocalDate day) {}
+    private record PriorityDay(UUID projectId, LocalDate day, UserStoryPriority priority) {}
+
+    public ProjectAnalyticsService(
+        UserStoryStatusTransitionRepository transitionRepository,
+        SprintDailyRollupRepository sprintRollupRepository,
+        PriorityDailyRollupRepository priorityRollupRepository,
+        SprintRepository sprintRepository,
+        UserStoryRepository userStoryRepository,
+        ProjectMembershipService projectMembershipService,
+        Utils utils
+    ) {
+        this.transitionRepository = transitionRepository;
+        this.sprintRollupRepository = sprintRollupRepository;
+        this.priorityRollupRepository = priorityRollupRepository;
+        this.sprintRepository = sprintRepository;
+        this.userStoryRepository = userStoryRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.utils = utils;
+    }
+
+    /** Grava a transição na transação de quem a publicou; os agregados são atualizados depois. */
+    @Transactional
+    public void recordTransition(StatusTransitionEvent event) {
+        UserStoryStatusTransition transition = new UserStoryStatusTransition();
+        transition.setProjectId(event.projectId());
+        transition.setUserStoryId(event.userStoryId());
+        transition.setFromSprintId(event.fromSprintId());
+        transition.setSprintId(event.sprintId());
+        transition.setActorId(event.actorId());
+        transition.setFromStatus(event.fromStatus());
+        transition.setToStatus(event.toStatus());
+        transition.setPriority(event.priority());
+        transition.setChangedAt(event.changedAt());
+        transitionRepository.save(transition);
+    }
+
+    /**
+     * Aplica aos agregados até limit transições pendentes e as marca como agregadas. Uma falha
+     * desfaz a transação inteira e as transições continuam pendentes para a próxima tentativa.
+     */
+    @Transactional
+    public int rollUpPending(int limit) {
+        List<UserStoryStatusTransition> transitions = transitionRepository.findPending(Limit.of(limit));
+        if (transitions.isEmpty()) {
+            return 0;
+        }
+        // Marca antes de agregar: outra instância com as mesmas linhas espera o lock e desiste aqui
+        List<UUID> ids = transitions.stream().map(UserStoryStatusTransition::getId).toList();
+        if (transitionRepository.markRolledUp(ids, LocalDateTime.now()) != ids.size()) {
+            throw new ConcurrencyFailureException("Status transitions are being rolled up elsewhere");
+        }
+        updateSprintRollups(transitions);
+        updatePriorityRollups(transitions);
+        return transitions.size();
+    }
+
+    public long countPendingTransitions() {
+        return transitionRepository.countByRolledUpAtIsNull();
+    }
+
+    public ProjectAnalyticsDTO getAnalytics(String token, String projectId, String sprintId, Integer days) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
+
+        int cycleTimeDays = days == null ? DEFAULT_CYCLE_TIME_DAYS : days;
+        if (cycleTimeDays <= 0) {
+            throw new Exception("days must be positive");
+        }
+
+        Map<UUID, Long> completedBySprint = sprintRollupRepository.sumCompletedBySprint(projectUUID).stream()
+            .collect(Collectors.toMap(SprintCountDTO::sprintId, SprintCountDTO::count));
+        List<SprintVelocityDTO> velocity = sprintRepository.findSummariesByProjectIdAndStatus(projectUUID, SprintStatus.COMPLETED).stream()
+            .sorted(Comparator.comparing(SprintSummaryDTO::finishDate, Comparator.nullsLast(Comparator.naturalOrder())))
+            .map(sprint -> new SprintVelocityDTO(sprint.sprintId(), sprint.objective(), sprint.finishDate(),
+                completedBySprint.getOrDefault(sprint.sprintId(), 0L)))
+            .toList();
+
+        return new ProjectAnalyticsDTO(
+            burndown(projectUUID, sprintId),
+            velocity,
+            velocity.stream().mapToLong(SprintVelocityDTO::completed).average().orElse(0),
+            priorityRollupRepository.sumCycleTimeByPriority(projectUUID, LocalDate.now().minusDays(cycleTimeDays))
+        );
+    }
+
+    // Sem sprintId usa a sprint ativa; sem sprint ativa não há burndown
+    private SprintBurndownDTO burndown(UUID projectId, String sprintId) throws Exception {
+        SprintSummaryDTO sprint;
+        if (sprintId == null) {
+            sprint = sprintRepository.findSummariesByProjectIdAndStatus(projectId, SprintStatus.ACTIVE).stream().findFirst().orElse(null);
+            if (sprint == null) {
+                return null;
+            }
+        } else {
+            Sprint entity = sprintRepository.findById(UUID.fromString(sprintId))
+                .orElseThrow(() -> new BadCredentialsException("Sprint not found"));
+            if (!entity.getProject().getProjectId().equals(projectId)) {
+                throw new Exception("Sprint does not belong to this project");
+            }
+            sprint = new SprintSummaryDTO(entity.getSprintId(), entity.getObjective(), entity.getStartDate(),
+                entity.getFinishDate(), entity.getStatus(), entity.getVersion());
+        }
+
+        // Escopo e concluídas seguem a sprint atual: os agregados descontam as concluídas que saíram dela
+        List<SprintDailyRollup> rollups = sprintRollupRepository.findBySprintId(sprint.sprintId());
+        long scope = userStoryRepository.countBySprintId(sprint.sprintId());
+
+        LocalDate today = LocalDate.now();
+        LocalDate first = sprint.startDate() != null ? sprint.startDate().toLocalDate()
+            : rollups.isEmpty() ? today : rollups.get(0).getDay();
+        LocalDate last = sprint.finishDate() != null && sprint.finishDate().toLocalDate().isBefore(today)
+            ? sprint.finishDate().toLocalDate() : today;
+        if (last.isBefore(first)) {
+            last = first;
+        }
+        if (ChronoUnit.DAYS.between(first, last) > MAX_BURNDOWN_DAYS) {
+            first = last.minusDays(MAX_BURNDOWN_DAYS);
+        }
+
+        // Conclusões anteriores ao primeiro dia entram no ponto de partida
+        long completed = 0;
+        int index = 0;
+        while (index < rollups.size() && rollups.get(index).getDay().isBefore(first)) {
+            completed += rollups.get(index).getCompleted() - rollups.get(index).getReopened();
+            index++;
+        }
+        List<BurndownPointDTO> points = new ArrayList<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            while (index < rollups.size() && rollups.get(index).getDay().equals(day)) {
+                completed += rollups.get(index).getCompleted() - rollups.get(index).getReopened();
+                index++;
+            }
+            points.add(new BurndownPointDTO(day, completed, scope - completed));
+        }
+        return new SprintBurndownDTO(sprint.sprintId(), sprint.objective(), sprint.status(), scope, points);
+    }
+
+    private void updateSprintRollups(List<UserStoryStatusTransition> transitions) {
+        Map<SprintDay, long[]> deltas = new HashMap<>();
+        Map<UUID, UUID> projectBySprint = new HashMap<>();
+        for (UserStoryStatusTransition transition : transitions) {
+            // Uma história concluída que troca de sprint sai das concluídas de uma e entra nas da outra
+            UUID doneBefore = transition.getFromStatus() == UserStoryStatus.DONE ? transition.getFromSprintId() : null;
+            UUID doneAfter = transition.getToStatus() == UserStoryStatus.DONE ? transition.getSprintId() : null;
+            if (Objects.equals(doneBefore, doneAfter)) {
+                continue;
+            }
+            LocalDate day = transition.getChangedAt().toLocalDate();
+            if (doneAfter != null) {
+                deltas.computeIfAbsent(new SprintDay(doneAfter, day), key -> new long[2])[0]++;
+                projectBySprint.put(doneAfter, transition.getProjectId());
+            }
+            if (doneBefore != null) {
+                deltas.computeIfAbsent(new SprintDay(doneBefore, day), key -> new long[2])[1]++;
+                projectBySprint.put(doneBefore, transition.getProjectId());
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<LocalDate> days = new HashSet<>();
+        deltas.keySet().forEach(key -> days.add(key.day()));
+        Map<SprintDay, SprintDailyRollup> rollups = new HashMap<>();
+        for (SprintDailyRollup rollup : sprintRollupRepository.findBySprintIdsAndDays(projectBySprint.keySet(), days)) {
+            rollups.put(new SprintDay(rollup.getSprintId(), rollup.getDay()), rollup);
+        }
+
+        deltas.forEach((key, delta) -> {
+            SprintDailyRollup rollup = rollups.computeIfAbsent(key, missing -> {
+                SprintDailyRollup created = new SprintDailyRollup();
+                created.setProjectId(projectBySprint.get(missing.sprintId()));
+                created.setSprintId(missing.sprintId());
+                created.setDay(missing.day());
+                return created;
+            });
+            rollup.setCompleted(rollup.getCompleted() + delta[0]);
+            rollup.setReopened(rollup.getReopened() + delta[1]);
+        });
+        sprintRollupRepository.saveAll(rollups.values());
+    }
+
+    private void updatePriorityRollups(List<UserStoryStatusTransition> transitions) {
+        List<UserStoryStatusTransition> completions = transitions.stream()
+            .filter(transition -> transition.getToStatus() == UserStoryStatus.DONE
+                && transition.getFromStatus() != UserStoryStatus.DONE && transition.getPriority() != null)
+            .toList();
+        if (completions.isEmpty()) {
+            return;
+        }
+
+        // Lê o histórico inteiro, agregado ou não: o início do ciclo pode estar neste mesmo lote
+        Map<UUID, List<UserStoryStatusTransition>> starts = transitionRepository.findCycleStartsByUserStoryIds(
+                completions.stream().map(UserStoryStatusTransition::getUserStoryId).collect(Collectors.toSet()))
+            .stream()
+            .collect(Collectors.groupingBy(UserStoryStatusTransition::getUserStoryId));
+
+        Map<PriorityDay, long[]> deltas = new HashMap<>();
+        for (UserStoryStatusTransition completion : completions) {
+            LocalDateTime start = cycleStart(starts.getOrDefault(completion.getUserStoryId(), List.of()), completion.getChangedAt());
+            if (start == null) {
+                continue;
+            }
+            long[] delta = deltas.computeIfAbsent(
+                new PriorityDay(completion.getProjectId(), completion.getChangedAt().toLocalDate(), completion.getPriority()),
+                key -> new long[2]);
+            delta[0]++;
+            delta[1] += Duration.between(start, completion.getChangedAt()).getSeconds();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> projectIds = new HashSet<>();
+        Set<LocalDate> days = new HashSet<>();
+        deltas.keySet().forEach(key -> {
+            projectIds.add(key.projectId());
+            days.add(key.day());
+        });
+        Map<PriorityDay, PriorityDailyRollup> rollups = new HashMap<>();
+        for (PriorityDailyRollup rollup : priorityRollupRepository.findByProjectIdsAndDays(projectIds, days)) {
+            rollups.put(new PriorityDay(rollup.getProjectId(), rollup.getDay(), rollup.getPriority()), rollup);
+        }
+
+        deltas.forEach((key, delta) -> {
+            PriorityDailyRollup rollup = rollups.computeIfAbsent(key, missing -> {
+                PriorityDailyRollup created = new PriorityDailyRollup();
+                created.setProjectId(missing.projectId());
+                created.setDay(missing.day());
+                created.setPriority(missing.priority());
+                return created;
+            });
+            rollup.setCompleted(rollup.getCompleted() + delta[0]);
+            rollup.setCycleTimeSeconds(rollup.getCycleTimeSeconds() + delta[1]);
+        });
+        priorityRollupRepository.saveAll(rollups.values());
+    }
+
+    // Última entrada em DOING antes da conclusão; sem ela, a criação da história
+    private LocalDateTime cycleStart(List<UserStoryStatusTransition> starts, LocalDateTime completedAt) {
+        LocalDateTime doing = null;
+        LocalDateTime created = null;
+        for (UserStoryStatusTransition transition : starts) {
+            if (transition.getChangedAt().isAfter(completedAt)) {
+                continue;
+            }
+            if (transition.getToStatus() == UserStoryStatus.DOING) {
+                if (doing == null || transition.getChangedAt().isAfter(doing)) {
+                    doing = transition.getChangedAt();
+                }
+            } else if (transition.getFromStatus() == null) {
+                created = transition.getChangedAt();
+            }
+        }
+        return doing != null ? doing : created;
+    }
+}
@@ -0,0 +1,79 @@
+package UnB.UnBacklog.service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import UnB.UnBacklog.dto.ProjectMembershipChangedEvent;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.util.LruCache;
+import UnB.UnBacklog.util.ProjectRole;
+
+@Service
+public class ProjectMembershipService {
+
+    private final ProjectRepository projectRepository;
+    private final LruCache<MembershipKey, Optional<ProjectRole>> cache;
+    // Incrementado a cada invalidação; uma consulta iniciada antes dela não grava no cache
+    private final AtomicLong generation = new AtomicLong();
+
+    private record MembershipKey(UUID projectId, UUID userId) {}
+
+    public ProjectMembershipService(ProjectRepository projectRepository,
+        @Value("${unbacklog.membership-cache.max-size:10000}") int maxSize) {
+        this.projectRepository = projectRepository;
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    public Optional<ProjectRole> getRole(UUID projectId, UUID userId) {
+        MembershipKey key = new MembershipKey(projectId, userId);
+        Optional<ProjectRole> role = cache.get(key);
+        if (role != null) {
+            return role;
+        }
+
+        long startGeneration = generation.get();
+        role = projectRepository.findRoleByProjectIdAndUserId(projectId, userId);
+        if (generation.get() == startGeneration) {
+            cache.put(key, role);
+        }
+        return role;
+    }
+
+    public void requireMember(UUID projectId, UUID userId, String message) throws Exception {
+        if (getRole(projectId, userId).isEmpty()) {
+            throw new Exception(message);
+        }
+    }
+
+    public void requireRole(UUID projectId, UUID userId, ProjectRole role, String message) throws Exception {
+        Optional<ProjectRole> found = getRole(projectId, userId);
+        if (found.isEmpty() || found.get() != role) {
+            throw new Exception(message);
+        }
+    }
+
+    public void evictProject(UUID projectId) {
+        generation.incrementAndGet();
+        cache.removeIf(key -> key.projectId().equals(projectId));
+    }
+
+    public void evict(UUID projectId, UUID userId) {
+        generation.incrementAndGet();
+        cache.remove(new MembershipKey(projectId, userId));
+    }
+
+    // Depois do commit a consulta já vê a linha nova; as iniciadas antes não gravam por causa da geração
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        evict(event.projectId(), event.userId());
+    }
+
+    public LruCache.Stats stats() {
+        return cache.stats();
+    }
+}
@@ -1,16 +1,36 @@
 package UnB.UnBacklog.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import UnB.UnBacklog.controller.ProjectController.Associate;
-import UnB.UnBacklog.dto.ProjectUserDTO;
+import UnB.UnBacklog.controller.ProjectController.UserStoryOperation;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.ProjectMemberDTO;
+import UnB.UnBacklog.dto.SprintSummaryDTO;
+import UnB.UnBacklog.dto.StatusTransitionEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.dto.UserStoryPage;
 import UnB.UnBacklog.entities.Project;
 import UnB.UnBacklog.entities.ProjectUser;
 import UnB.UnBacklog.entities.Sprint;
@@ -20,11 +40,15 @@ import UnB.UnBacklog.repository.ProjectRepository;
 import UnB.UnBacklog.repository.SprintRepository;
 import UnB.UnBacklog.repository.UserRepository;
 import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.repository.UserStoryRepositoryCustom;
 import UnB.UnBacklog.service.ProjectService.ProjectResponse;
 import UnB.UnBacklog.service.ProjectService.UserSummary;
+import UnB.UnBacklog.util.ETags;
 import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.RankKeys;
 import UnB.UnBacklog.util.SprintStatus;
 import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
 import UnB.UnBacklog.util.UserStoryStatus;
 import UnB.UnBacklog.util.Utils;
 
@@ -36,6 +60,12 @@ public class ProjectService {
     private UserRepository userRepository;
     private Utils utils; 
     private SprintRepository sprintRepository; 
+    private ProjectMembershipService projectMembershipService;
+    private ApplicationEventPublisher eventPublisher;
+    private RankRebalancer rankRebalancer;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     public record ProjectResponse(
     UUID id,
@@ -51,32 +81,36 @@ public class ProjectService {
         ProjectRole role
     ) {}
 
-    public ProjectService(ProjectRepository projectRepository, Utils utils, UserRepository userRepository, UserStoryRepository userStoryRepository, SprintRepository sprintRepository){
+    public record BatchItemResult(
+        int index,
+        UUID userStoryId,
+        boolean success,
+        String message
+    ) {}
+
+    public ProjectService(ProjectRepository projectRepository, Utils utils, UserRepository userRepository, UserStoryRepository userStoryRepository, SprintRepository sprintRepository, ProjectMembershipService projectMembershipService, ApplicationEventPublisher eventPublisher, RankRebalancer rankRebalancer){
         this.projectRepository = projectRepository;
         this.utils = utils;
         this.userRepository = userRepository; 
         this.userStoryRepository = userStoryRepository;
         this.sprintRepository = sprintRepository; 
+        this.projectMembershipService = projectMembershipService;
+        this.eventPublisher = eventPublisher;
+        this.rankRebalancer = rankRebalancer;
     }
 
     public List<ProjectResponse> getProjects(String token){
         UUID userId = utils.getUserIdByToken(token);
-        List<Project> projects =  userRepository.findProjectsByUserId(userId); 
-        return projects.stream().map(project -> {
-            List<UserSummary> users = project.getProjectUsers().stream()
-                .map(projectUser -> {
-                    User user = projectUser.getUser();
-                    return new UserSummary(user.getName(), user.getEmail(), user.getUserId(), projectUser.getRole());
-                })
-                .toList();
-
-            return new ProjectResponse(
-                project.getProjectId(),
-                project.getName(),
-                project.getDescription(),
-                users
-            );
-        }).toList();
+        Map<UUID, ProjectResponse> projects = new LinkedHashMap<>();
+        for (ProjectMemberDTO member : userRepository.findProjectMembersByUserId(userId)) {
+            projects.computeIfAbsent(member.projectId(), id -> new ProjectResponse(
+                member.projectId(),
+                member.projectName(),
+                member.projectDescription(),
+                new ArrayList<>()
+            )).users().add(new UserSummary(member.userName(), member.email(), member.userId(), member.role()));
+        }
+        return List.copyOf(projects.values());
 
     }
 
@@ -107,6 +141,7 @@ public class ProjectService {
             project.getProjectUsers().add(associateRelation);
         }
         projectRepository.save(project);
+        projectMembershipService.evictProject(project.getProjectId());
     }
 
     public String createUserStory(String token, String title, String description, UserStoryPriority priority, UserStoryStatus status, String projectId) throws Exception{
@@ -115,13 +150,7 @@ public class ProjectService {
         Project project = projectRepository.findById(projectUUID)
             .orElseThrow(() -> new BadCredentialsException("Project not found")); 
 
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream().filter(projecUser -> projecUser.getUserId().equals(userId)).findFirst(); 
-
-        if(foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER){
-            throw new Exception("Only Product Owners can create user stories");
-
-        }
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can create user stories");
 
         UserStory userStory = new UserStory();
         userStory.setTitle(title);
@@ -129,22 +158,95 @@ public class ProjectService {
         userStory.setPriority(priority);
         userStory.setProject(project);
         userStory.setStatus(status);
+        // Entra no fim do backlog
+        userStory.setRank(RankKeys.after(userStoryRepository.findMaxRankByProjectId(projectUUID)));
         UserStory savedUsedStory = userStoryRepository.save(userStory); 
+        eventPublisher.publishEvent(BoardEvent.userStoryCreated(projectUUID, userId, savedUsedStory));
+        if (savedUsedStory.getStatus() != null) {
+            eventPublisher.publishEvent(StatusTransitionEvent.of(savedUsedStory, null, userId));
+        }
 
         return savedUsedStory.getId().toString();
     }
 
+    /**
+     * ETag do board (histórias e sprints do projeto) calculada só com as colunas de versão,
+     * para responder 304 sem carregar as entidades. Calculada antes da leitura do corpo: uma
+     * escrita entre as duas consultas só faz o cliente baixar o board de novo.
+     */
+    public String getBoardETag(String token, String projectId) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
+        return ETags.of(
+            userStoryRepository.findVersionsByProjectId(projectUUID),
+            sprintRepository.findVersionsByProjectId(projectUUID)
+        );
+    }
+
     public List<UserStory> getUserStory(String token, String projectId) throws Exception{
         UUID userId = utils.getUserIdByToken(token);
         UUID projectUUID = UUID.fromString(projectId);
         Project project = projectRepository.findById(projectUUID)
             .orElseThrow(() -> new BadCredentialsException("Project not found"));
-        boolean hasUser = project.getProjectUsers().stream().anyMatch(projectUser -> projectUser.getUser().getUserId().equals(userId));
-        if(!hasUser){
-            throw new Exception("Not allowed");
-        }
+        projectMembershipService.requireMember(projectUUID, userId, "Not allowed");
         return project.getUserStories(); 
     }
+
+    public UserStoryPage listUserStories(
+        String token,
+        String projectId,
+        UserStoryStatus status,
+        UserStoryPriority priority,
+        String sprintId,
+        UserStorySort sort,
+        Sort.Direction direction,
+        String cursor,
+        Integer limit
+    ) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "Not allowed");
+
+        if (sort == null) sort = UserStorySort.PRIORITY;
+        if (direction == null) direction = Sort.Direction.ASC;
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // sprintId=none lista apenas as histórias que ainda estão no backlog
+        boolean backlogOnly = "none".equalsIgnoreCase(sprintId);
+        UUID sprintUUID = sprintId == null || backlogOnly ? null : UUID.fromString(sprintId);
+        UserStoryRepositoryCustom.Filter filter = new UserStoryRepositoryCustom.Filter(status, priority, sprintUUID, backlogOnly);
+
+        UserStoryRepositoryCustom.Keyset after = cursor == null ? null : decodeCursor(cursor, sort, direction);
+
+        // Busca um item a mais para saber se existe próxima página
+        List<UserStoryDTO> rows = userStoryRepository.findPage(projectUUID, filter, sort, direction, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new UserStoryPage(rows, null);
+        }
+
+        List<UserStoryDTO> items = rows.subList(0, pageSize);
+        UserStoryDTO last = items.get(items.size() - 1);
+        return new UserStoryPage(List.copyOf(items), encodeCursor(sort, direction, sort.keyOf(last), last.id()));
+    }
+
+    private String encodeCursor(UserStorySort sort, Sort.Direction direction, String sortKey, UUID id) {
+        String raw = sort.name() + ":" + direction.name() + ":" + id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UserStoryRepositoryCustom.Keyset decodeCursor(String cursor, UserStorySort sort, Sort.Direction direction) throws Exception {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":", 4);
+        } catch (IllegalArgumentException e) {
+            throw new Exception("Invalid cursor");
+        }
+        if (parts.length != 4 || !parts[0].equals(sort.name()) || !parts[1].equals(direction.name())) {
+            throw new Exception("Cursor does not match the requested sort");
+        }
+        return new UserStoryRepositoryCustom.Keyset(parts[3], UUID.fromString(parts[2]));
+    }
     public UserStory updateUserStory(
         String token, 
         String projectId, 
@@ -153,54 +255,55 @@ public class ProjectService {
         String description, 
         UserStoryPriority priority, 
         UserStoryStatus status,
-        String sprintId
+        String sprintId,
+        String ifMatch
     ) throws Exception {
 
         UUID userId = utils.getUserIdByToken(token);
         UUID projectUUID = UUID.fromString(projectId);
         UUID userStoryUUID = UUID.fromString(userStoryId);
-        UUID sprintUUID = UUID.fromString(sprintId);
-
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(projectUser -> projectUser.getUserId().equals(userId))
-            .findFirst(); 
 
-        if (foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER) {
-            throw new Exception("Only Product Owners can update user stories");
-        }
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can update user stories");
         UserStory userStory = userStoryRepository.findById(userStoryUUID)
             .orElseThrow(() -> new BadCredentialsException("User Story not found"));
 
         if (!userStory.getProject().getProjectId().equals(projectUUID)) {
             throw new Exception("User Story does not belong to this project");
         }
+        if (!ETags.matches(ifMatch, userStory.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(UserStory.class, userStoryUUID);
+        }
 
+        UserStoryStatus previousStatus = userStory.getStatus();
+        UUID previousSprintId = sprintIdOf(userStory);
         if (title != null) userStory.setTitle(title);
         if (description != null) userStory.setDescription(description);
         if (priority != null) userStory.setPriority(priority);
         if (status != null) userStory.setStatus(status);
         if (sprintId != null){
-            Sprint sprint = sprintRepository.findById(sprintUUID)
+            Sprint sprint = sprintRepository.findById(UUID.fromString(sprintId))
              .orElseThrow(() -> new BadCredentialsException("Sprint not Found"));
             userStory.setSprint(sprint);
         }
 
-        return userStoryRepository.save(userStory);
+        UserStory savedUserStory = userStoryRepository.save(userStory);
+        eventPublisher.publishEvent(BoardEvent.userStoryUpdated(projectUUID, userId, savedUserStory));
+        publishTransition(savedUserStory, previousStatus, previousSprintId, userId);
+        return savedUserStory;
     }
 
-    public void deleteUserStory(String token, String projectId, String userStoryId) throws Exception{
+    /**
+     * Move a história para entre afterId e beforeId, como o cliente os vê; um deles nulo é o
+     * topo ou o fim do backlog. Só a chave da história muda, então a operação é um UPDATE.
+     */
+    public UserStory reorderUserStory(String token, String projectId, String userStoryId, String afterId, String beforeId, String ifMatch) throws Exception {
         UUID userId = utils.getUserIdByToken(token);
         UUID projectUUID = UUID.fromString(projectId);
         UUID userStoryUUID = UUID.fromString(userStoryId);
-        
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(projectUser -> projectUser.getUserId().equals(userId))
-            .findFirst(); 
 
-        if (foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER) {
-            throw new Exception("Only Product Owners can update user stories");
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can update user stories");
+        if (afterId == null && beforeId == null) {
+            throw new Exception("afterId or beforeId is required");
         }
         UserStory userStory = userStoryRepository.findById(userStoryUUID)
             .orElseThrow(() -> new BadCredentialsException("User Story not found"));
@@ -208,11 +311,247 @@ public class ProjectService {
         if (!userStory.getProject().getProjectId().equals(projectUUID)) {
             throw new Exception("User Story does not belong to this project");
         }
+        if (!ETags.matches(ifMatch, userStory.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(UserStory.class, userStoryUUID);
+        }
+
+        UUID afterUUID = afterId == null ? null : UUID.fromString(afterId);
+        UUID beforeUUID = beforeId == null ? null : UUID.fromString(beforeId);
+        if (userStoryUUID.equals(afterUUID) || userStoryUUID.equals(beforeUUID)) {
+            throw new Exception("A User Story cannot be placed next to itself");
+        }
+        Map<UUID, String> ranks = new HashMap<>();
+        List<UUID> neighbours = new ArrayList<>();
+        if (afterUUID != null) neighbours.add(afterUUID);
+        if (beforeUUID != null) neighbours.add(beforeUUID);
+        for (UserStoryDTO neighbour : userStoryRepository.findDTOsByProjectIdAndIds(projectUUID, neighbours)) {
+            ranks.put(neighbour.id(), neighbour.rank());
+        }
+        if (ranks.size() != neighbours.size()) {
+            throw new BadCredentialsException("User Story not found");
+        }
+
+        String lower = afterUUID == null ? null : ranks.get(afterUUID);
+        String upper = beforeUUID == null ? null : ranks.get(beforeUUID);
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            // Chaves repetidas (criações simultâneas) ou vizinhos fora de ordem: renumera o backlog
+            rankRebalancer.request(projectUUID);
+            throw new Exception("Backlog order changed, reload and try again");
+        }
+
+        userStory.setRank(RankKeys.between(lower, upper));
+        UserStory savedUserStory = userStoryRepository.save(userStory);
+        rankRebalancer.check(projectUUID, savedUserStory.getRank());
+        eventPublisher.publishEvent(BoardEvent.userStoryUpdated(projectUUID, userId, savedUserStory));
+        return savedUserStory;
+    }
+
+    public void deleteUserStory(String token, String projectId, String userStoryId, String ifMatch) throws Exception{
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        UUID userStoryUUID = UUID.fromString(userStoryId);
+        
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can update user stories");
+        UserStory userStory = userStoryRepository.findById(userStoryUUID)
+            .orElseThrow(() -> new BadCredentialsException("User Story not found"));
+
+        if (!userStory.getProject().getProjectId().equals(projectUUID)) {
+            throw new Exception("User Story does not belong to this project");
+        }
+        if (!ETags.matches(ifMatch, userStory.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(UserStory.class, userStoryUUID);
+        }
 
         userStoryRepository.delete(userStory);
+        eventPublisher.publishEvent(BoardEvent.userStoryDeleted(projectUUID, userId, userStoryUUID));
+        publishRemoval(userStory, userId);
 
     }
 
+    @Transactional
+    public List<BatchItemResult> batchUserStories(String token, String projectId, List<UserStoryOperation> operations) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can update user stories");
+        if (operations == null || operations.isEmpty()) {
+            return List.of();
+        }
+
+        // Carrega todas as histórias e sprints referenciadas com uma consulta IN cada
+        Set<UUID> userStoryIds = new HashSet<>();
+        Set<UUID> sprintIds = new HashSet<>();
+        for (UserStoryOperation operation : operations) {
+            if (operation == null) continue;
+            parseOptionalUUID(operation.userStoryId()).ifPresent(userStoryIds::add);
+            parseOptionalUUID(operation.sprintId()).ifPresent(sprintIds::add);
+        }
+        Map<UUID, UserStory> userStories = new HashMap<>();
+        for (UserStory userStory : userStoryRepository.findAllById(userStoryIds)) {
+            if (userStory.getProject().getProjectId().equals(projectUUID)) {
+                userStories.put(userStory.getId(), userStory);
+            }
+        }
+        Map<UUID, Sprint> sprints = new HashMap<>();
+        for (Sprint sprint : sprintRepository.findAllById(sprintIds)) {
+            if (sprint.getProject().getProjectId().equals(projectUUID)) {
+                sprints.put(sprint.getSprintId(), sprint);
+            }
+        }
+
+        Project project = projectRepository.getReferenceById(projectUUID);
+        String lastRank = null;
+        boolean lastRankLoaded = false;
+        List<BatchItemResult> results = new ArrayList<>();
+        List<UserStory> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        List<UserStory> deleted = new ArrayList<>();
+        Set<UserStory> updated = new LinkedHashSet<>();
+
+        for (int index = 0; index < operations.size(); index++) {
+            UserStoryOperation operation = operations.get(index);
+            try {
+                if (operation == null || operation.type() == null) {
+                    throw new Exception("Operation type is required");
+                }
+                switch (operation.type()) {
+                    case CREATE -> {
+                        UserStory userStory = new UserStory();
+                        userStory.setTitle(operation.title());
+                        userStory.setDescription(operation.description());
+                        userStory.setPriority(operation.priority());
+                        userStory.setStatus(operation.status());
+                        userStory.setProject(project);
+                        if (operation.sprintId() != null) {
+                            userStory.setSprint(findBatchSprint(sprints, operation.sprintId()));
+                        }
+                        // As novas histórias entram no fim do backlog, na ordem do lote
+                        if (!lastRankLoaded) {
+                            lastRank = userStoryRepository.findMaxRankByProjectId(projectUUID);
+                            lastRankLoaded = true;
+                        }
+                        lastRank = RankKeys.after(lastRank);
+                        userStory.setRank(lastRank);
+                        created.add(userStory);
+                        createdIndexes.add(results.size());
+                        results.add(null);
+                    }
+                    case UPDATE -> {
+                        UserStory userStory = findBatchUserStory(userStories, operation.userStoryId());
+                        UserStoryStatus previousStatus = userStory.getStatus();
+                        UUID previousSprintId = sprintIdOf(userStory);
+                        if (operation.title() != null) userStory.setTitle(operation.title());
+                        if (operation.description() != null) userStory.setDescription(operation.description());
+                        if (operation.priority() != null) userStory.setPriority(operation.priority());
+                        if (operation.status() != null) userStory.setStatus(operation.status());
+                        if (operation.sprintId() != null) userStory.setSprint(findBatchSprint(sprints, operation.sprintId()));
+                        updated.add(userStory);
+                        publishTransition(userStory, previousStatus, previousSprintId, userId);
+                        results.add(new BatchItemResult(index, userStory.getId(), true, null));
+                    }
+                    case ASSIGN_SPRINT -> {
+                        // sprintId nulo devolve a história para o backlog
+                        UserStory userStory = findBatchUserStory(userStories, operation.userStoryId());
+                        UUID previousSprintId = sprintIdOf(userStory);
+                        userStory.setSprint(operation.sprintId() == null ? null : findBatchSprint(sprints, operation.sprintId()));
+                        eventPublisher.publishEvent(BoardEvent.userStoryMoved(projectUUID, userId, userStory.getId(),
+                            sprintIdOf(userStory)));
+                        publishTransition(userStory, userStory.getStatus(), previousSprintId, userId);
+                        results.add(new BatchItemResult(index, userStory.getId(), true, null));
+                    }
+                    case DELETE -> {
+                        UserStory userStory = findBatchUserStory(userStories, operation.userStoryId());
+                        userStories.remove(userStory.getId());
+                        deleted.add(userStory);
+                        eventPublisher.publishEvent(BoardEvent.userStoryDeleted(projectUUID, userId, userStory.getId()));
+                        publishRemoval(userStory, userId);
+                        results.add(new BatchItemResult(index, userStory.getId(), true, null));
+                    }
+                }
+            } catch (Exception e) {
+                results.add(new BatchItemResult(index, null, false, e.getMessage()));
+            }
+        }
+
+        // As alterações em entidades gerenciadas e as inserções saem em lotes JDBC no commit
+        List<UserStory> saved = userStoryRepository.saveAll(created);
+        for (int i = 0; i < saved.size(); i++) {
+            int resultIndex = createdIndexes.get(i);
+            results.set(resultIndex, new BatchItemResult(resultIndex, saved.get(i).getId(), true, null));
+            eventPublisher.publishEvent(BoardEvent.userStoryCreated(projectUUID, userId, saved.get(i)));
+            if (saved.get(i).getStatus() != null) {
+                eventPublisher.publishEvent(StatusTransitionEvent.of(saved.get(i), null, userId));
+            }
+        }
+        // Remoção lógica: um UPDATE por história, enviados em lote junto com os demais
+        if (!deleted.isEmpty()) {
+            userStoryRepository.deleteAll(deleted);
+        }
+        // Depois do flush a versão das histórias alteradas já foi incrementada e vai correta no evento
+        userStoryRepository.flush();
+        for (UserStory userStory : updated) {
+            if (userStories.containsKey(userStory.getId())) {
+                eventPublisher.publishEvent(BoardEvent.userStoryUpdated(projectUUID, userId, userStory));
+            }
+        }
+
+        // Os eventos publicados acima só são entregues se a transação for confirmada
+        return results;
+    }
+
+    private UserStory findBatchUserStory(Map<UUID, UserStory> userStories, String userStoryId) throws Exception {
+        if (userStoryId == null) {
+            throw new Exception("userStoryId is required");
+        }
+        UserStory userStory = userStories.get(UUID.fromString(userStoryId));
+        if (userStory == null) {
+            throw new Exception("User Story not found");
+        }
+        return userStory;
+    }
+
+    private Sprint findBatchSprint(Map<UUID, Sprint> sprints, String sprintId) throws Exception {
+        Sprint sprint = sprints.get(UUID.fromString(sprintId));
+        if (sprint == null) {
+            throw new Exception("Sprint not found");
+        }
+        return sprint;
+    }
+
+    // Mudanças de sprint também entram no histórico: o burndown desconta as concluídas que saem da sprint
+    private void publishTransition(UserStory userStory, UserStoryStatus previousStatus, UUID previousSprintId, UUID userId) {
+        if (userStory.getStatus() == null) {
+            return;
+        }
+        if (previousStatus == null) {
+            eventPublisher.publishEvent(StatusTransitionEvent.of(userStory, null, userId));
+        } else if (userStory.getStatus() != previousStatus || !Objects.equals(sprintIdOf(userStory), previousSprintId)) {
+            eventPublisher.publishEvent(StatusTransitionEvent.of(userStory, previousStatus, previousSprintId, userId));
+        }
+    }
+
+    private void publishRemoval(UserStory userStory, UUID userId) {
+        if (userStory.getStatus() != null && userStory.getSprint() != null) {
+            eventPublisher.publishEvent(StatusTransitionEvent.removed(userStory, userId));
+        }
+    }
+
+    private static UUID sprintIdOf(UserStory userStory) {
+        return userStory.getSprint() == null ? null : userStory.getSprint().getSprintId();
+    }
+
+    private Optional<UUID> parseOptionalUUID(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Transactional
     public Sprint createSprint(
         String token, 
         String projectId, 
@@ -227,14 +566,7 @@ public class ProjectService {
         Project project = projectRepository.findById(projectUUID)
             .orElseThrow(() -> new BadCredentialsException("Project not found"));
 
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(projectUser -> projectUser.getUserId().equals(userId))
-            .findFirst(); 
-
-        if (foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER) {
-            throw new Exception("Only Product Owners can create sprints");
-        }
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can create sprints");
 
         if (startDate == null || finishDate == null) {
             status = SprintStatus.PLANNED;
@@ -252,15 +584,7 @@ public class ProjectService {
         }
 
         if (status == SprintStatus.ACTIVE) {
-            Optional<Sprint> activeSprint = project.getSprints().stream()
-                .filter(sprint -> sprint.getStatus() == SprintStatus.ACTIVE)
-                .findFirst();
-
-            if (activeSprint.isPresent()) {
-                Sprint existing = activeSprint.get();
-                existing.setStatus(SprintStatus.COMPLETED);
-                sprintRepository.save(existing);
-            }
+            completeActiveSprint(projectUUID, userId, null);
         }
 
         Sprint newSprint = new Sprint();
@@ -270,7 +594,9 @@ public class ProjectService {
         newSprint.setFinishDate(finishDate);
         newSprint.setStatus(status);
 
-        return sprintRepository.save(newSprint);
+        Sprint savedSprint = sprintRepository.save(newSprint);
+        eventPublisher.publishEvent(BoardEvent.sprintCreated(projectUUID, userId, savedSprint));
+        return savedSprint;
     }
 
     public List<Sprint> getSprints(String token, String projectId) throws Exception{
@@ -279,18 +605,12 @@ public class ProjectService {
         Project project = projectRepository.findById(projectUUID)
             .orElseThrow(() -> new BadCredentialsException("Project not found"));
 
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(projectUser -> projectUser.getUserId().equals(userId))
-            .findFirst(); 
-
-        if (foundUser.isEmpty()) {
-            throw new Exception("User not part of project");
-        }
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
         return project.getSprints(); 
 
     }
 
+    @Transactional
     public Sprint updateSprint(
         String token,
         String projectId,
@@ -298,21 +618,15 @@ public class ProjectService {
         String objective,
         LocalDateTime startDate,
         LocalDateTime finishDate,
-        SprintStatus status
+        SprintStatus status,
+        String ifMatch
     ) throws Exception {
         UUID userId = utils.getUserIdByToken(token);
         UUID projectUUID = UUID.fromString(projectId);
         UUID sprintUUID = UUID.fromString(sprintId);
 
         // Verifica se o usuário é Product Owner
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(p -> p.getUserId().equals(userId))
-            .findFirst();
-
-        if (foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER) {
-            throw new Exception("Only Product Owners can update sprints");
-        }
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can update sprints");
 
         Sprint sprint = sprintRepository.findById(sprintUUID)
             .orElseThrow(() -> new BadCredentialsException("Sprint not found"));
@@ -320,6 +634,9 @@ public class ProjectService {
         if (!sprint.getProject().getProjectId().equals(projectUUID)) {
             throw new Exception("Sprint does not belong to this project");
         }
+        if (!ETags.matches(ifMatch, sprint.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Sprint.class, sprintUUID);
+        }
 
         // Atualizações simples
         if (objective != null) sprint.setObjective(objective);
@@ -328,37 +645,44 @@ public class ProjectService {
 
         // Caso o status seja alterado para ACTIVE
         if (status == SprintStatus.ACTIVE && sprint.getStatus() != SprintStatus.ACTIVE) {
-            // Desativa qualquer outra sprint ativa
-            List<Sprint> sprints = sprint.getProject().getSprints();
-            for (Sprint s : sprints) {
-                if (!s.getSprintId().equals(sprint.getSprintId()) && s.getStatus() == SprintStatus.ACTIVE) {
-                    s.setStatus(SprintStatus.COMPLETED);
-                    sprintRepository.save(s);
-                }
-            }
+            // Desativa qualquer outra sprint ativa antes de ativar esta
+            completeActiveSprint(projectUUID, userId, sprintUUID);
             sprint.setStatus(SprintStatus.ACTIVE);
         } 
         else if (status != null) {
             sprint.setStatus(status);
         }
 
-        return sprintRepository.save(sprint);
+        // Flush antes do evento, para que ele leve a versão nova
+        Sprint savedSprint = sprintRepository.saveAndFlush(sprint);
+        eventPublisher.publishEvent(BoardEvent.sprintUpdated(projectUUID, userId, savedSprint));
+        return savedSprint;
     }
 
-    public void deleteSprint(String token, String projectId, String sprintId) throws Exception {
+    /**
+     * Conclui a sprint ativa do projeto com um único UPDATE. Deve rodar antes de marcar a nova
+     * sprint como ACTIVE: se outra ativação concorrente vencer, o índice único de
+     * active_project_id faz o commit desta falhar em vez de deixar duas sprints ativas.
+     */
+    private void completeActiveSprint(UUID projectUUID, UUID userId, UUID exceptSprintId) {
+        for (SprintSummaryDTO active : sprintRepository.findSummariesByProjectIdAndStatus(projectUUID, SprintStatus.ACTIVE)) {
+            if (!active.sprintId().equals(exceptSprintId)) {
+                eventPublisher.publishEvent(BoardEvent.sprintUpdated(projectUUID, userId, new SprintSummaryDTO(
+                    active.sprintId(), active.objective(), active.startDate(), active.finishDate(),
+                    SprintStatus.COMPLETED, active.version() + 1)));
+            }
+        }
+        sprintRepository.completeActiveSprints(projectUUID, exceptSprintId);
+    }
+
+    @Transactional
+    public void deleteSprint(String token, String projectId, String sprintId, String ifMatch) throws Exception {
         UUID userId = utils.getUserIdByToken(token);
         UUID projectUUID = UUID.fromString(projectId);
         UUID sprintUUID = UUID.fromString(sprintId);
 
         // Verifica se o usuário é Product Owner
-        List<ProjectUserDTO> projectUsers = projectRepository.findUsersWithRolesByProjectId(projectUUID);
-        Optional<ProjectUserDTO> foundUser = projectUsers.stream()
-            .filter(p -> p.getUserId().equals(userId))
-            .findFirst();
-
-        if (foundUser.isEmpty() || foundUser.get().getRole() != ProjectRole.PRODUCT_OWNER) {
-            throw new Exception("Only Product Owners can delete sprints");
-        }
+        projectMembershipService.requireRole(projectUUID, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners can delete sprints");
 
         Sprint sprint = sprintRepository.findById(sprintUUID)
             .orElseThrow(() -> new BadCredentialsException("Sprint not found"));
@@ -367,10 +691,16 @@ public class ProjectService {
             throw new Exception("Sprint does not belong to this project");
         }
 
+        if (!ETags.matches(ifMatch, sprint.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Sprint.class, sprintUUID);
+        }
         if (sprint.getStatus() != SprintStatus.PLANNED) {
             throw new Exception("Only planned sprints can be deleted");
         }
 
+        // Um UPDATE para as histórias da sprint e outro para a própria sprint, sem cascata linha a linha
+        userStoryRepository.softDeleteBySprintId(sprintUUID, LocalDateTime.now());
         sprintRepository.delete(sprint);
+        eventPublisher.publishEvent(BoardEvent.sprintDeleted(projectUUID, userId, sprintUUID));
     }
 }   
\ No newline at end of file
@@ -0,0 +1,127 @@
+package UnB.UnBacklog.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.PriorityCountDTO;
+import UnB.UnBacklog.dto.ProjectSummaryDTO;
+import UnB.UnBacklog.dto.SprintCountDTO;
+import UnB.UnBacklog.dto.StatusCountDTO;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.LruCache;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+@Service
+public class ProjectSummaryService {
+
+    private final UserStoryRepository userStoryRepository;
+    private final SprintRepository sprintRepository;
+    private final ProjectMembershipService projectMembershipService;
+    private final Utils utils;
+    private final long ttlNanos;
+    private final LruCache<UUID, CachedSummary> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    private record CachedSummary(ProjectSummaryDTO summary, long expiresAt) {}
+
+    public ProjectSummaryService(
+        UserStoryRepository userStoryRepository,
+        SprintRepository sprintRepository,
+        ProjectMembershipService projectMembershipService,
+        Utils utils,
+        @Value("${unbacklog.summary-cache.ttl-ms:5000}") long ttlMillis,
+        @Value("${unbacklog.summary-cache.max-size:1000}") int maxSize
+    ) {
+        this.userStoryRepository = userStoryRepository;
+        this.sprintRepository = sprintRepository;
+        this.projectMembershipService = projectMembershipService;
+        this.utils = utils;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.cache = new LruCache<>(maxSize);
+    }
+
+    public ProjectSummaryDTO getSummary(String token, String projectId) throws Exception {
+        UUID userId = utils.getUserIdByToken(token);
+        UUID projectUUID = UUID.fromString(projectId);
+        projectMembershipService.requireMember(projectUUID, userId, "User not part of project");
+
+        CachedSummary cached = cache.get(projectUUID);
+        if (cached != null && System.nanoTime() - cached.expiresAt() < 0) {
+            return cached.summary();
+        }
+
+        long startGeneration = generation.get();
+        ProjectSummaryDTO summary = load(projectUUID);
+        if (generation.get() == startGeneration) {
+            cache.put(projectUUID, new CachedSummary(summary, System.nanoTime() + ttlNanos));
+        }
+        return summary;
+    }
+
+    public void evict(UUID projectId) {
+        generation.incrementAndGet();
+        cache.remove(projectId);
+    }
+
+    // Antes dos demais listeners: quem recebe o evento e recarrega o resumo já vê o valor novo
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardEvent(BoardEvent event) {
+        evict(event.projectId());
+    }
+
+    public LruCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private ProjectSummaryDTO load(UUID projectId) {
+        Map<UserStoryStatus, Long> byStatus = new EnumMap<>(UserStoryStatus.class);
+        for (UserStoryStatus status : UserStoryStatus.values()) byStatus.put(status, 0L);
+        long total = 0;
+        for (StatusCountDTO row : userStoryRepository.countByStatus(projectId)) {
+            total += row.count();
+            if (row.status() != null) byStatus.put(row.status(), row.count());
+        }
+
+        Map<UserStoryPriority, Long> byPriority = new EnumMap<>(UserStoryPriority.class);
+        for (UserStoryPriority priority : UserStoryPriority.values()) byPriority.put(priority, 0L);
+        for (PriorityCountDTO row : userStoryRepository.countByPriority(projectId)) {
+            if (row.priority() != null) byPriority.put(row.priority(), row.count());
+        }
+
+        // Histórias sem sprint aparecem agrupadas com sprintId nulo
+        long backlog = 0;
+        List<SprintCountDTO> bySprint = new ArrayList<>();
+        for (SprintCountDTO row : userStoryRepository.countBySprint(projectId)) {
+            if (row.sprintId() == null) {
+                backlog = row.count();
+            } else {
+                bySprint.add(row);
+            }
+        }
+
+        return new ProjectSummaryDTO(
+            total,
+            backlog,
+            byStatus,
+            byPriority,
+            bySprint,
+            sprintRepository.findSummariesByProjectIdAndStatus(projectId, SprintStatus.ACTIVE).stream().findFirst().orElse(null)
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package UnB.UnBacklog.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import UnB.UnBacklog.config.RequestQueryMetrics;
+
+@Service
+public class QueryMetricsService {
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsService.class);
+
+    private final long slowRequestNanos;
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    public record EndpointSnapshot(
+        long requests,
+        long statements,
+        long entityLoads,
+        double avgStatements,
+        long maxStatements,
+        double avgJdbcMillis,
+        double avgTotalMillis,
+        long slowRequests
+    ) {}
+
+    private static final class EndpointMetrics {
+        final LongAdder requests = new LongAdder();
+        final LongAdder statements = new LongAdder();
+        final LongAdder entityLoads = new LongAdder();
+        final LongAdder jdbcNanos = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder slowRequests = new LongAdder();
+        final LongAccumulator maxStatements = new LongAccumulator(Long::max, 0);
+    }
+
+    public QueryMetricsService(@Value("${unbacklog.metrics.slow-request-ms:500}") long slowRequestMillis) {
+        this.slowRequestNanos = slowRequestMillis * 1_000_000L;
+    }
+
+    public void record(String endpoint, RequestQueryMetrics metrics, long totalNanos) {
+        EndpointMetrics endpointMetrics = endpoints.computeIfAbsent(endpoint, key -> new EndpointMetrics());
+        endpointMetrics.requests.increment();
+        endpointMetrics.statements.add(metrics.getStatements());
+        endpointMetrics.entityLoads.add(metrics.getEntityLoads());
+        endpointMetrics.jdbcNanos.add(metrics.getJdbcNanos());
+        endpointMetrics.totalNanos.add(totalNanos);
+        endpointMetrics.maxStatements.accumulate(metrics.getStatements());
+
+        if (totalNanos >= slowRequestNanos) {
+            endpointMetrics.slowRequests.increment();
+            log.warn("Slow request {} took {} ms: {} statements ({} batched), {} ms in JDBC, {} entities loaded\n{}",
+                endpoint,
+                totalNanos / 1_000_000,
+                metrics.getStatements(),
+                metrics.getBatches(),
+                metrics.getJdbcNanos() / 1_000_000,
+                metrics.getEntityLoads(),
+                breakdown(metrics));
+        }
+    }
+
+    public Map<String, EndpointSnapshot> snapshot() {
+        Map<String, EndpointSnapshot> snapshot = new TreeMap<>();
+        endpoints.forEach((endpoint, metrics) -> {
+            long requests = Math.max(1, metrics.requests.sum());
+            snapshot.put(endpoint, new EndpointSnapshot(
+                metrics.requests.sum(),
+                metrics.statements.sum(),
+                metrics.entityLoads.sum(),
+                (double) metrics.statements.sum() / requests,
+                metrics.maxStatements.get(),
+                metrics.jdbcNanos.sum() / 1_000_000.0 / requests,
+                metrics.totalNanos.sum() / 1_000_000.0 / requests,
+                metrics.slowRequests.sum()
+            ));
+        });
+        return snapshot;
+    }
+
+    private String breakdown(RequestQueryMetrics metrics) {
+        return metrics.getBySql().entrySet().stream()
+            .map(entry -> String.format("  %dx %.1f ms  %s",
+                entry.getValue().getExecutions(),
+                entry.getValue().getNanos() / 1_000_000.0,
+                abbreviate(entry.getKey())))
+            .collect(Collectors.joining("\n"));
+    }
+
+    private String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ");
+        return singleLine.length() > 200 ? singleLine.substring(0, 200) + "..." : singleLine;
+    }
+}
@@ -0,0 +1,123 @@
+package UnB.UnBacklog.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.dto.VersionDTO;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.JdbcUuids;
+import UnB.UnBacklog.util.RankKeys;
+
+/**
+ * Renumera a ordem do backlog fora da requisição. Mover sempre para o mesmo ponto alonga as
+ * chaves (cerca de um dígito a cada cinco movimentos) e criações simultâneas podem repetir uma
+ * chave; os projetos marcados recebem chaves curtas e igualmente espaçadas, na ordem atual.
+ * A versão das histórias sobe para que a ETag do board mude e os clientes releiam as chaves.
+ */
+@Service
+public class RankRebalancer {
+    private static final Logger log = LoggerFactory.getLogger(RankRebalancer.class);
+    private static final int BATCH_SIZE = 500;
+    // Só grava se a história não mudou desde a leitura: um movimento confirmado no meio não é desfeito
+    private static final String UPDATE = "UPDATE user_story SET rank_key = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final UserStoryRepository userStoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoardReadModelService boardReadModelService;
+    private final int maxLength;
+    private final Set<UUID> requested = ConcurrentHashMap.newKeySet();
+    private final LongAdder rebalanced = new LongAdder();
+
+    private record Row(UUID id, long version, String rank) {}
+
+    public record Stats(int pending, long rebalanced) {}
+
+    public RankRebalancer(
+        UserStoryRepository userStoryRepository,
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        BoardReadModelService boardReadModelService,
+        @Value("${unbacklog.rank.max-length:48}") int maxLength
+    ) {
+        this.userStoryRepository = userStoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.boardReadModelService = boardReadModelService;
+        this.maxLength = maxLength;
+    }
+
+    // Marca o projeto se a chave recém-gravada passou do tamanho máximo
+    public void check(UUID projectId, String rank) {
+        if (rank.length() > maxLength) {
+            request(projectId);
+        }
+    }
+
+    public void request(UUID projectId) {
+        requested.add(projectId);
+    }
+
+    @Scheduled(fixedDelayString = "${unbacklog.rank.rebalance-ms:5000}")
+    public void rebalanceRequested() {
+        for (UUID projectId : List.copyOf(requested)) {
+            requested.remove(projectId);
+            try {
+                rebalance(projectId);
+            } catch (DataAccessException e) {
+                requested.add(projectId);
+                log.warn("Could not rebalance the backlog of project {}, retrying", projectId, e);
+            }
+        }
+    }
+
+    // Uma transação por projeto: lê os ids na ordem atual e grava as novas chaves em lotes JDBC.
+    // Se alguma história mudou depois da leitura a renumeração inteira é desfeita e o projeto volta
+    // para a fila: as chaves novas foram calculadas sobre uma ordem que já não vale
+    public int rebalance(UUID projectId) {
+        Integer count = transactionTemplate.execute(status -> {
+            List<VersionDTO> versions = userStoryRepository.findVersionsByProjectIdOrderByRank(projectId);
+            String[] keys = RankKeys.spread(versions.size());
+            List<Row> rows = new ArrayList<>(versions.size());
+            for (int i = 0; i < versions.size(); i++) {
+                rows.add(new Row(versions.get(i).id(), versions.get(i).version(), keys[i]));
+            }
+            int[][] updated = jdbcTemplate.batchUpdate(UPDATE, rows, BATCH_SIZE, (statement, row) -> {
+                statement.setString(1, row.rank());
+                JdbcUuids.set(statement, 2, row.id());
+                statement.setLong(3, row.version());
+            });
+            for (int[] batch : updated) {
+                for (int rowCount : batch) {
+                    // Statement.SUCCESS_NO_INFO (negativo) quando o driver não informa a contagem
+                    if (rowCount == 0) {
+                        throw new OptimisticLockingFailureException("Backlog of project " + projectId + " changed during the rebalance");
+                    }
+                }
+            }
+            return versions.size();
+        });
+        // A renumeração não publica eventos: a projeção do board é remontada na próxima leitura
+        boardReadModelService.evict(projectId);
+        rebalanced.increment();
+        return count == null ? 0 : count;
+    }
+
+    public Stats stats() {
+        return new Stats(requested.size(), rebalanced.sum());
+    }
+}
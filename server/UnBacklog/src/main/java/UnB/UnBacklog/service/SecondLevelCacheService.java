@@ -0,0 +1,39 @@
+package UnB.UnBacklog.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class SecondLevelCacheService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public record RegionStats(long hits, long misses, long puts, double hitRatio) {}
+
+    public SecondLevelCacheService(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Map<String, RegionStats> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, RegionStats> regions = new LinkedHashMap<>();
+        for (String region : SecondLevelCacheConfig.REGIONS) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            long hits = stats.getHitCount();
+            long misses = stats.getMissCount();
+            regions.put(region, new RegionStats(hits, misses, stats.getPutCount(),
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses)));
+        }
+        return regions;
+    }
+}
@@ -0,0 +1,66 @@
+package UnB.UnBacklog.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import UnB.UnBacklog.dto.StatusTransitionEvent;
+
+/**
+ * Histórico de status como outbox: cada transição é gravada antes do commit, na mesma
+ * transação da mudança de status, e fica pendente até entrar nos agregados diários. Uma
+ * única thread agrega as pendentes em lotes fora da requisição; um lote que falha é desfeito
+ * e tentado de novo no ciclo seguinte, então nenhuma transição se perde ou conta duas vezes.
+ */
+@Service
+public class StatusHistoryWriter {
+    private static final Logger log = LoggerFactory.getLogger(StatusHistoryWriter.class);
+
+    private final ProjectAnalyticsService projectAnalyticsService;
+    private final int batchSize;
+    private final LongAdder rolledUp = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public record Stats(long pending, long rolledUp, long failed) {}
+
+    public StatusHistoryWriter(
+        ProjectAnalyticsService projectAnalyticsService,
+        @Value("${unbacklog.status-history.batch-size:500}") int batchSize
+    ) {
+        this.projectAnalyticsService = projectAnalyticsService;
+        this.batchSize = batchSize;
+    }
+
+    // Uma falha aqui desfaz a mudança de status junto: o histórico nunca fica para trás
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onStatusTransition(StatusTransitionEvent event) {
+        projectAnalyticsService.recordTransition(event);
+    }
+
+    // Sem monitor (prenderia a thread portadora com o perfil vthreads): duas consolidações
+    // simultâneas não contam a mesma transição, a contagem do markRolledUp desfaz a segunda
+    @Scheduled(fixedDelayString = "${unbacklog.status-history.flush-ms:1000}")
+    public void flush() {
+        int applied;
+        do {
+            try {
+                applied = projectAnalyticsService.rollUpPending(batchSize);
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("Could not roll up status transitions, retrying on the next cycle", e);
+                return;
+            }
+            rolledUp.add(applied);
+        } while (applied == batchSize);
+    }
+
+    public Stats stats() {
+        return new Stats(projectAnalyticsService.countPendingTransitions(), rolledUp.sum(), failed.sum());
+    }
+}
@@ -0,0 +1,115 @@
+package UnB.UnBacklog.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.entities.RevokedToken;
+import UnB.UnBacklog.repository.RevokedTokenRepository;
+import UnB.UnBacklog.util.BloomFilter;
+import UnB.UnBacklog.util.LruCache;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Lista de revogação de access tokens (por jti ou por sessão) consultada a cada requisição.
+ * A tabela é a fonte da verdade; em memória fica um filtro de Bloom com os ids ainda não
+ * expirados, então o caso comum (token não revogado) não consulta o banco. Um "talvez" do
+ * filtro é confirmado no banco e o resultado fica em cache. Revogações feitas em outras
+ * instâncias chegam pela sincronização periódica.
+ */
+@Service
+public class TokenRevocationService {
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long syncOverlapSeconds;
+    private final LruCache<String, Boolean> confirmed;
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    public record Stats(long checks, long filterHits, long falsePositives, LruCache.Stats confirmed) {}
+
+    public TokenRevocationService(
+        RevokedTokenRepository revokedTokenRepository,
+        @Value("${unbacklog.revocation.expected-size:100000}") int expectedRevocations,
+        @Value("${unbacklog.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+        @Value("${unbacklog.revocation.sync-ms:30000}") long syncMillis,
+        @Value("${unbacklog.revocation.cache-size:10000}") int cacheSize
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        // Revogações gravadas durante a última sincronização não podem ficar de fora da próxima
+        this.syncOverlapSeconds = Math.max(5, syncMillis / 1000);
+        this.confirmed = new LruCache<>(cacheSize);
+    }
+
+    @PostConstruct
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> ids = revokedTokenRepository.findActiveIds(now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, ids.size() * 2), falsePositiveRate);
+        ids.forEach(rebuilt::put);
+        filter = rebuilt;
+        confirmed.clear();
+        lastSync = now;
+        // Revogações feitas enquanto o filtro novo era montado foram para o antigo
+        sync();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        checks.increment();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        Boolean revoked = confirmed.get(tokenId);
+        if (revoked == null) {
+            revoked = revokedTokenRepository.existsById(tokenId);
+            if (!revoked) {
+                falsePositives.increment();
+            }
+            confirmed.put(tokenId, revoked);
+        }
+        return revoked;
+    }
+
+    public void revoke(String tokenId, LocalDateTime expiresAt) {
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, LocalDateTime.now()));
+        filter.put(tokenId);
+        confirmed.put(tokenId, true);
+    }
+
+    @Scheduled(fixedDelayString = "${unbacklog.revocation.sync-ms:30000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String tokenId : revokedTokenRepository.findIdsRevokedSince(lastSync.minusSeconds(syncOverlapSeconds), now)) {
+            filter.put(tokenId);
+            confirmed.put(tokenId, true);
+        }
+        lastSync = now;
+    }
+
+    // O filtro não remove entradas: é refeito só com os ids que ainda não expiraram
+    @Scheduled(fixedDelayString = "${unbacklog.revocation.rebuild-ms:3600000}", initialDelayString = "${unbacklog.revocation.rebuild-ms:3600000}")
+    @Transactional
+    public void purgeAndReload() {
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        reload();
+    }
+
+    public Stats stats() {
+        return new Stats(checks.sum(), filterHits.sum(), falsePositives.sum(), confirmed.stats());
+    }
+}
@@ -0,0 +1,79 @@
+package UnB.UnBacklog.service;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+
+/**
+ * Apaga de vez as linhas removidas logicamente há mais de retentionDays. Cada lote é um
+ * DELETE curto em transação própria, então o expurgo nunca segura muitos locks de uma vez;
+ * a ordem (histórias, sprints, membros, projetos) respeita as chaves estrangeiras.
+ * Usuários removidos ficam: continuam referenciados como autores no histórico.
+ */
+@Service
+public class TombstonePurgeService {
+    private static final Logger log = LoggerFactory.getLogger(TombstonePurgeService.class);
+
+    private final UserStoryRepository userStoryRepository;
+    private final SprintRepository sprintRepository;
+    private final ProjectRepository projectRepository;
+    private final long retentionDays;
+    private final int batchSize;
+    private final LongAdder purged = new LongAdder();
+
+    public TombstonePurgeService(
+        UserStoryRepository userStoryRepository,
+        SprintRepository sprintRepository,
+        ProjectRepository projectRepository,
+        @Value("${unbacklog.purge.retention-days:30}") long retentionDays,
+        @Value("${unbacklog.purge.batch-size:500}") int batchSize
+    ) {
+        this.userStoryRepository = userStoryRepository;
+        this.sprintRepository = sprintRepository;
+        this.projectRepository = projectRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    // Sem synchronized: o fixedDelay nunca sobrepõe execuções e um monitor seguro durante os
+    // DELETEs prenderia a thread portadora com o perfil vthreads
+    @Scheduled(fixedDelayString = "${unbacklog.purge.interval-ms:3600000}", initialDelayString = "${unbacklog.purge.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long total = 0;
+        total += drain(() -> userStoryRepository.purgeDeletedBefore(cutoff, batchSize));
+        total += drain(() -> userStoryRepository.purgeOfProjectsDeletedBefore(cutoff, batchSize));
+        total += drain(() -> sprintRepository.purgeDeletedBefore(cutoff, batchSize));
+        total += drain(() -> sprintRepository.purgeOfProjectsDeletedBefore(cutoff, batchSize));
+        total += drain(() -> projectRepository.purgeMembersOfProjectsDeletedBefore(cutoff, batchSize));
+        total += drain(() -> projectRepository.purgeDeletedBefore(cutoff, batchSize));
+        if (total > 0) {
+            log.info("Purged {} rows deleted before {}", total, cutoff);
+        }
+    }
+
+    public long purged() {
+        return purged.sum();
+    }
+
+    private long drain(IntSupplier batch) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = batch.getAsInt();
+            total += deleted;
+            purged.add(deleted);
+        } while (deleted >= batchSize);
+        return total;
+    }
+}
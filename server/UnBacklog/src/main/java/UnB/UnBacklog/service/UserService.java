@@ -2,38 +2,29 @@ package UnB.UnBacklog.service;
 
 import java.util.UUID;
 
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Service;
 
 import UnB.UnBacklog.repository.UserRepository;
 import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.util.Utils;
 @Service
 public class UserService {
     private UserRepository userRepository;
-    private JwtDecoder jwtDecoder; 
+    private Utils utils; 
 
-    public UserService(UserRepository userRepository, JwtDecoder jwtDecoder){
+    public UserService(UserRepository userRepository, Utils utils){
         this.userRepository = userRepository; 
-        this.jwtDecoder = jwtDecoder;
+        this.utils = utils;
     }
     
     public record filteredUser(String name, String email, UUID id) {
     }
 
     public filteredUser getMe(String jwtToken){
-        if (jwtToken != null && jwtToken.startsWith("Bearer ")) {
-            jwtToken = jwtToken.substring(7);
-        }
-        
-        Jwt token = jwtDecoder.decode(jwtToken);
-
-        String userId = token.getSubject();
-        
-        UUID uuid = UUID.fromString(userId);
+        UUID uuid = utils.getUserIdByToken(jwtToken);
         
         User fullUser = this.userRepository.findById(uuid)
-            .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + userId));
+            .orElseThrow(() -> new RuntimeException("Usuário não encontrado com ID: " + uuid));
         
         return new filteredUser(fullUser.getName(), fullUser.getEmail(), fullUser.getUserId());
     } 
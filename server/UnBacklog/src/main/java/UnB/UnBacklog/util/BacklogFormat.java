@@ -0,0 +1,7 @@
+package UnB.UnBacklog.util;
+
+// Formatos de importação e exportação do backlog: CSV com cabeçalho ou um objeto JSON por linha
+public enum BacklogFormat {
+    CSV,
+    JSONL
+}
@@ -0,0 +1,11 @@
+package UnB.UnBacklog.util;
+
+public enum BoardEventType {
+    USER_STORY_CREATED,
+    USER_STORY_UPDATED,
+    USER_STORY_DELETED,
+    USER_STORY_MOVED,
+    SPRINT_CREATED,
+    SPRINT_UPDATED,
+    SPRINT_DELETED
+}
@@ -0,0 +1,118 @@
+package UnB.UnBacklog.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) que entrega um registro por vez, sem carregar o arquivo. Campos
+ * entre aspas podem conter vírgulas, quebras de linha e aspas duplicadas. Um registro maior
+ * que maxRecordLength é descartado até o fim e reportado, então a memória fica limitada.
+ */
+public final class CsvReader {
+    private static final int NONE = -2;
+
+    private final Reader in;
+    private final int maxRecordLength;
+    private int pushedBack = NONE;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader in, int maxRecordLength) {
+        this.in = in;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Próximo registro, ou null no fim da entrada. IllegalArgumentException indica um registro
+     * inválido; a leitura pode continuar a partir do seguinte.
+     */
+    public List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int length = 0;
+        recordLine = line;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (empty) {
+                    return null;
+                }
+                if (quoted) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                break;
+            }
+            empty = false;
+
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        pushedBack = next;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    line++;
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                continue;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                continue;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                line++;
+                break;
+            }
+
+            // Passou do limite: segue consumindo até o fim do registro sem guardar nada
+            if (++length <= maxRecordLength) {
+                field.append((char) c);
+            }
+        }
+
+        if (length > maxRecordLength) {
+            throw new IllegalArgumentException("Record longer than " + maxRecordLength + " characters");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /** Linha em que começou o último registro lido (a primeira linha é 1). */
+    public long recordLine() {
+        return recordLine;
+    }
+
+    /** Campo pronto para uma linha CSV: entre aspas quando tem vírgula, aspas ou quebra de linha. */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return in.read();
+    }
+}
@@ -0,0 +1,67 @@
+package UnB.UnBacklog.util;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import UnB.UnBacklog.dto.VersionDTO;
+
+/**
+ * ETags derivadas das colunas de versão. A de uma entidade é a própria versão; a de uma
+ * coleção é um hash dos pares (id, versão), que muda com qualquer criação, alteração ou
+ * remoção sem precisar carregar as entidades. A de coleção é fraca: identifica o conteúdo,
+ * não os bytes (ordem e compressão podem variar), e o Tomcat não comprime respostas com
+ * ETag forte.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    @SafeVarargs
+    public static String of(List<VersionDTO>... groups) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(24);
+        for (List<VersionDTO> group : groups) {
+            for (VersionDTO row : group) {
+                buffer.clear();
+                buffer.putLong(row.id().getMostSignificantBits())
+                    .putLong(row.id().getLeastSignificantBits())
+                    .putLong(row.version());
+                digest.update(buffer.array());
+            }
+            // Separa os grupos para que linhas não migrem de um para outro sem mudar o hash
+            digest.update((byte) 0);
+        }
+        byte[] hash = Arrays.copyOf(digest.digest(), 16);
+        return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+    }
+
+    /**
+     * Avalia um cabeçalho If-Match contra a versão atual. Sem cabeçalho ou com "*" qualquer
+     * versão serve; ETags fracas nunca casam (comparação forte, RFC 9110).
+     */
+    public static boolean matches(String ifMatch, long version) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String current = of(version);
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
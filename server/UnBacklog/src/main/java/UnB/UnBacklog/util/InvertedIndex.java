@@ -0,0 +1,172 @@
+package UnB.UnBacklog.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória com ranqueamento BM25. Cada documento é um conjunto de
+ * termos com peso (frequência já ponderada pelo campo de origem); a busca exige todos os
+ * termos da consulta e aceita o último como prefixo. Não é thread-safe: quem usa
+ * controla o acesso.
+ */
+public class InvertedIndex<K extends Comparable<K>> {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int EXACT_MATCH_BOOST = 2;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final NavigableMap<String, Map<K, Integer>> postings = new TreeMap<>();
+    private final Map<K, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private record Document(Map<String, Integer> terms, int length) {}
+
+    public record Hit<K>(K key, double score) {}
+
+    public record Result<K>(List<Hit<K>> hits, int total) {}
+
+    /** Minúsculas, sem acentos, separado por tudo que não é letra ou dígito. */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        for (String term : SEPARATORS.split(normalized)) {
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+        return terms;
+    }
+
+    public void put(K key, Map<String, Integer> terms) {
+        remove(key);
+        if (terms.isEmpty()) {
+            return;
+        }
+        int length = 0;
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), t -> new HashMap<>()).put(key, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(key, new Document(Map.copyOf(terms), length));
+        totalLength += length;
+    }
+
+    public void remove(K key) {
+        Document document = documents.remove(key);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            Map<K, Integer> docs = postings.get(term);
+            docs.remove(key);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+        totalLength = 0;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public int terms() {
+        return postings.size();
+    }
+
+    /** Retorna os {@code limit} melhores resultados e o total de documentos que casam com a consulta. */
+    public Result<K> search(List<String> query, boolean prefixLast, int limit) {
+        if (query.isEmpty() || documents.isEmpty() || limit <= 0) {
+            return new Result<>(List.of(), 0);
+        }
+
+        List<Map<K, Integer>> matches = new ArrayList<>(query.size());
+        for (int i = 0; i < query.size(); i++) {
+            Map<K, Integer> docs = prefixLast && i == query.size() - 1 ? prefixPostings(query.get(i)) : postings.get(query.get(i));
+            if (docs == null || docs.isEmpty()) {
+                return new Result<>(List.of(), 0);
+            }
+            matches.add(docs);
+        }
+        // Começa pelo termo mais raro: o conjunto de candidatos só diminui
+        matches.sort(Comparator.comparingInt(Map::size));
+
+        double averageLength = (double) totalLength / documents.size();
+        Comparator<Hit<K>> ranking = Comparator.<Hit<K>>comparingDouble(Hit::score)
+            .thenComparing(Hit::key, Comparator.reverseOrder());
+        PriorityQueue<Hit<K>> top = new PriorityQueue<>(ranking);
+        int total = 0;
+
+        candidates:
+        for (Map.Entry<K, Integer> candidate : matches.get(0).entrySet()) {
+            K key = candidate.getKey();
+            int length = documents.get(key).length();
+            double score = termScore(candidate.getValue(), matches.get(0).size(), length, averageLength);
+            for (int i = 1; i < matches.size(); i++) {
+                Integer frequency = matches.get(i).get(key);
+                if (frequency == null) {
+                    continue candidates;
+                }
+                score += termScore(frequency, matches.get(i).size(), length, averageLength);
+            }
+            total++;
+            Hit<K> hit = new Hit<>(key, score);
+            if (top.size() < limit) {
+                top.add(hit);
+            } else if (ranking.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<Hit<K>> hits = new ArrayList<>(top);
+        hits.sort(ranking.reversed());
+        return new Result<>(hits, total);
+    }
+
+    private double termScore(int frequency, int documentFrequency, int length, double averageLength) {
+        double idf = Math.log(1 + (documents.size() - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    // Une os termos que começam com o prefixo; um documento fica com a maior frequência entre
+    // eles, e a do termo exato conta em dobro para "12" vir antes de "120"
+    private Map<K, Integer> prefixPostings(String prefix) {
+        Map<K, Integer> merged = new HashMap<>();
+        Map<K, Integer> exact = postings.get(prefix);
+        if (exact != null) {
+            exact.forEach((key, frequency) -> merged.put(key, frequency * EXACT_MATCH_BOOST));
+        }
+        int expansions = 0;
+        for (Map.Entry<String, Map<K, Integer>> term : postings.tailMap(prefix, false).entrySet()) {
+            if (!term.getKey().startsWith(prefix) || ++expansions > MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            term.getValue().forEach((key, frequency) -> merged.merge(key, frequency, Math::max));
+        }
+        return merged;
+    }
+}
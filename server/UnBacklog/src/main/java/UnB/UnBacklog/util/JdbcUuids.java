@@ -0,0 +1,25 @@
+package UnB.UnBacklog.util;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.UUID;
+
+// Parâmetros UUID para gravações JDBC diretas, no mesmo formato que o Hibernate usa em BINARY(16)
+public final class JdbcUuids {
+
+    private JdbcUuids() {}
+
+    // Os 16 bytes do UUID em big-endian
+    public static void set(PreparedStatement statement, int index, UUID uuid) throws SQLException {
+        if (uuid == null) {
+            statement.setNull(index, Types.BINARY);
+            return;
+        }
+        statement.setBytes(index, ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array());
+    }
+}
@@ -0,0 +1,126 @@
+package UnB.UnBacklog.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import UnB.UnBacklog.dto.BoardEvent;
+
+/**
+ * Estado em memória por projeto, montado do banco na primeira leitura e mantido pelos eventos
+ * do board depois do commit, com no máximo maxProjects projetos (LRU).
+ *
+ * Enquanto o estado é carregado, os eventos que chegam ficam guardados e são reaplicados sobre
+ * o resultado da carga: um commit anterior à consulta já está nela e o evento repetido precisa
+ * ser idempotente (por exemplo, não sobrescrever uma versão mais nova), um posterior só existe
+ * no evento. Se a carga falha os eventos guardados são descartados e a próxima leitura carrega
+ * de novo. Só uma leitura por projeto carrega de cada vez; as demais esperam por ela.
+ */
+public class ProjectEventCache<S> {
+    private final LruCache<UUID, Entry<S>> entries;
+    private final Function<UUID, S> loader;
+    private final BiConsumer<S, BoardEvent> applier;
+
+    private static final class Entry<S> {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // ReentrantLock e não synchronized: a carga consulta o banco e não deve prender a thread portadora
+        final ReentrantLock loadLock = new ReentrantLock();
+        S state;
+        // Não nulo enquanto a carga está em andamento
+        List<BoardEvent> pending;
+        volatile boolean ready;
+    }
+
+    public ProjectEventCache(int maxProjects, Function<UUID, S> loader, BiConsumer<S, BoardEvent> applier) {
+        this.entries = new LruCache<>(maxProjects);
+        this.loader = loader;
+        this.applier = applier;
+    }
+
+    /** Executa reader sob o lock de leitura: nenhum evento é aplicado enquanto ele roda. */
+    public <R> R read(UUID projectId, Function<S, R> reader) {
+        Entry<S> entry = entries.computeIfAbsent(projectId, id -> new Entry<>());
+        if (!entry.ready) {
+            load(projectId, entry);
+        }
+        entry.lock.readLock().lock();
+        try {
+            return reader.apply(entry.state);
+        } finally {
+            entry.lock.readLock().unlock();
+        }
+    }
+
+    /** Aplica o evento ao projeto, se ele estiver em memória; senão a próxima leitura carrega do banco. */
+    public void apply(UUID projectId, BoardEvent event) {
+        Entry<S> entry = entries.get(projectId);
+        if (entry == null) {
+            return;
+        }
+        entry.lock.writeLock().lock();
+        try {
+            if (entry.ready) {
+                applier.accept(entry.state, event);
+            } else if (entry.pending != null) {
+                entry.pending.add(event);
+            }
+        } finally {
+            entry.lock.writeLock().unlock();
+        }
+    }
+
+    public void evict(UUID projectId) {
+        entries.remove(projectId);
+    }
+
+    public LruCache.Stats stats() {
+        return entries.stats();
+    }
+
+    private void load(UUID projectId, Entry<S> entry) {
+        entry.loadLock.lock();
+        try {
+            if (entry.ready) {
+                return;
+            }
+            // Antes da consulta: nenhum evento de um commit que ela não veja se perde
+            entry.lock.writeLock().lock();
+            try {
+                entry.pending = new ArrayList<>();
+            } finally {
+                entry.lock.writeLock().unlock();
+            }
+
+            S state;
+            try {
+                state = loader.apply(projectId);
+            } catch (RuntimeException e) {
+                entry.lock.writeLock().lock();
+                try {
+                    entry.pending = null;
+                } finally {
+                    entry.lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            entry.lock.writeLock().lock();
+            try {
+                for (BoardEvent event : entry.pending) {
+                    applier.accept(state, event);
+                }
+                entry.state = state;
+                entry.pending = null;
+                entry.ready = true;
+            } finally {
+                entry.lock.writeLock().unlock();
+            }
+        } finally {
+            entry.loadLock.unlock();
+        }
+    }
+}
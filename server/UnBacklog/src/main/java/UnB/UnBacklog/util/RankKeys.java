@@ -0,0 +1,105 @@
+package UnB.UnBacklog.util;
+
+import java.math.BigInteger;
+
+/**
+ * Chaves de ordenação fracionárias: strings em base 36 (0-9, a-z, só minúsculas para que a
+ * collation do banco não mude a ordem) comparadas como frações 0.k1k2k3... Sempre existe uma
+ * chave entre duas outras, então mover um item grava só a linha dele. Nenhuma chave gerada
+ * termina em '0' nem é só de zeros, o que garante espaço antes de qualquer chave.
+ */
+public final class RankKeys {
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    // Inserções no fim avançam o quarto dígito: cerca de 800 mil antes de a chave crescer
+    private static final int APPEND_DIGITS = 4;
+
+    private RankKeys() {}
+
+    /** Chave estritamente entre lower e upper; null é um extremo aberto. */
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("lower must sort before upper: " + lower + " >= " + upper);
+        }
+        if (upper != null && upper.chars().allMatch(c -> c == '0')) {
+            throw new IllegalArgumentException("No key sorts before " + upper);
+        }
+
+        StringBuilder key = new StringBuilder();
+        boolean upperOpen = upper == null;
+        for (int i = 0; ; i++) {
+            int low = lower != null && i < lower.length() ? digit(lower, i) : 0;
+            if (!upperOpen && i >= upper.length()) {
+                // Só acontece se upper for lower seguida de zeros: nenhuma string fica entre as duas
+                throw new IllegalArgumentException("No key between " + lower + " and " + upper);
+            }
+            int high = upperOpen ? BASE : digit(upper, i);
+            if (high - low > 1) {
+                return key.append(DIGITS.charAt((low + high) / 2)).toString();
+            }
+            key.append(DIGITS.charAt(low));
+            if (high - low == 1) {
+                // Fixado o dígito de lower, qualquer continuação maior que o resto de lower serve
+                upperOpen = true;
+            }
+        }
+    }
+
+    /**
+     * Chave para o fim da lista: soma um no quarto dígito em vez de dividir o intervalo ao meio.
+     * Se os quatro primeiros já forem "zzzz", soma no oitavo, e assim por diante.
+     */
+    public static String after(String lower) {
+        if (lower == null) {
+            return between(null, null);
+        }
+        for (int width = APPEND_DIGITS; ; width += APPEND_DIGITS) {
+            char[] head = new char[width];
+            for (int i = 0; i < width; i++) {
+                head[i] = i < lower.length() ? lower.charAt(i) : '0';
+            }
+            for (int i = width - 1; i >= 0; i--) {
+                int next = DIGITS.indexOf(head[i]) + 1;
+                if (next < BASE) {
+                    head[i] = DIGITS.charAt(next);
+                    return stripTrailingZeros(new String(head));
+                }
+                head[i] = '0';
+            }
+        }
+    }
+
+    /** count chaves curtas e igualmente espaçadas, usadas pelo rebalanceamento. */
+    public static String[] spread(int count) {
+        // Deixa cerca de BASE^2 posições livres entre chaves vizinhas
+        int width = 2;
+        double slots = (count + 1.0) * BASE * BASE;
+        while (Math.pow(BASE, width) < slots) {
+            width++;
+        }
+        BigInteger space = BigInteger.valueOf(BASE).pow(width);
+        BigInteger step = space.divide(BigInteger.valueOf(count + 1L));
+        String[] keys = new String[count];
+        for (int i = 0; i < count; i++) {
+            String value = step.multiply(BigInteger.valueOf(i + 1L)).toString(BASE);
+            keys[i] = stripTrailingZeros("0".repeat(width - value.length()) + value);
+        }
+        return keys;
+    }
+
+    private static int digit(String key, int index) {
+        int digit = DIGITS.indexOf(key.charAt(index));
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid rank key: " + key);
+        }
+        return digit;
+    }
+
+    private static String stripTrailingZeros(String key) {
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == '0') {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
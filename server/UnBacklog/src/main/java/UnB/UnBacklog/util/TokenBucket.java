@@ -0,0 +1,33 @@
+package UnB.UnBacklog.util;
+
+/**
+ * Balde de fichas: começa cheio com {@code capacity} fichas e recupera {@code refillPerMinute}
+ * por minuto. Cada tentativa consome uma ficha; sem fichas, informa quanto falta esperar.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long updatedAt;
+
+    public TokenBucket(int capacity, int refillPerMinute, long nowNanos) {
+        if (capacity <= 0 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerMinute / 60_000_000_000d;
+        this.tokens = capacity;
+        this.updatedAt = nowNanos;
+    }
+
+    /** Consome uma ficha e devolve 0, ou devolve em quantos nanossegundos haverá uma disponível. */
+    public synchronized long tryAcquire(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - updatedAt) * refillPerNano);
+        updatedAt = nowNanos;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano);
+    }
+}
@@ -0,0 +1,5 @@
+package UnB.UnBacklog.util;
+
+public enum UserStoryOperationType {
+    CREATE, UPDATE, DELETE, ASSIGN_SPRINT
+}
@@ -0,0 +1,41 @@
+package UnB.UnBacklog.util;
+
+import UnB.UnBacklog.dto.UserStoryDTO;
+
+public enum UserStorySort {
+    // Colunas geradas com a posição do enum (HIGH antes de LOW), não o texto gravado
+    PRIORITY("s.priorityRank"),
+    STATUS("s.statusRank"),
+    TITLE("COALESCE(s.title, '')"),
+    // Ordem manual do backlog (RankKeys)
+    RANK("s.rank");
+
+    // Expressão JPQL usada tanto no ORDER BY quanto na comparação do cursor
+    private final String expression;
+
+    UserStorySort(String expression) {
+        this.expression = expression;
+    }
+
+    public String expression() {
+        return expression;
+    }
+
+    public boolean isNumeric() {
+        return this == PRIORITY || this == STATUS;
+    }
+
+    public String keyOf(UserStoryDTO userStory) {
+        return switch (this) {
+            case PRIORITY -> String.valueOf(rank(userStory.priority(), UserStoryPriority.values().length));
+            case STATUS -> String.valueOf(rank(userStory.status(), UserStoryStatus.values().length));
+            case TITLE -> userStory.title() == null ? "" : userStory.title();
+            case RANK -> userStory.rank();
+        };
+    }
+
+    // Mesma regra das colunas priority_rank e status_rank (migração V6)
+    private static int rank(Enum<?> value, int nullRank) {
+        return value == null ? nullRank : value.ordinal();
+    }
+}
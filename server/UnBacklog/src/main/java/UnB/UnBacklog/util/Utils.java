@@ -3,6 +3,8 @@ package UnB.UnBacklog.util;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.stereotype.Component;
@@ -19,6 +21,15 @@ public class Utils {
         if (jwtToken != null && jwtToken.startsWith("Bearer ")) {
             jwtToken = jwtToken.substring(7);
         }
+
+        // Token já verificado pelo JwtCookieAuthenticationFilter nesta requisição
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+            && authentication.getPrincipal() instanceof UUID userId
+            && jwtToken != null
+            && jwtToken.equals(authentication.getCredentials())) {
+            return userId;
+        }
         
         Jwt token = jwtDecoder.decode(jwtToken);
 
@@ -28,4 +39,12 @@ public class Utils {
 
         return uuid;
     }
+
+    public UUID getAuthenticatedUserId(){
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UUID userId) {
+            return userId;
+        }
+        return null;
+    }
 }
@@ -0,0 +1,6 @@
+-- No máximo uma sprint ACTIVE por projeto: a coluna gerada só tem valor na sprint ativa e a
+-- chave única recusa a segunda.
+
+ALTER TABLE sprint ADD COLUMN active_project_id CHAR(36)
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN project_id END);
+ALTER TABLE sprint ADD CONSTRAINT UKn528sh8sinu0vrsnxgems6y45 UNIQUE (active_project_id);
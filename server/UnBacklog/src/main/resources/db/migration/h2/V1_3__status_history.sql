@@ -0,0 +1,42 @@
+-- Histórico de mudanças de status das histórias e agregados diários por sprint e por
+-- prioridade, usados pelo burndown, pela velocidade e pelo tempo de ciclo.
+
+CREATE TABLE user_story_status_transition (
+    changed_at datetime(6) NOT NULL,
+    actor_id char(36),
+    id CHAR(36) NOT NULL,
+    project_id char(36) NOT NULL,
+    sprint_id char(36),
+    user_story_id char(36) NOT NULL,
+    from_status enum ('DOING','DONE','TO_DO'),
+    priority enum ('HIGH','LOW','MEDIUM'),
+    to_status enum ('DOING','DONE','TO_DO') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sprint_daily_rollup (
+    rollup_day date NOT NULL,
+    completed bigint NOT NULL,
+    reopened bigint NOT NULL,
+    id CHAR(36) NOT NULL,
+    project_id char(36) NOT NULL,
+    sprint_id char(36) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE priority_daily_rollup (
+    rollup_day date NOT NULL,
+    completed bigint NOT NULL,
+    cycle_time_seconds bigint,
+    id CHAR(36) NOT NULL,
+    project_id char(36) NOT NULL,
+    priority enum ('HIGH','LOW','MEDIUM') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE sprint_daily_rollup ADD CONSTRAINT uk_sprint_rollup_day UNIQUE (sprint_id, rollup_day);
+ALTER TABLE priority_daily_rollup ADD CONSTRAINT uk_priority_rollup_day UNIQUE (project_id, rollup_day, priority);
+
+CREATE INDEX idx_transition_story ON user_story_status_transition (user_story_id, changed_at);
+CREATE INDEX idx_transition_project ON user_story_status_transition (project_id, changed_at);
+CREATE INDEX idx_sprint_rollup_project ON sprint_daily_rollup (project_id);
@@ -0,0 +1,28 @@
+-- Sessões: refresh tokens (só o hash SHA-256) e a lista de sessões revogadas, consultadas
+-- pela expiração na limpeza periódica.
+
+CREATE TABLE refresh_token (
+    expires_at datetime(6) NOT NULL,
+    revoked_at datetime(6),
+    rotated_at datetime(6),
+    session_expires_at datetime(6) NOT NULL,
+    id CHAR(36) NOT NULL,
+    session_id char(36) NOT NULL,
+    user_id char(36) NOT NULL,
+    token_hash varchar(43) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE revoked_token (
+    expires_at datetime(6) NOT NULL,
+    revoked_at datetime(6) NOT NULL,
+    token_id varchar(36) NOT NULL,
+    PRIMARY KEY (token_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE refresh_token ADD CONSTRAINT UKkdj16cltjxdksuyiosdhliveg UNIQUE (token_hash);
+
+CREATE INDEX idx_refresh_token_session ON refresh_token (session_id);
+CREATE INDEX idx_refresh_token_expires_at ON refresh_token (expires_at);
+CREATE INDEX idx_revoked_token_revoked_at ON revoked_token (revoked_at);
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
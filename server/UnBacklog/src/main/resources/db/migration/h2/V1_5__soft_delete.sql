@@ -0,0 +1,9 @@
+-- Remoção lógica das histórias (projetos, usuários e sprints já tinham deleted_at) e os
+-- índices das consultas que filtram deleted_at IS NULL e da limpeza das linhas removidas.
+
+ALTER TABLE user_story ADD COLUMN deleted_at datetime(6);
+
+CREATE INDEX idx_sprint_project_deleted ON sprint (project_id, deleted_at);
+CREATE INDEX idx_sprint_deleted_at ON sprint (deleted_at);
+CREATE INDEX idx_user_story_project_deleted ON user_story (project_id, deleted_at);
+CREATE INDEX idx_user_story_deleted_at ON user_story (deleted_at);
@@ -0,0 +1,58 @@
+-- Mesma base do MySQL (db/migration/mysql). O H2 dos testes e do perfil local nasce vazio,
+-- então as versões seguintes só mudam tipos, sem converter dados.
+
+CREATE TABLE project (
+    created_at datetime(6),
+    deleted_at datetime(6),
+    project_id CHAR(36) NOT NULL,
+    description varchar(255),
+    name varchar(255),
+    PRIMARY KEY (project_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user (
+    deleted_at datetime(6),
+    user_id CHAR(36) NOT NULL,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE project_user (
+    id CHAR(36) NOT NULL,
+    project_id CHAR(36),
+    user_id CHAR(36),
+    role enum ('DEVELOPER','PRODUCT_OWNER','SCRUM_MASTER'),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE sprint (
+    deleted_at datetime(6),
+    finish_date datetime(6),
+    start_date datetime(6),
+    project_id CHAR(36),
+    sprint_id CHAR(36) NOT NULL,
+    objective varchar(255),
+    status enum ('ACTIVE','COMPLETED','PLANNED'),
+    PRIMARY KEY (sprint_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE user_story (
+    id CHAR(36) NOT NULL,
+    project_id CHAR(36),
+    sprint_id CHAR(36),
+    description varchar(255),
+    title varchar(255),
+    priority enum ('HIGH','LOW','MEDIUM'),
+    status enum ('DOING','DONE','TO_DO'),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE user ADD CONSTRAINT UKob8kqyqqgmefl0aco34akdtpe UNIQUE (email);
+
+ALTER TABLE project_user ADD CONSTRAINT FK4ug72llnm0n7yafwntgdswl3y FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE project_user ADD CONSTRAINT FK4jl2o131jivd80xsuw6pivnbx FOREIGN KEY (user_id) REFERENCES user (user_id);
+ALTER TABLE sprint ADD CONSTRAINT FKerwve0blrvfhqm1coxo69f0xr FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKwswc3uhx3p0yuscuxsqh2ywt FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKb1dan6s8h4tdply2gbj0qat4d FOREIGN KEY (sprint_id) REFERENCES sprint (sprint_id);
@@ -0,0 +1,44 @@
+-- Equivalente ao V2 do MySQL para um banco vazio: as colunas UUID viram BINARY(16)
+-- sem conversão de dados.
+
+ALTER TABLE project_user DROP CONSTRAINT FK4ug72llnm0n7yafwntgdswl3y;
+ALTER TABLE project_user DROP CONSTRAINT FK4jl2o131jivd80xsuw6pivnbx;
+ALTER TABLE sprint DROP CONSTRAINT FKerwve0blrvfhqm1coxo69f0xr;
+ALTER TABLE user_story DROP CONSTRAINT FKwswc3uhx3p0yuscuxsqh2ywt;
+ALTER TABLE user_story DROP CONSTRAINT FKb1dan6s8h4tdply2gbj0qat4d;
+
+ALTER TABLE sprint DROP COLUMN active_project_id;
+
+ALTER TABLE project ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE user ALTER COLUMN user_id SET DATA TYPE BINARY(16);
+ALTER TABLE project_user ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE project_user ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE project_user ALTER COLUMN user_id SET DATA TYPE BINARY(16);
+ALTER TABLE sprint ALTER COLUMN sprint_id SET DATA TYPE BINARY(16);
+ALTER TABLE sprint ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story ALTER COLUMN sprint_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story_status_transition ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story_status_transition ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story_status_transition ALTER COLUMN user_story_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story_status_transition ALTER COLUMN sprint_id SET DATA TYPE BINARY(16);
+ALTER TABLE user_story_status_transition ALTER COLUMN actor_id SET DATA TYPE BINARY(16);
+ALTER TABLE sprint_daily_rollup ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE sprint_daily_rollup ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE sprint_daily_rollup ALTER COLUMN sprint_id SET DATA TYPE BINARY(16);
+ALTER TABLE priority_daily_rollup ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE priority_daily_rollup ALTER COLUMN project_id SET DATA TYPE BINARY(16);
+ALTER TABLE refresh_token ALTER COLUMN id SET DATA TYPE BINARY(16);
+ALTER TABLE refresh_token ALTER COLUMN session_id SET DATA TYPE BINARY(16);
+ALTER TABLE refresh_token ALTER COLUMN user_id SET DATA TYPE BINARY(16);
+
+ALTER TABLE sprint ADD COLUMN active_project_id BINARY(16)
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN project_id END);
+ALTER TABLE sprint ADD CONSTRAINT UKn528sh8sinu0vrsnxgems6y45 UNIQUE (active_project_id);
+
+ALTER TABLE project_user ADD CONSTRAINT FK4ug72llnm0n7yafwntgdswl3y FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE project_user ADD CONSTRAINT FK4jl2o131jivd80xsuw6pivnbx FOREIGN KEY (user_id) REFERENCES user (user_id);
+ALTER TABLE sprint ADD CONSTRAINT FKerwve0blrvfhqm1coxo69f0xr FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKwswc3uhx3p0yuscuxsqh2ywt FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKb1dan6s8h4tdply2gbj0qat4d FOREIGN KEY (sprint_id) REFERENCES sprint (sprint_id);
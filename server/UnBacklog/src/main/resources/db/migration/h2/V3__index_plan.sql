@@ -0,0 +1,18 @@
+-- Índices das consultas quentes. Todas as consultas de entidades removíveis filtram
+-- deleted_at IS NULL, então deleted_at vem logo depois da coluna de igualdade:
+--   user_story (project_id, deleted_at, status): quadro, ETag, contagens por status e busca
+--   user_story (sprint_id, deleted_at): histórias da sprint e remoção da sprint
+--   sprint (project_id, deleted_at, status): sprints do projeto e sprints por status
+--   project_user (project_id, user_id, role): checagem de papel lida só do índice
+--   project_user (user_id, project_id): projetos do usuário
+-- Os novos índices são criados antes de remover os antigos, que sustentavam as chaves estrangeiras.
+
+CREATE INDEX idx_user_story_project_status ON user_story (project_id, deleted_at, status);
+CREATE INDEX idx_user_story_sprint ON user_story (sprint_id, deleted_at);
+DROP INDEX idx_user_story_project_deleted ON user_story;
+
+CREATE INDEX idx_sprint_project_status ON sprint (project_id, deleted_at, status);
+DROP INDEX idx_sprint_project_deleted ON sprint;
+
+CREATE INDEX idx_project_user_project ON project_user (project_id, user_id, role);
+CREATE INDEX idx_project_user_user ON project_user (user_id, project_id);
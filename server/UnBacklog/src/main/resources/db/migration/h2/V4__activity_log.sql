@@ -0,0 +1,16 @@
+-- Registro de atividade do board (quem mudou o quê), gravado em lotes pelo ActivityLogWriter.
+-- O id crescente dá a ordem cronológica e serve de cursor da paginação por projeto.
+
+CREATE TABLE activity_log (
+    id bigint NOT NULL AUTO_INCREMENT,
+    occurred_at datetime(6) NOT NULL,
+    actor_id BINARY(16),
+    project_id BINARY(16) NOT NULL,
+    sprint_id BINARY(16),
+    user_story_id BINARY(16),
+    title varchar(255),
+    type enum ('SPRINT_CREATED','SPRINT_DELETED','SPRINT_UPDATED','USER_STORY_CREATED','USER_STORY_DELETED','USER_STORY_MOVED','USER_STORY_UPDATED') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_activity_project ON activity_log (project_id, id);
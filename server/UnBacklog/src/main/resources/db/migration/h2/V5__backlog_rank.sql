@@ -0,0 +1,7 @@
+-- Ordem manual do backlog por chaves fracionárias (RankKeys): mover uma história grava só a
+-- linha dela. O H2 só roda em memória (testes e perfil local), então a tabela está vazia aqui
+-- e não há chaves a preencher.
+
+ALTER TABLE user_story ADD COLUMN rank_key varchar(255) NOT NULL;
+
+CREATE INDEX idx_user_story_project_rank ON user_story (project_id, deleted_at, rank_key);
@@ -0,0 +1,12 @@
+-- Posição da prioridade e do status na ordenação (ordem de declaração do enum, nulo por último)
+-- em colunas geradas e indexadas: a listagem paginada ordena e posiciona o cursor por elas, e o
+-- índice entrega as linhas já na ordem, sem calcular e ordenar todas as histórias do projeto.
+-- Os valores precisam bater com UserStorySort.keyOf.
+
+ALTER TABLE user_story ADD COLUMN priority_rank int GENERATED ALWAYS AS
+    (CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 ELSE 3 END);
+ALTER TABLE user_story ADD COLUMN status_rank int GENERATED ALWAYS AS
+    (CASE status WHEN 'TO_DO' THEN 0 WHEN 'DOING' THEN 1 WHEN 'DONE' THEN 2 ELSE 3 END);
+
+CREATE INDEX idx_user_story_project_priority ON user_story (project_id, deleted_at, priority_rank, id);
+CREATE INDEX idx_user_story_project_status_rank ON user_story (project_id, deleted_at, status_rank, id);
@@ -0,0 +1,6 @@
+-- Sprint da história antes de cada transição: trocar de sprint também entra no histórico e nos
+-- agregados, e o burndown conta as concluídas pela mesma sprint atual usada no escopo. Até aqui
+-- só mudanças de status eram gravadas, sempre na mesma sprint.
+
+ALTER TABLE user_story_status_transition ADD COLUMN from_sprint_id BINARY(16);
+UPDATE user_story_status_transition SET from_sprint_id = sprint_id WHERE from_status IS NOT NULL;
@@ -0,0 +1,5 @@
+-- Controle de concorrência otimista (@Version) de sprints e histórias; as linhas existentes
+-- começam na versão 0.
+
+ALTER TABLE sprint ADD COLUMN version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE user_story ADD COLUMN version bigint DEFAULT 0 NOT NULL;
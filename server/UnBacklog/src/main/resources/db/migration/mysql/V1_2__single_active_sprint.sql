@@ -0,0 +1,15 @@
+-- No máximo uma sprint ACTIVE por projeto: a coluna gerada só tem valor na sprint ativa e a
+-- chave única recusa a segunda.
+-- Ativações concorrentes antigas podem ter deixado mais de uma: fica ativa a de início mais
+-- recente (não removida antes das removidas) e as outras são concluídas, como a ativação fazia.
+
+UPDATE sprint s
+JOIN sprint newer ON newer.project_id = s.project_id AND newer.status = 'ACTIVE'
+    AND CONCAT(IF(newer.deleted_at IS NULL, '1', '0'), COALESCE(DATE_FORMAT(newer.start_date, '%Y%m%d%H%i%s%f'), ''), newer.sprint_id)
+      > CONCAT(IF(s.deleted_at IS NULL, '1', '0'), COALESCE(DATE_FORMAT(s.start_date, '%Y%m%d%H%i%s%f'), ''), s.sprint_id)
+SET s.status = 'COMPLETED'
+WHERE s.status = 'ACTIVE';
+
+ALTER TABLE sprint ADD COLUMN active_project_id CHAR(36)
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN project_id END);
+ALTER TABLE sprint ADD CONSTRAINT UKn528sh8sinu0vrsnxgems6y45 UNIQUE (active_project_id);
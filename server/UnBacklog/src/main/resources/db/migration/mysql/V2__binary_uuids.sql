@@ -0,0 +1,125 @@
+-- UUIDs passam de CHAR(36) (36 bytes, comparação por collation) para BINARY(16): chaves
+-- primárias, estrangeiras e todos os índices secundários que as carregam ficam menores.
+-- O valor binário é o mesmo que o Hibernate grava (hibernate.type.preferred_uuid_jdbc_type=BINARY):
+-- os 16 bytes do UUID em ordem big-endian, isto é, UNHEX do texto sem hífens.
+--
+-- Cada coluna passa por VARBINARY(36) para preservar os bytes do texto, é convertida e só
+-- então vira BINARY(16). As chaves estrangeiras e a coluna gerada da sprint ativa saem antes
+-- e voltam no fim com os mesmos nomes. Reescreve todas as tabelas: rodar em janela de manutenção.
+
+ALTER TABLE project_user DROP FOREIGN KEY FK4ug72llnm0n7yafwntgdswl3y;
+ALTER TABLE project_user DROP FOREIGN KEY FK4jl2o131jivd80xsuw6pivnbx;
+ALTER TABLE sprint DROP FOREIGN KEY FKerwve0blrvfhqm1coxo69f0xr;
+ALTER TABLE user_story DROP FOREIGN KEY FKwswc3uhx3p0yuscuxsqh2ywt;
+ALTER TABLE user_story DROP FOREIGN KEY FKb1dan6s8h4tdply2gbj0qat4d;
+
+ALTER TABLE sprint DROP COLUMN active_project_id;
+
+ALTER TABLE project MODIFY project_id VARBINARY(36) NOT NULL;
+UPDATE project SET project_id = UNHEX(REPLACE(project_id, '-', ''));
+ALTER TABLE project MODIFY project_id BINARY(16) NOT NULL;
+
+ALTER TABLE user MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE user SET user_id = UNHEX(REPLACE(user_id, '-', ''));
+ALTER TABLE user MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE project_user
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36),
+    MODIFY user_id VARBINARY(36);
+UPDATE project_user SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', '')),
+    user_id = UNHEX(REPLACE(user_id, '-', ''));
+ALTER TABLE project_user
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16),
+    MODIFY user_id BINARY(16);
+
+ALTER TABLE sprint
+    MODIFY sprint_id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36);
+UPDATE sprint SET
+    sprint_id = UNHEX(REPLACE(sprint_id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', ''));
+ALTER TABLE sprint
+    MODIFY sprint_id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16);
+
+ALTER TABLE user_story
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36),
+    MODIFY sprint_id VARBINARY(36);
+UPDATE user_story SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', '')),
+    sprint_id = UNHEX(REPLACE(sprint_id, '-', ''));
+ALTER TABLE user_story
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16),
+    MODIFY sprint_id BINARY(16);
+
+ALTER TABLE user_story_status_transition
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36) NOT NULL,
+    MODIFY user_story_id VARBINARY(36) NOT NULL,
+    MODIFY sprint_id VARBINARY(36),
+    MODIFY actor_id VARBINARY(36);
+UPDATE user_story_status_transition SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', '')),
+    user_story_id = UNHEX(REPLACE(user_story_id, '-', '')),
+    sprint_id = UNHEX(REPLACE(sprint_id, '-', '')),
+    actor_id = UNHEX(REPLACE(actor_id, '-', ''));
+ALTER TABLE user_story_status_transition
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16) NOT NULL,
+    MODIFY user_story_id BINARY(16) NOT NULL,
+    MODIFY sprint_id BINARY(16),
+    MODIFY actor_id BINARY(16);
+
+ALTER TABLE sprint_daily_rollup
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36) NOT NULL,
+    MODIFY sprint_id VARBINARY(36) NOT NULL;
+UPDATE sprint_daily_rollup SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', '')),
+    sprint_id = UNHEX(REPLACE(sprint_id, '-', ''));
+ALTER TABLE sprint_daily_rollup
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16) NOT NULL,
+    MODIFY sprint_id BINARY(16) NOT NULL;
+
+ALTER TABLE priority_daily_rollup
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY project_id VARBINARY(36) NOT NULL;
+UPDATE priority_daily_rollup SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    project_id = UNHEX(REPLACE(project_id, '-', ''));
+ALTER TABLE priority_daily_rollup
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY project_id BINARY(16) NOT NULL;
+
+ALTER TABLE refresh_token
+    MODIFY id VARBINARY(36) NOT NULL,
+    MODIFY session_id VARBINARY(36) NOT NULL,
+    MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE refresh_token SET
+    id = UNHEX(REPLACE(id, '-', '')),
+    session_id = UNHEX(REPLACE(session_id, '-', '')),
+    user_id = UNHEX(REPLACE(user_id, '-', ''));
+ALTER TABLE refresh_token
+    MODIFY id BINARY(16) NOT NULL,
+    MODIFY session_id BINARY(16) NOT NULL,
+    MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE sprint ADD COLUMN active_project_id BINARY(16)
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN project_id END);
+ALTER TABLE sprint ADD CONSTRAINT UKn528sh8sinu0vrsnxgems6y45 UNIQUE (active_project_id);
+
+ALTER TABLE project_user ADD CONSTRAINT FK4ug72llnm0n7yafwntgdswl3y FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE project_user ADD CONSTRAINT FK4jl2o131jivd80xsuw6pivnbx FOREIGN KEY (user_id) REFERENCES user (user_id);
+ALTER TABLE sprint ADD CONSTRAINT FKerwve0blrvfhqm1coxo69f0xr FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKwswc3uhx3p0yuscuxsqh2ywt FOREIGN KEY (project_id) REFERENCES project (project_id);
+ALTER TABLE user_story ADD CONSTRAINT FKb1dan6s8h4tdply2gbj0qat4d FOREIGN KEY (sprint_id) REFERENCES sprint (sprint_id);
@@ -0,0 +1,20 @@
+-- Ordem manual do backlog por chaves fracionárias (RankKeys): mover uma história grava só a
+-- linha dela. A coluna é ascii_bin para que o banco compare as chaves byte a byte, como o Java.
+-- As histórias existentes recebem chaves espaçadas na ordem atual do quadro (prioridade, id):
+-- a n-ésima de cada projeto fica com n * 36^2 + 18 em base 36, seis dígitos, sem zero no fim.
+
+ALTER TABLE user_story ADD COLUMN rank_key varchar(255) CHARACTER SET ascii COLLATE ascii_bin;
+
+UPDATE user_story u
+JOIN (
+    SELECT id, ROW_NUMBER() OVER (
+        PARTITION BY project_id
+        ORDER BY CASE priority WHEN 'HIGH' THEN 0 WHEN 'MEDIUM' THEN 1 WHEN 'LOW' THEN 2 ELSE 3 END, id
+    ) AS n
+    FROM user_story
+) ranked ON ranked.id = u.id
+SET u.rank_key = LOWER(LPAD(CONV(ranked.n * 1296 + 18, 10, 36), 6, '0'));
+
+ALTER TABLE user_story MODIFY rank_key varchar(255) CHARACTER SET ascii COLLATE ascii_bin NOT NULL;
+
+CREATE INDEX idx_user_story_project_rank ON user_story (project_id, deleted_at, rank_key);
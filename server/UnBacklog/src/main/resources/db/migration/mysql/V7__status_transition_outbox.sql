@@ -0,0 +1,8 @@
+-- Histórico de status como outbox: a transição é gravada na transação da mudança de status e
+-- rolled_up_at fica nulo até o StatusHistoryWriter aplicá-la aos agregados diários. As
+-- transições existentes já foram agregadas pelo gravador anterior.
+
+ALTER TABLE user_story_status_transition ADD COLUMN rolled_up_at datetime(6);
+UPDATE user_story_status_transition SET rolled_up_at = CURRENT_TIMESTAMP(6);
+
+CREATE INDEX idx_transition_pending ON user_story_status_transition (rolled_up_at);
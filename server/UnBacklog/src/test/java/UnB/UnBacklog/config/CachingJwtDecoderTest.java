@@ -0,0 +1,50 @@
+package UnB.UnBacklog.config;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+class CachingJwtDecoderTest {
+
+	private final JwtDecoder delegate = mock(JwtDecoder.class);
+	private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10);
+
+	@Test
+	void verifiesEachTokenOnlyOnceUntilExpiration() {
+		Jwt jwt = jwt(Instant.now().plusSeconds(600));
+		when(delegate.decode("token")).thenReturn(jwt);
+
+		assertSame(jwt, decoder.decode("token"));
+		assertSame(jwt, decoder.decode("token"));
+
+		verify(delegate, times(1)).decode("token");
+	}
+
+	@Test
+	void doesNotServeExpiredTokensFromCache() {
+		Jwt expired = jwt(Instant.now().minusSeconds(1));
+		when(delegate.decode("token")).thenReturn(expired);
+
+		decoder.decode("token");
+		decoder.decode("token");
+
+		verify(delegate, times(2)).decode("token");
+	}
+
+	private Jwt jwt(Instant expiresAt) {
+		return Jwt.withTokenValue("token")
+			.header("alg", "RS256")
+			.subject("00000000-0000-0000-0000-000000000001")
+			.issuedAt(expiresAt.minusSeconds(1800))
+			.expiresAt(expiresAt)
+			.build();
+	}
+}
@@ -0,0 +1,63 @@
+package UnB.UnBacklog.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import UnB.UnBacklog.service.TokenRevocationService;
+import jakarta.servlet.http.Cookie;
+
+class JwtCookieAuthenticationFilterTest {
+
+	private static final UUID OPERATOR = UUID.fromString("00000000-0000-0000-0000-000000000001");
+	private static final UUID USER = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+	private final JwtDecoder jwtDecoder = mock(JwtDecoder.class);
+	private final JwtCookieAuthenticationFilter filter = new JwtCookieAuthenticationFilter(
+		jwtDecoder, mock(TokenRevocationService.class), " " + OPERATOR + " ,");
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void onlyListedOperatorsGetTheOperatorRole() throws Exception {
+		assertEquals(List.of("ROLE_OPERATOR"), authorities(authenticate(OPERATOR)));
+		assertTrue(authorities(authenticate(USER)).isEmpty());
+	}
+
+	private Authentication authenticate(UUID userId) throws Exception {
+		String token = "token-" + userId;
+		when(jwtDecoder.decode(token)).thenReturn(Jwt.withTokenValue(token)
+			.header("alg", "RS256")
+			.subject(userId.toString())
+			.expiresAt(Instant.now().plusSeconds(600))
+			.build());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/metrics/caches");
+		request.setCookies(new Cookie("token", token));
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	private static List<String> authorities(Authentication authentication) {
+		return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+	}
+}
@@ -0,0 +1,71 @@
+package UnB.UnBacklog.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import jakarta.servlet.http.Cookie;
+
+// O cookie do access token expira junto com o JWT: a requisição seguinte chega sem ele e precisa
+// receber 401, que é o que o cliente (api.ts) trata chamando /api/auth/refresh e repetindo
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SessionRefreshTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// O cadastro faz commit no H2 compartilhado pelos contextos dos outros testes
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("refresh_token", "revoked_token", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+	}
+
+	@Test
+	void requestWithoutAccessCookieGets401AndSucceedsAfterRefresh() throws Exception {
+		String email = "sessao-" + UUID.randomUUID() + "@unb.br";
+		MvcResult registered = mockMvc.perform(post("/api/auth/register")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\":\"Ana\",\"email\":\"" + email + "\",\"password\":\"senha-segura\"}"))
+			.andExpect(status().isOk())
+			.andReturn();
+		Cookie accessToken = registered.getResponse().getCookie("token");
+		Cookie refreshToken = registered.getResponse().getCookie("refresh_token");
+		assertNotNull(refreshToken);
+
+		mockMvc.perform(get("/api/project"))
+			.andExpect(status().isUnauthorized());
+
+		MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh").cookie(refreshToken))
+			.andExpect(status().isOk())
+			.andReturn();
+		Cookie renewed = refreshed.getResponse().getCookie("token");
+		assertNotNull(renewed);
+		assertNotEquals(accessToken.getValue(), renewed.getValue());
+
+		mockMvc.perform(get("/api/project").cookie(renewed))
+			.andExpect(status().isOk());
+	}
+}
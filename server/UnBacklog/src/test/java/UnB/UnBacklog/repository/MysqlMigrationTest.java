@@ -0,0 +1,119 @@
+package UnB.UnBacklog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+// Roda as migrações do MySQL num MySQL de verdade (precisa de Docker; sem ele o teste é pulado).
+// O banco "test" nasce vazio e o contexto só sobe se o Hibernate validar o esquema resultante;
+// o "legacy" começa como o antigo ddl-auto=update deixava, com dados, entra como versão 1 e
+// precisa terminar com o mesmo esquema
+@DataJpaTest
+@Testcontainers(disabledWithoutDocker = true)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MysqlMigrationTest {
+
+	// root para poder criar o segundo banco
+	@Container
+	static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.4").withUsername("root");
+
+	@DynamicPropertySource
+	static void datasource(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", mysql::getJdbcUrl);
+		registry.add("spring.datasource.username", mysql::getUsername);
+		registry.add("spring.datasource.password", mysql::getPassword);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void emptyDatabaseRunsTheWholeChain() {
+		assertEquals("8", jdbcTemplate.queryForObject(
+			"SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank DESC LIMIT 1", String.class));
+	}
+
+	@Test
+	void databaseFromDdlAutoUpdateIsBaselinedAndMigrated() {
+		jdbcTemplate.execute("CREATE DATABASE legacy");
+		DataSource legacy = new DriverManagerDataSource(
+			"jdbc:mysql://" + mysql.getHost() + ":" + mysql.getMappedPort(MySQLContainer.MYSQL_PORT) + "/legacy",
+			mysql.getUsername(), mysql.getPassword());
+		new ResourceDatabasePopulator(new ClassPathResource("db/migration/mysql/V1__baseline.sql")).execute(legacy);
+
+		JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+		UUID projectId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID olderSprintId = UUID.randomUUID();
+		UUID newerSprintId = UUID.randomUUID();
+		UUID userStoryId = UUID.randomUUID();
+		legacyJdbc.update("INSERT INTO project (project_id, name, created_at) VALUES (?, 'Projeto', NOW(6))", projectId.toString());
+		legacyJdbc.update("INSERT INTO user (user_id, email, name, password) VALUES (?, 'ana@unb.br', 'Ana', 'x')", userId.toString());
+		legacyJdbc.update("INSERT INTO project_user (id, project_id, user_id, role) VALUES (?, ?, ?, 'SCRUM_MASTER')",
+			UUID.randomUUID().toString(), projectId.toString(), userId.toString());
+		// Duas ativações concorrentes do código antigo
+		legacyJdbc.update("INSERT INTO sprint (sprint_id, project_id, status, start_date) VALUES (?, ?, 'ACTIVE', '2024-01-01')",
+			olderSprintId.toString(), projectId.toString());
+		legacyJdbc.update("INSERT INTO sprint (sprint_id, project_id, status, start_date) VALUES (?, ?, 'ACTIVE', '2024-02-01')",
+			newerSprintId.toString(), projectId.toString());
+		legacyJdbc.update("INSERT INTO user_story (id, project_id, sprint_id, title, priority, status) VALUES (?, ?, ?, 'História', 'HIGH', 'TO_DO')",
+			userStoryId.toString(), projectId.toString(), newerSprintId.toString());
+
+		Flyway.configure()
+			.dataSource(legacy)
+			.locations("classpath:db/migration/mysql")
+			.baselineOnMigrate(true)
+			.baselineVersion("1")
+			.load()
+			.migrate();
+
+		assertEquals(List.of(newerSprintId), legacyJdbc.query("SELECT sprint_id FROM sprint WHERE status = 'ACTIVE'",
+			(resultSet, row) -> uuid(resultSet.getBytes(1))));
+		assertEquals(1, legacyJdbc.queryForObject("SELECT COUNT(*) FROM user_story WHERE id = ? AND sprint_id = ? AND version = 0",
+			Integer.class, bytes(userStoryId), bytes(newerSprintId)));
+		assertEquals(schema("test"), schema("legacy"));
+	}
+
+	private List<String> schema(String database) {
+		List<String> schema = jdbcTemplate.queryForList("""
+			SELECT CONCAT_WS(' ', table_name, column_name, column_type, is_nullable, generation_expression)
+			FROM information_schema.columns WHERE table_schema = ? AND table_name <> 'flyway_schema_history'
+			ORDER BY table_name, column_name""", String.class, database);
+		schema.addAll(jdbcTemplate.queryForList("""
+			SELECT CONCAT_WS(' ', table_name, index_name, non_unique, GROUP_CONCAT(column_name ORDER BY seq_in_index))
+			FROM information_schema.statistics WHERE table_schema = ? AND table_name <> 'flyway_schema_history'
+			GROUP BY table_name, index_name, non_unique ORDER BY table_name, index_name""", String.class, database));
+		return schema;
+	}
+
+	private static byte[] bytes(UUID uuid) {
+		return ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array();
+	}
+
+	private static UUID uuid(byte[] bytes) {
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return new UUID(buffer.getLong(), buffer.getLong());
+	}
+}
@@ -0,0 +1,179 @@
+package UnB.UnBacklog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.config.HibernateMetricsConfig;
+import UnB.UnBacklog.config.RequestQueryMetrics;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+// Roda o EXPLAIN do SQL que o Hibernate gera para as consultas quentes sobre o esquema das
+// migrações e falha se alguma tabela for lida por varredura completa em vez de índice
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HibernateMetricsConfig.class)
+class QueryPlanTest {
+
+	@Autowired
+	private UserStoryRepository userStoryRepository;
+
+	@Autowired
+	private SprintRepository sprintRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void hotQueriesUseIndexes() throws Exception {
+		UUID projectId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		UUID sprintId = UUID.randomUUID();
+
+		RequestQueryMetrics metrics = RequestQueryMetrics.begin();
+		try {
+			userStoryRepository.countByStatus(projectId);
+			userStoryRepository.countByPriority(projectId);
+			userStoryRepository.countBySprint(projectId);
+			userStoryRepository.countBySprintId(sprintId);
+			userStoryRepository.findVersionsByProjectId(projectId);
+			userStoryRepository.findDTOsByProjectId(projectId);
+			userStoryRepository.findDTOsByProjectIdAndIds(projectId, Set.of(UUID.randomUUID()));
+			userStoryRepository.findPage(projectId, new UserStoryRepositoryCustom.Filter(UserStoryStatus.TO_DO, null, null, false),
+				UserStorySort.PRIORITY, Sort.Direction.ASC, null, 20);
+			userStoryRepository.findPage(projectId, new UserStoryRepositoryCustom.Filter(null, null, null, false),
+				UserStorySort.RANK, Sort.Direction.ASC, new UserStoryRepositoryCustom.Keyset("i", UUID.randomUUID()), 20);
+			userStoryRepository.findMaxRankByProjectId(projectId);
+			try (var userStories = userStoryRepository.streamSprintDTOsByProjectId(projectId)) {
+				userStories.count();
+			}
+			try (var userStories = userStoryRepository.streamDTOsByProjectIdOrderByRank(projectId)) {
+				userStories.count();
+			}
+			sprintRepository.findSummariesByProjectId(projectId);
+			sprintRepository.findSummariesByProjectIdAndStatus(projectId, SprintStatus.ACTIVE);
+			sprintRepository.findVersionsByProjectId(projectId);
+			projectRepository.findRoleByProjectIdAndUserId(projectId, userId);
+			projectRepository.findUsersWithRolesByProjectId(projectId);
+			userRepository.findByEmail("ana@unb.br");
+			userRepository.findProjectMembersByUserId(userId);
+		} finally {
+			RequestQueryMetrics.end();
+		}
+
+		List<String> fullScans = new ArrayList<>();
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+		for (String sql : metrics.getBySql().keySet()) {
+			String plan = explain(connection, sql);
+			if (plan.toLowerCase().contains(".tablescan")) {
+				fullScans.add(plan);
+			}
+		}
+
+		assertTrue(metrics.getBySql().size() >= 15, "consultas capturadas: " + metrics.getBySql().size());
+		assertTrue(fullScans.isEmpty(), "varredura completa em:\n" + String.join("\n\n", fullScans));
+	}
+
+	// Com a tabela vazia o H2 não tem seletividade para escolher entre os índices: o teste grava
+	// um backlog com alguns projetos e atualiza as estatísticas antes do EXPLAIN. O ANALYZE
+	// confirma a transação, então o teste roda sem ela e apaga o que gravou
+	@Test
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	void keysetPagesSeekOnTheSortIndex() throws Exception {
+		try {
+			explainKeysetPages();
+		} finally {
+			jdbcTemplate.update("DELETE FROM user_story");
+			jdbcTemplate.update("DELETE FROM project");
+		}
+	}
+
+	private void explainKeysetPages() throws Exception {
+		UUID projectId = null;
+		for (int p = 0; p < 10; p++) {
+			Project project = new Project();
+			project.setName("Projeto " + p);
+			project = projectRepository.save(project);
+			projectId = project.getProjectId();
+			List<UserStory> userStories = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				UserStory userStory = new UserStory();
+				userStory.setTitle("História " + i);
+				userStory.setProject(project);
+				userStory.setPriority(UserStoryPriority.values()[i % 3]);
+				userStory.setStatus(UserStoryStatus.values()[i % 3]);
+				userStory.setRank("i" + i);
+				userStories.add(userStory);
+			}
+			userStoryRepository.saveAll(userStories);
+		}
+
+		UserStoryRepositoryCustom.Filter all = new UserStoryRepositoryCustom.Filter(null, null, null, false);
+		UserStoryRepositoryCustom.Keyset after = new UserStoryRepositoryCustom.Keyset("1", UUID.randomUUID());
+		RequestQueryMetrics metrics = RequestQueryMetrics.begin();
+		try {
+			userStoryRepository.findPage(projectId, all, UserStorySort.PRIORITY, Sort.Direction.ASC, after, 20);
+			userStoryRepository.findPage(projectId, all, UserStorySort.STATUS, Sort.Direction.DESC, after, 20);
+		} finally {
+			RequestQueryMetrics.end();
+		}
+
+		List<String> plans = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+			statement.execute("ANALYZE");
+			for (String sql : metrics.getBySql().keySet()) {
+				plans.add(explain(connection, sql).toLowerCase());
+			}
+		}
+		assertTrue(plans.stream().anyMatch(plan -> plan.contains("idx_user_story_project_priority")), String.join("\n\n", plans));
+		assertTrue(plans.stream().anyMatch(plan -> plan.contains("idx_user_story_project_status_rank")), String.join("\n\n", plans));
+	}
+
+	// Parâmetros ficam sem valor: o H2 escolhe o plano só pela forma da consulta
+	private String explain(Connection connection, String sql) throws Exception {
+		try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+			 ResultSet resultSet = statement.executeQuery()) {
+			StringBuilder plan = new StringBuilder();
+			while (resultSet.next()) {
+				plan.append(resultSet.getString(1));
+			}
+			return plan.toString();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package UnB.UnBacklog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.config.SecondLevelCacheConfig;
+import UnB.UnBacklog.controller.ProjectController.Associate;
+import UnB.UnBacklog.dto.ProjectUserDTO;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.service.BoardReadModelService;
+import UnB.UnBacklog.service.ProjectMembershipService;
+import UnB.UnBacklog.service.ProjectService;
+import UnB.UnBacklog.service.RankRebalancer;
+import UnB.UnBacklog.service.SecondLevelCacheService;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.Utils;
+import jakarta.persistence.EntityManagerFactory;
+
+// Sem a transação de teste: o cache só recebe o que foi confirmado
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheService.class, ProjectService.class, RankRebalancer.class, BoardReadModelService.class, ProjectMembershipService.class})
+class SecondLevelCacheTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SecondLevelCacheService secondLevelCacheService;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Statistics statistics;
+	private User owner;
+	private User developer;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		owner = user("Owner", "owner@unb.br");
+		developer = user("Dev", "dev@unb.br");
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("project_user", "project", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void repeatedReadsSkipTheDatabase() {
+		projectService.createProject(TOKEN, "Projeto", "", List.of(new Associate("dev@unb.br", ProjectRole.DEVELOPER)));
+		UUID projectId = userRepository.findProjectsByUserId(owner.getUserId()).get(0).getProjectId();
+		projectRepository.findUsersWithRolesByProjectId(projectId);
+		userRepository.findByEmail("dev@unb.br");
+
+		statistics.clear();
+		for (int i = 0; i < 3; i++) {
+			assertTrue(projectRepository.findById(projectId).isPresent());
+			assertTrue(userRepository.findById(owner.getUserId()).isPresent());
+			assertEquals(developer.getUserId(), userRepository.findByEmail("dev@unb.br").orElseThrow().getUserId());
+			assertEquals(1, userRepository.findProjectsByUserId(owner.getUserId()).size());
+			assertEquals(2, projectRepository.findUsersWithRolesByProjectId(projectId).size());
+		}
+
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(1.0, secondLevelCacheService.stats().get(SecondLevelCacheConfig.MEMBERSHIP_QUERY_REGION).hitRatio());
+	}
+
+	@Test
+	void createProjectInvalidatesCachedMemberships() {
+		projectService.createProject(TOKEN, "Primeiro", "", List.of());
+		assertEquals(1, userRepository.findProjectsByUserId(owner.getUserId()).size());
+		assertEquals(0, userRepository.findProjectsByUserId(developer.getUserId()).size());
+
+		projectService.createProject(TOKEN, "Segundo", "", List.of(new Associate("dev@unb.br", ProjectRole.DEVELOPER)));
+
+		assertEquals(2, userRepository.findProjectsByUserId(owner.getUserId()).size());
+		List<Project> developerProjects = userRepository.findProjectsByUserId(developer.getUserId());
+		assertEquals(List.of("Segundo"), developerProjects.stream().map(Project::getName).toList());
+		assertEquals(List.of(ProjectRole.PRODUCT_OWNER, ProjectRole.DEVELOPER),
+			projectRepository.findUsersWithRolesByProjectId(developerProjects.get(0).getProjectId()).stream()
+				.map(ProjectUserDTO::getRole)
+				.sorted()
+				.toList());
+	}
+
+	@Test
+	void removedProjectLeavesTheCache() {
+		projectService.createProject(TOKEN, "Projeto", "", List.of());
+		Project project = userRepository.findProjectsByUserId(owner.getUserId()).get(0);
+		assertTrue(projectRepository.findById(project.getProjectId()).isPresent());
+
+		projectRepository.delete(project);
+
+		assertTrue(projectRepository.findById(project.getProjectId()).isEmpty());
+		assertEquals(0, userRepository.findProjectsByUserId(owner.getUserId()).size());
+	}
+
+	private User user(String name, String email) {
+		User user = new User();
+		user.setName(name);
+		user.setEmail(email);
+		return userRepository.save(user);
+	}
+}
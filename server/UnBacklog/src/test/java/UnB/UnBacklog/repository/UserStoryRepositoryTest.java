@@ -0,0 +1,141 @@
+package UnB.UnBacklog.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import UnB.UnBacklog.dto.PriorityCountDTO;
+import UnB.UnBacklog.dto.SprintCountDTO;
+import UnB.UnBacklog.dto.StatusCountDTO;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.RankKeys;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class UserStoryRepositoryTest {
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private SprintRepository sprintRepository;
+
+	@Autowired
+	private UserStoryRepository userStoryRepository;
+
+	private Project project;
+	private Sprint sprint;
+
+	@BeforeEach
+	void setUp() {
+		project = new Project();
+		project.setName("Projeto");
+		project = projectRepository.save(project);
+
+		sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setStatus(SprintStatus.PLANNED);
+		sprint = sprintRepository.save(sprint);
+
+		UserStoryPriority[] priorities = UserStoryPriority.values();
+		String[] ranks = RankKeys.spread(25);
+		for (int i = 0; i < 25; i++) {
+			UserStory userStory = new UserStory();
+			userStory.setTitle("Story " + i);
+			userStory.setProject(project);
+			userStory.setPriority(priorities[i % priorities.length]);
+			userStory.setStatus(i % 2 == 0 ? UserStoryStatus.TO_DO : UserStoryStatus.DONE);
+			userStory.setSprint(i < 10 ? sprint : null);
+			userStory.setRank(ranks[24 - i]);
+			userStoryRepository.save(userStory);
+		}
+	}
+
+	@Test
+	void walksEveryStoryExactlyOnceInPriorityOrder() {
+		UserStoryRepositoryCustom.Filter filter = new UserStoryRepositoryCustom.Filter(null, null, null, false);
+		List<UserStoryDTO> all = new ArrayList<>();
+		UserStoryRepositoryCustom.Keyset after = null;
+		List<UserStoryDTO> page;
+		do {
+			page = userStoryRepository.findPage(project.getProjectId(), filter, UserStorySort.PRIORITY, Sort.Direction.ASC, after, 7);
+			all.addAll(page);
+			if (!page.isEmpty()) {
+				UserStoryDTO last = page.get(page.size() - 1);
+				after = new UserStoryRepositoryCustom.Keyset(UserStorySort.PRIORITY.keyOf(last), last.id());
+			}
+		} while (page.size() == 7);
+
+		assertEquals(25, all.size());
+		Set<UUID> ids = new HashSet<>();
+		all.forEach(userStory -> ids.add(userStory.id()));
+		assertEquals(25, ids.size());
+		for (int i = 1; i < all.size(); i++) {
+			assertTrue(all.get(i - 1).priority().ordinal() <= all.get(i).priority().ordinal());
+		}
+	}
+
+	@Test
+	void walksTheBacklogInRankOrder() {
+		UserStoryRepositoryCustom.Filter filter = new UserStoryRepositoryCustom.Filter(null, null, null, false);
+		List<UserStoryDTO> first = userStoryRepository.findPage(project.getProjectId(), filter, UserStorySort.RANK, Sort.Direction.ASC, null, 10);
+		UserStoryDTO last = first.get(first.size() - 1);
+		List<UserStoryDTO> rest = userStoryRepository.findPage(project.getProjectId(), filter, UserStorySort.RANK, Sort.Direction.ASC,
+			new UserStoryRepositoryCustom.Keyset(UserStorySort.RANK.keyOf(last), last.id()), 100);
+
+		List<String> titles = new ArrayList<>();
+		first.forEach(userStory -> titles.add(userStory.title()));
+		rest.forEach(userStory -> titles.add(userStory.title()));
+		assertEquals(25, titles.size());
+		for (int i = 0; i < titles.size(); i++) {
+			assertEquals("Story " + (24 - i), titles.get(i));
+		}
+	}
+
+	@Test
+	void appliesStatusAndSprintFilters() {
+		UserStoryRepositoryCustom.Filter inSprint = new UserStoryRepositoryCustom.Filter(UserStoryStatus.TO_DO, null, sprint.getSprintId(), false);
+		UserStoryRepositoryCustom.Filter backlog = new UserStoryRepositoryCustom.Filter(null, null, null, true);
+
+		List<UserStoryDTO> sprintStories = userStoryRepository.findPage(project.getProjectId(), inSprint, UserStorySort.TITLE, Sort.Direction.DESC, null, 100);
+		List<UserStoryDTO> backlogStories = userStoryRepository.findPage(project.getProjectId(), backlog, UserStorySort.STATUS, Sort.Direction.ASC, null, 100);
+
+		assertEquals(5, sprintStories.size());
+		assertTrue(sprintStories.stream().allMatch(userStory -> sprint.getSprintId().equals(userStory.sprintId())));
+		assertEquals(15, backlogStories.size());
+		assertTrue(backlogStories.stream().allMatch(userStory -> userStory.sprintId() == null));
+	}
+
+	@Test
+	void countsStoriesPerStatusPriorityAndSprint() {
+		List<StatusCountDTO> byStatus = userStoryRepository.countByStatus(project.getProjectId());
+		List<PriorityCountDTO> byPriority = userStoryRepository.countByPriority(project.getProjectId());
+		List<SprintCountDTO> bySprint = userStoryRepository.countBySprint(project.getProjectId());
+
+		assertEquals(13L, byStatus.stream().filter(row -> row.status() == UserStoryStatus.TO_DO).findFirst().orElseThrow().count());
+		assertEquals(9L, byPriority.stream().filter(row -> row.priority() == UserStoryPriority.HIGH).findFirst().orElseThrow().count());
+		assertEquals(10L, bySprint.stream().filter(row -> sprint.getSprintId().equals(row.sprintId())).findFirst().orElseThrow().count());
+		assertEquals(15L, bySprint.stream().filter(row -> row.sprintId() == null).findFirst().orElseThrow().count());
+	}
+}
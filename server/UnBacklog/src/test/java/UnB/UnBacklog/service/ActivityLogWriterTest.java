@@ -0,0 +1,151 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.dto.ActivityEntryDTO;
+import UnB.UnBacklog.dto.ActivityPage;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.util.BoardEventType;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ActivityLogWriter.class, ActivityLogService.class, ProjectMembershipService.class})
+class ActivityLogWriterTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ActivityLogWriter activityLogWriter;
+
+	@Autowired
+	private ActivityLogService activityLogService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockitoBean
+	private Utils utils;
+
+	private User user;
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setName("Ana");
+		user.setEmail("ana@unb.br");
+		entityManager.persist(user);
+
+		project = new Project();
+		project.setName("Projeto");
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(user);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		project.getProjectUsers().add(projectUser);
+		entityManager.persist(project);
+		entityManager.flush();
+
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(user.getUserId());
+	}
+
+	@Test
+	void feedListsWrittenEntriesNewestFirst() throws Exception {
+		UUID userStoryId = UUID.randomUUID();
+		UUID sprintId = UUID.randomUUID();
+		long written = activityLogWriter.stats().written();
+		activityLogWriter.onBoardEvent(new BoardEvent(BoardEventType.USER_STORY_CREATED, project.getProjectId(), user.getUserId(),
+			new UserStoryDTO(userStoryId, "Login", null, UserStoryPriority.HIGH, UserStoryStatus.TO_DO, null, 0, "i"), null, null, null));
+		activityLogWriter.onBoardEvent(BoardEvent.userStoryMoved(project.getProjectId(), user.getUserId(), userStoryId, sprintId));
+		activityLogWriter.onBoardEvent(BoardEvent.sprintDeleted(project.getProjectId(), user.getUserId(), sprintId));
+		activityLogWriter.onBoardEvent(BoardEvent.sprintDeleted(UUID.randomUUID(), user.getUserId(), UUID.randomUUID()));
+		activityLogWriter.flush();
+
+		ActivityPage first = activityLogService.getActivity(TOKEN, project.getProjectId().toString(), null, 2);
+		assertEquals(List.of(BoardEventType.SPRINT_DELETED, BoardEventType.USER_STORY_MOVED),
+			first.items().stream().map(ActivityEntryDTO::type).toList());
+		assertEquals("Ana", first.items().get(0).actorName());
+		assertEquals(sprintId, first.items().get(1).sprintId());
+
+		ActivityPage second = activityLogService.getActivity(TOKEN, project.getProjectId().toString(), first.nextCursor(), 2);
+		assertEquals(1, second.items().size());
+		assertEquals("Login", second.items().get(0).title());
+		assertEquals(userStoryId, second.items().get(0).userStoryId());
+		assertNull(second.nextCursor());
+		assertEquals(written + 4, activityLogWriter.stats().written());
+	}
+
+	@Test
+	void shutdownWritesQueuedEntries() throws Exception {
+		activityLogWriter.onBoardEvent(BoardEvent.sprintDeleted(project.getProjectId(), user.getUserId(), UUID.randomUUID()));
+
+		activityLogWriter.shutdown();
+
+		assertEquals(1, activityLogService.getActivity(TOKEN, project.getProjectId().toString(), null, null).items().size());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void failedBatchIsRetriedBeforeDrainingMore() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+			.thenThrow(new DataAccessResourceFailureException("down"))
+			.thenReturn(new int[0][]);
+		ActivityLogWriter writer = new ActivityLogWriter(jdbcTemplate, transactionTemplate, 10, 2, 0, 3);
+		for (int i = 0; i < 3; i++) {
+			writer.onBoardEvent(BoardEvent.sprintDeleted(project.getProjectId(), user.getUserId(), UUID.randomUUID()));
+		}
+
+		writer.flush();
+		assertEquals(new ActivityLogWriter.Stats(1, 2, 0, 2, 0, 0), writer.stats());
+
+		writer.flush();
+		assertEquals(new ActivityLogWriter.Stats(0, 0, 3, 2, 0, 0), writer.stats());
+	}
+
+	@Test
+	void fullQueueDropsAfterTheOfferTimeout() {
+		ActivityLogWriter writer = new ActivityLogWriter(mock(JdbcTemplate.class), transactionTemplate, 1, 10, 1, 3);
+
+		writer.onBoardEvent(BoardEvent.sprintDeleted(project.getProjectId(), user.getUserId(), UUID.randomUUID()));
+		writer.onBoardEvent(BoardEvent.sprintDeleted(project.getProjectId(), user.getUserId(), UUID.randomUUID()));
+
+		assertEquals(new ActivityLogWriter.Stats(1, 0, 0, 0, 0, 1), writer.stats());
+	}
+}
@@ -0,0 +1,228 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.RefreshTokenRepository;
+import UnB.UnBacklog.repository.UserRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TokenRevocationService.class)
+class AuthServiceTest {
+
+	private static final String EMAIL = "ana@unb.br";
+	private static final String PASSWORD = "senha-secreta";
+	private static final String ADDRESS = "10.0.0.1";
+	private static JwtEncoder jwtEncoder;
+	private static JwtDecoder jwtDecoder;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private RefreshTokenRepository refreshTokenRepository;
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+	@BeforeAll
+	static void keys() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair keyPair = generator.generateKeyPair();
+		RSAKey key = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+			.privateKey((RSAPrivateKey) keyPair.getPrivate())
+			.build();
+		jwtEncoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(key)));
+		jwtDecoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+	}
+
+	@BeforeEach
+	void setUp() {
+		User user = new User();
+		user.setName("Ana");
+		user.setEmail(EMAIL);
+		user.setPassword(passwordEncoder.encode(PASSWORD));
+		entityManager.persist(user);
+		entityManager.flush();
+	}
+
+	@Test
+	void refreshRotatesTheTokenAndKeepsTheSession() {
+		AuthService authService = authService(30);
+		AuthService.AuthTokens login = authService.login(EMAIL, PASSWORD, ADDRESS);
+		assertEquals(1800, login.accessExpiresIn());
+		assertEquals(604800, login.refreshExpiresIn());
+
+		AuthService.AuthTokens refreshed = authService.refresh(login.refreshToken());
+		nextRequest();
+
+		assertNotNull(refreshed.refreshToken());
+		assertNotEquals(login.refreshToken(), refreshed.refreshToken());
+		assertEquals(sessionOf(login), sessionOf(refreshed));
+		assertNotNull(authService.refresh(refreshed.refreshToken()).refreshToken());
+	}
+
+	@Test
+	void concurrentRefreshWithinGraceOnlyIssuesAnAccessToken() {
+		AuthService authService = authService(30);
+		AuthService.AuthTokens login = authService.login(EMAIL, PASSWORD, ADDRESS);
+
+		authService.refresh(login.refreshToken());
+		nextRequest();
+		AuthService.AuthTokens second = authService.refresh(login.refreshToken());
+
+		assertNull(second.refreshToken());
+		assertEquals(sessionOf(login), sessionOf(second));
+		assertFalse(tokenRevocationService.isRevoked(sessionOf(login)));
+	}
+
+	@Test
+	void reuseAfterGraceEndsTheWholeSession() throws Exception {
+		AuthService authService = authService(0);
+		AuthService.AuthTokens login = authService.login(EMAIL, PASSWORD, ADDRESS);
+		AuthService.AuthTokens refreshed = authService.refresh(login.refreshToken());
+		nextRequest();
+		Thread.sleep(5);
+
+		assertThrows(BadCredentialsException.class, () -> authService.refresh(login.refreshToken()));
+		nextRequest();
+
+		assertTrue(tokenRevocationService.isRevoked(sessionOf(login)));
+		assertThrows(BadCredentialsException.class, () -> authService.refresh(refreshed.refreshToken()));
+	}
+
+	@Test
+	void logoutRevokesTheSessionAndItsRefreshTokens() {
+		AuthService authService = authService(30);
+		AuthService.AuthTokens login = authService.login(EMAIL, PASSWORD, ADDRESS);
+		AuthService.AuthTokens other = authService.login(EMAIL, PASSWORD, ADDRESS);
+
+		authService.logout(null, login.accessToken());
+		nextRequest();
+
+		assertTrue(tokenRevocationService.isRevoked(sessionOf(login)));
+		assertFalse(tokenRevocationService.isRevoked(sessionOf(other)));
+		assertThrows(BadCredentialsException.class, () -> authService.refresh(login.refreshToken()));
+		assertEquals(2, refreshTokenRepository.count());
+	}
+
+	@Test
+	void rejectsWrongPasswordAndUnknownRefreshToken() {
+		AuthService authService = authService(30);
+
+		assertThrows(BadCredentialsException.class, () -> authService.login(EMAIL, "errada", ADDRESS));
+		assertThrows(BadCredentialsException.class, () -> authService.refresh("nao-existe"));
+		assertThrows(BadCredentialsException.class, () -> authService.refresh(null));
+	}
+
+	@Test
+	void registerHashesBeforeOpeningTheTransaction() {
+		List<String> steps = new ArrayList<>();
+		PasswordHashingService hashing = new PasswordHashingService(passwordEncoder, 1, 4, 5000) {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				steps.add("hash");
+				return super.encode(rawPassword);
+			}
+		};
+		PlatformTransactionManager recording = new PlatformTransactionManager() {
+			@Override
+			public TransactionStatus getTransaction(TransactionDefinition definition) {
+				steps.add("transaction");
+				return transactionManager.getTransaction(definition);
+			}
+
+			@Override
+			public void commit(TransactionStatus status) {
+				transactionManager.commit(status);
+			}
+
+			@Override
+			public void rollback(TransactionStatus status) {
+				transactionManager.rollback(status);
+			}
+		};
+		AuthService authService = authService(hashing, new TransactionTemplate(recording), 30);
+
+		AuthService.AuthTokens tokens = authService.register("bia@unb.br", PASSWORD, "Bia", ADDRESS);
+		nextRequest();
+
+		assertEquals(List.of("hash", "transaction"), steps);
+		assertTrue(passwordEncoder.matches(PASSWORD, userRepository.findByEmail("bia@unb.br").get().getPassword()));
+		assertNotNull(authService.refresh(tokens.refreshToken()).refreshToken());
+
+		// Email repetido é recusado antes do hash
+		steps.clear();
+		assertThrows(BadCredentialsException.class, () -> authService.register(EMAIL, PASSWORD, "Ana", ADDRESS));
+		assertTrue(steps.isEmpty());
+	}
+
+	private AuthService authService(long graceSeconds) {
+		return authService(new PasswordHashingService(passwordEncoder, 1, 4, 5000),
+			new TransactionTemplate(transactionManager), graceSeconds);
+	}
+
+	private AuthService authService(PasswordHashingService hashing, TransactionTemplate transactionTemplate, long graceSeconds) {
+		return new AuthService(userRepository, hashing, new LoginThrottleService(5, 5, 30, 30, 100), jwtEncoder,
+			jwtDecoder, refreshTokenRepository, tokenRevocationService, transactionTemplate,
+			1800, 604800, 2592000, graceSeconds);
+	}
+
+	private String sessionOf(AuthService.AuthTokens tokens) {
+		return jwtDecoder.decode(tokens.accessToken()).getClaimAsString(AuthService.SESSION_CLAIM);
+	}
+
+	// Cada requisição real lê as linhas em um contexto de persistência novo
+	private void nextRequest() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+}
@@ -0,0 +1,175 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.dto.UserStorySearchPage;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BacklogSearchService.class, ProjectMembershipService.class})
+class BacklogSearchServiceTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private BacklogSearchService backlogSearchService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Project project;
+	private String projectId;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setName("Owner");
+		owner.setEmail("owner@unb.br");
+		entityManager.persist(owner);
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		project = new Project();
+		project.setName("Projeto");
+		entityManager.persist(project);
+		projectId = project.getProjectId().toString();
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(owner);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		entityManager.persist(projectUser);
+	}
+
+	@Test
+	void ranksTitleMatchesFirstAndIgnoresAccents() throws Exception {
+		UserStory inDescription = userStory("Cadastro de usuários", "Validar a autenticação por e-mail");
+		UserStory inTitle = userStory("Autenticação com JWT", "Emitir o token no login");
+		userStory("Relatório de sprint", "Gráfico de burndown");
+		entityManager.flush();
+
+		UserStorySearchPage page = backlogSearchService.search(TOKEN, projectId, "autenticacao", null, null);
+
+		assertEquals(2, page.total());
+		assertEquals(List.of(inTitle.getId(), inDescription.getId()), ids(page));
+	}
+
+	@Test
+	void requiresEveryTermAndMatchesTheLastOneAsPrefix() throws Exception {
+		UserStory match = userStory("Exportar backlog em CSV", null);
+		userStory("Exportar relatório", null);
+		userStory("Importar backlog", null);
+		entityManager.flush();
+
+		assertEquals(List.of(match.getId()), ids(backlogSearchService.search(TOKEN, projectId, "exportar back", null, null)));
+		assertEquals(0, backlogSearchService.search(TOKEN, projectId, "exportar inexistente", null, null).total());
+		assertEquals(0, backlogSearchService.search(TOKEN, projectId, "  ", null, null).total());
+	}
+
+	@Test
+	void ranksExactTermAbovePrefixExpansions() throws Exception {
+		userStory("Sprint 120", null);
+		UserStory exact = userStory("Sprint 12", null);
+		userStory("Sprint 125", null);
+		entityManager.flush();
+
+		UserStorySearchPage page = backlogSearchService.search(TOKEN, projectId, "sprint 12", null, null);
+
+		assertEquals(3, page.total());
+		assertEquals(exact.getId(), page.items().get(0).id());
+	}
+
+	@Test
+	void paginatesWithOffset() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			userStory("Tarefa " + i, null);
+		}
+		entityManager.flush();
+
+		UserStorySearchPage first = backlogSearchService.search(TOKEN, projectId, "tarefa", null, 2);
+		UserStorySearchPage last = backlogSearchService.search(TOKEN, projectId, "tarefa", 4, 2);
+
+		assertEquals(5, first.total());
+		assertEquals(2, first.items().size());
+		assertEquals(2, first.nextOffset());
+		assertEquals(1, last.items().size());
+		assertNull(last.nextOffset());
+	}
+
+	@Test
+	void boardEventsKeepTheIndexCurrent() throws Exception {
+		UserStory userStory = userStory("Quadro kanban", null);
+		entityManager.flush();
+		assertEquals(1, backlogSearchService.search(TOKEN, projectId, "kanban", null, null).total());
+
+		// Depois da primeira busca o índice só muda pelos eventos
+		userStory.setTitle("Quadro scrum");
+		entityManager.flush();
+		backlogSearchService.onBoardEvent(BoardEvent.userStoryUpdated(project.getProjectId(), null, userStory));
+		assertEquals(0, backlogSearchService.search(TOKEN, projectId, "kanban", null, null).total());
+		assertEquals(List.of(userStory.getId()), ids(backlogSearchService.search(TOKEN, projectId, "scrum", null, null)));
+
+		backlogSearchService.onBoardEvent(BoardEvent.userStoryDeleted(project.getProjectId(), null, userStory.getId()));
+		assertEquals(0, backlogSearchService.search(TOKEN, projectId, "scrum", null, null).total());
+	}
+
+	@Test
+	void lateEventWithAnOlderVersionDoesNotRollTheIndexBack() throws Exception {
+		UserStory userStory = userStory("Quadro kanban", null);
+		entityManager.flush();
+		UserStoryDTO stale = new UserStoryDTO(userStory.getId(), userStory.getTitle(), null, null, null, null,
+			userStory.getVersion(), userStory.getRank());
+		userStory.setTitle("Quadro scrum");
+		entityManager.flush();
+
+		// A busca monta o índice já com a versão nova; o evento da versão antiga chega depois
+		assertEquals(1, backlogSearchService.search(TOKEN, projectId, "scrum", null, null).total());
+		backlogSearchService.onBoardEvent(BoardEvent.userStoryCreated(project.getProjectId(), null, stale));
+
+		assertEquals(1, backlogSearchService.search(TOKEN, projectId, "scrum", null, null).total());
+		assertEquals(0, backlogSearchService.search(TOKEN, projectId, "kanban", null, null).total());
+	}
+
+	private List<UUID> ids(UserStorySearchPage page) {
+		return page.items().stream().map(UserStoryDTO::id).toList();
+	}
+
+	private UserStory userStory(String title, String description) {
+		UserStory userStory = new UserStory();
+		userStory.setTitle(title);
+		userStory.setDescription(description);
+		userStory.setProject(project);
+		userStory.setPriority(UserStoryPriority.MEDIUM);
+		userStory.setStatus(UserStoryStatus.TO_DO);
+		userStory.setRank("i");
+		entityManager.persist(userStory);
+		return userStory;
+	}
+}
@@ -0,0 +1,178 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import UnB.UnBacklog.dto.BacklogImportResult;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.BacklogFormat;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+// Lotes de 2 registros: os arquivos abaixo passam por vários lotes
+@DataJpaTest(properties = {"unbacklog.import.batch-size=2", "unbacklog.import.max-errors=3"})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({BacklogTransferService.class, ProjectMembershipService.class})
+@RecordApplicationEvents
+class BacklogTransferServiceTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private BacklogTransferService backlogTransferService;
+
+	@Autowired
+	private UserStoryRepository userStoryRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Project project;
+	private Sprint sprint;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setName("Ana");
+		owner.setEmail("ana@unb.br");
+		entityManager.persist(owner);
+
+		project = new Project();
+		project.setName("Projeto");
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(owner);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		project.getProjectUsers().add(projectUser);
+		entityManager.persist(project);
+
+		sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setStatus(SprintStatus.PLANNED);
+		entityManager.persist(sprint);
+		entityManager.flush();
+
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+	}
+
+	@Test
+	void importsCsvInFileOrderAndReportsEachBadLine() throws Exception {
+		String csv = "title,priority,status,description,sprintId\r\n" +
+			"Login,high,TO_DO,\"Entrar, com \"\"senha\"\"\",\r\n" +
+			"\"Relatório\nmensal\",LOW,,,\r\n" +
+			"Sem prioridade,URGENT,TO_DO,,\r\n" +
+			",HIGH,,,\r\n" +
+			"Na sprint,MEDIUM,DOING,," + sprint.getSprintId() + "\r\n" +
+			"\r\n" +
+			"Outra sprint,,,," + UUID.randomUUID() + "\r\n" +
+			"Fim,,,,\r\n" +
+			"\"Sem fim,,,,\r\n";
+
+		BacklogImportResult result = backlogTransferService.importUserStories(TOKEN, project.getProjectId().toString(),
+			BacklogFormat.CSV, new StringReader(csv));
+
+		assertEquals(4, result.imported());
+		assertEquals(4, result.failed());
+		assertEquals(List.of(5L, 6L, 9L), result.errors().stream().map(BacklogImportResult.LineError::line).toList());
+		assertTrue(result.errors().get(0).message().startsWith("Invalid priority 'URGENT'"));
+		assertEquals("title is required", result.errors().get(1).message());
+		assertEquals("Sprint not found", result.errors().get(2).message());
+
+		List<UserStoryDTO> userStories = inRankOrder();
+		assertEquals(List.of("Login", "Relatório\nmensal", "Na sprint", "Fim"), userStories.stream().map(UserStoryDTO::title).toList());
+		assertEquals("Entrar, com \"senha\"", userStories.get(0).description());
+		assertEquals(UserStoryPriority.HIGH, userStories.get(0).priority());
+		assertEquals(sprint.getSprintId(), userStories.get(2).sprintId());
+		assertEquals(4, events.stream(BoardEvent.class).count());
+	}
+
+	@Test
+	void importsJsonLines() throws Exception {
+		String jsonLines = "{\"title\": \"Cadastro\", \"priority\": \"MEDIUM\", \"status\": \"DONE\"}\n" +
+			"{\"title\": \"Quebrada\"\n" +
+			"\n" +
+			"[\"não é objeto\"]\n" +
+			"{\"title\": {\"texto\": \"x\"}}\n" +
+			"{\"title\": \"Busca\", \"status\": \"PRONTO\"}\n" +
+			"{\"title\": \"Relatórios\", \"sprintId\": \"" + sprint.getSprintId() + "\"}";
+
+		BacklogImportResult result = backlogTransferService.importUserStories(TOKEN, project.getProjectId().toString(),
+			BacklogFormat.JSONL, new StringReader(jsonLines));
+
+		assertEquals(2, result.imported());
+		assertEquals(4, result.failed());
+		assertEquals(List.of(2L, 4L, 5L), result.errors().stream().map(BacklogImportResult.LineError::line).toList());
+		assertEquals(List.of("Cadastro", "Relatórios"), inRankOrder().stream().map(UserStoryDTO::title).toList());
+		assertEquals(UserStoryStatus.DONE, inRankOrder().get(0).status());
+	}
+
+	@Test
+	void exportedCsvImportsBackInTheSameOrder() throws Exception {
+		String projectId = project.getProjectId().toString();
+		backlogTransferService.importUserStories(TOKEN, projectId, BacklogFormat.JSONL, new StringReader(
+			"{\"title\": \"Primeira\", \"description\": \"com, vírgula\"}\n" +
+			"{\"title\": \"Segunda\", \"priority\": \"LOW\"}\n" +
+			"{\"title\": \"Terceira\", \"sprintId\": \"" + sprint.getSprintId() + "\"}\n"));
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		backlogTransferService.exportUserStories(project.getProjectId(), BacklogFormat.CSV, csv);
+		ByteArrayOutputStream jsonLines = new ByteArrayOutputStream();
+		backlogTransferService.exportUserStories(project.getProjectId(), BacklogFormat.JSONL, jsonLines);
+		assertEquals(3, jsonLines.toString(StandardCharsets.UTF_8).lines().count());
+
+		BacklogImportResult result = backlogTransferService.importUserStories(TOKEN, projectId, BacklogFormat.CSV,
+			new StringReader(csv.toString(StandardCharsets.UTF_8)));
+
+		assertEquals(3, result.imported());
+		List<UserStoryDTO> userStories = inRankOrder();
+		assertEquals(List.of("Primeira", "Segunda", "Terceira", "Primeira", "Segunda", "Terceira"),
+			userStories.stream().map(UserStoryDTO::title).toList());
+		assertEquals("com, vírgula", userStories.get(3).description());
+		assertEquals(sprint.getSprintId(), userStories.get(5).sprintId());
+	}
+
+	private List<UserStoryDTO> inRankOrder() {
+		return userStoryRepository.findDTOsByProjectId(project.getProjectId()).stream()
+			.sorted(Comparator.comparing(UserStoryDTO::rank))
+			.toList();
+	}
+}
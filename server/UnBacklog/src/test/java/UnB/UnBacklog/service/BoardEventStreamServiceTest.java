@@ -0,0 +1,170 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import UnB.UnBacklog.controller.ProjectController;
+import UnB.UnBacklog.dto.BoardEvent;
+import UnB.UnBacklog.util.Utils;
+import jakarta.servlet.http.Cookie;
+
+class BoardEventStreamServiceTest {
+
+	private static final Pattern EVENT_ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+	private final UUID projectId = UUID.randomUUID();
+	private final UUID userId = UUID.randomUUID();
+	private final Utils utils = mock(Utils.class);
+
+	private BoardEventStreamService service(Executor executor, int replaySize, int connectionBuffer) {
+		when(utils.getUserIdByToken("token")).thenReturn(userId);
+		return new BoardEventStreamService(utils, mock(ProjectMembershipService.class), new ObjectMapper(),
+			executor, replaySize, connectionBuffer, 60_000, 600_000);
+	}
+
+	private MockMvc mockMvc(BoardEventStreamService service) {
+		return MockMvcBuilders.standaloneSetup(new ProjectController(mock(ProjectService.class),
+			mock(ProjectSummaryService.class), service, mock(ProjectAnalyticsService.class),
+			mock(BacklogSearchService.class), mock(BoardJsonWriter.class), mock(ActivityLogService.class),
+			mock(BacklogTransferService.class), mock(BoardReadModelService.class))).build();
+	}
+
+	private MvcResult connect(MockMvc mockMvc, String lastEventId) throws Exception {
+		MockHttpServletRequestBuilder request = get("/api/project/{projectId}/events", projectId)
+			.cookie(new Cookie("token", "token"));
+		if (lastEventId != null) {
+			request.header("Last-Event-ID", lastEventId);
+		}
+		MvcResult result = mockMvc.perform(request).andReturn();
+		assertTrue(result.getRequest().isAsyncStarted());
+		return result;
+	}
+
+	private void publish(BoardEventStreamService service, int count) {
+		for (int i = 0; i < count; i++) {
+			service.onBoardEvent(BoardEvent.userStoryDeleted(projectId, userId, UUID.randomUUID()));
+		}
+	}
+
+	private static List<String> eventIds(MvcResult result) throws Exception {
+		List<String> ids = new ArrayList<>();
+		Matcher matcher = EVENT_ID.matcher(result.getResponse().getContentAsString());
+		while (matcher.find()) {
+			ids.add(matcher.group(1));
+		}
+		return ids;
+	}
+
+	@Test
+	void reconnectReplaysOnlyEventsAfterLastEventId() throws Exception {
+		BoardEventStreamService service = service(Runnable::run, 500, 256);
+		MockMvc mockMvc = mockMvc(service);
+
+		MvcResult first = connect(mockMvc, null);
+		publish(service, 3);
+		List<String> delivered = eventIds(first);
+		assertEquals(3, delivered.size());
+
+		// O cliente caiu depois do primeiro evento e reconecta informando o último id recebido
+		MvcResult resumed = connect(mockMvc, delivered.get(0));
+		assertEquals(delivered.subList(1, 3), eventIds(resumed));
+		assertFalse(resumed.getResponse().getContentAsString().contains("event:reset"));
+
+		// Eventos novos chegam nas duas conexões
+		publish(service, 1);
+		assertEquals(4, eventIds(first).size());
+		assertEquals(3, eventIds(resumed).size());
+	}
+
+	@Test
+	void gapOutsideReplayWindowForcesReset() throws Exception {
+		BoardEventStreamService service = service(Runnable::run, 2, 256);
+		MockMvc mockMvc = mockMvc(service);
+
+		MvcResult first = connect(mockMvc, null);
+		publish(service, 5);
+		String oldest = eventIds(first).get(0);
+
+		MvcResult resumed = connect(mockMvc, oldest);
+		String body = resumed.getResponse().getContentAsString();
+		assertTrue(body.contains("event:reset"));
+		assertTrue(eventIds(resumed).isEmpty());
+	}
+
+	@Test
+	void gapLargerThanConnectionBufferForcesReset() throws Exception {
+		BoardEventStreamService service = service(Runnable::run, 500, 4);
+		MockMvc mockMvc = mockMvc(service);
+
+		MvcResult first = connect(mockMvc, null);
+		publish(service, 6);
+		String oldest = eventIds(first).get(0);
+
+		MvcResult resumed = connect(mockMvc, oldest);
+		assertTrue(resumed.getResponse().getContentAsString().contains("event:reset"));
+		assertTrue(eventIds(resumed).isEmpty());
+	}
+
+	@Test
+	void idFromAnotherEpochForcesReset() throws Exception {
+		BoardEventStreamService service = service(Runnable::run, 500, 256);
+		MockMvc mockMvc = mockMvc(service);
+		publish(service, 2);
+
+		MvcResult resumed = connect(mockMvc, "outro-1");
+		assertTrue(resumed.getResponse().getContentAsString().contains("event:reset"));
+	}
+
+	@Test
+	void slowSubscriberIsDisconnected() throws Exception {
+		// Executor que nunca roda o envio: a fila da conexão só enche
+		List<Runnable> pending = new ArrayList<>();
+		BoardEventStreamService service = service(pending::add, 500, 4);
+		MockMvc mockMvc = mockMvc(service);
+
+		MvcResult slow = connect(mockMvc, null);
+		assertThrows(IllegalStateException.class, () -> slow.getAsyncResult(0));
+
+		publish(service, 4);
+		// Emitter completo encerra a requisição assíncrona
+		assertDoesNotThrow(() -> slow.getAsyncResult(1000));
+
+		// O envio atrasado não escreve mais nada na conexão encerrada
+		pending.forEach(Runnable::run);
+		assertTrue(eventIds(slow).isEmpty());
+	}
+
+	@Test
+	void rejectedDrainDisconnectsSubscriber() throws Exception {
+		BoardEventStreamService service = service(task -> {
+			throw new RejectedExecutionException("full");
+		}, 500, 256);
+		MvcResult result = connect(mockMvc(service), null);
+
+		assertDoesNotThrow(() -> result.getAsyncResult(1000));
+		publish(service, 1);
+		assertTrue(eventIds(result).isEmpty());
+	}
+}
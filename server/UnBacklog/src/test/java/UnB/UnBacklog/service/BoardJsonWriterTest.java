@@ -0,0 +1,126 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(BoardJsonWriter.class)
+class BoardJsonWriterTest {
+
+	@Autowired
+	private BoardJsonWriter boardJsonWriter;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Project project;
+
+	@BeforeEach
+	void setUp() {
+		project = new Project();
+		project.setName("Projeto");
+		entityManager.persist(project);
+	}
+
+	@Test
+	void writesEveryUserStoryOfTheProject() throws Exception {
+		Sprint sprint = sprint("Sprint 1");
+		for (int i = 0; i < 30; i++) {
+			userStory("História " + i, i % 3 == 0 ? sprint : null);
+		}
+		Project other = new Project();
+		other.setName("Outro");
+		entityManager.persist(other);
+		entityManager.flush();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		boardJsonWriter.writeUserStories(project.getProjectId(), out);
+
+		JsonNode userStories = objectMapper.readTree(out.toByteArray());
+		assertEquals(30, userStories.size());
+		assertEquals(10, userStories.findValues("sprintId").stream().filter(node -> !node.isNull()).count());
+	}
+
+	@Test
+	void nestsEachSprintsUserStoriesInsideIt() throws Exception {
+		Sprint first = sprint("Sprint 1");
+		Sprint second = sprint("Sprint 2");
+		sprint("Sprint vazia");
+		for (int i = 0; i < 12; i++) {
+			userStory("História " + i, i % 2 == 0 ? first : second);
+		}
+		userStory("No backlog", null);
+		entityManager.flush();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		boardJsonWriter.writeSprints(project.getProjectId(), out);
+
+		JsonNode sprints = objectMapper.readTree(out.toByteArray());
+		assertEquals(3, sprints.size());
+		Set<String> seen = new HashSet<>();
+		for (JsonNode sprint : sprints) {
+			int expected = sprint.get("objective").asText().equals("Sprint vazia") ? 0 : 6;
+			assertEquals(expected, sprint.get("userStories").size());
+			for (JsonNode userStory : sprint.get("userStories")) {
+				assertEquals(sprint.get("sprintId").asText(), userStory.get("sprintId").asText());
+				seen.add(userStory.get("id").asText());
+			}
+			assertEquals("PLANNED", sprint.get("status").asText());
+		}
+		assertEquals(12, seen.size());
+		assertEquals("2030-01-01T09:00:00", sprints.get(0).get("startDate").asText());
+	}
+
+	private Sprint sprint(String objective) {
+		Sprint sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setObjective(objective);
+		sprint.setStatus(SprintStatus.PLANNED);
+		sprint.setStartDate(LocalDateTime.of(2030, 1, 1, 9, 0));
+		entityManager.persist(sprint);
+		return sprint;
+	}
+
+	private UserStory userStory(String title, Sprint sprint) {
+		UserStory userStory = new UserStory();
+		userStory.setTitle(title);
+		userStory.setProject(project);
+		userStory.setSprint(sprint);
+		userStory.setPriority(UserStoryPriority.LOW);
+		userStory.setStatus(UserStoryStatus.TO_DO);
+		userStory.setRank("i");
+		entityManager.persist(userStory);
+		return userStory;
+	}
+}
@@ -0,0 +1,177 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.controller.ProjectController.UserStoryOperation;
+import UnB.UnBacklog.dto.BoardDTO;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.UserRepository;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryOperationType;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+import jakarta.persistence.EntityManagerFactory;
+
+// Sem a transação de teste: a projeção só recebe os eventos depois do commit
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjectService.class, RankRebalancer.class, BoardReadModelService.class, ProjectMembershipService.class})
+class BoardReadModelServiceTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private BoardReadModelService boardReadModelService;
+
+	@Autowired
+	private RankRebalancer rankRebalancer;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Statistics statistics;
+	private String projectId;
+	private String sprintId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		User owner = new User();
+		owner.setName("Ana");
+		owner.setEmail("ana@unb.br");
+		owner = userRepository.save(owner);
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		projectService.createProject(TOKEN, "Projeto", "", List.of());
+		projectId = userRepository.findProjectsByUserId(owner.getUserId()).get(0).getProjectId().toString();
+		sprintId = projectService.createSprint(TOKEN, projectId, "Primeira", null, null, SprintStatus.PLANNED)
+			.getSprintId().toString();
+		for (String title : List.of("Login", "Cadastro", "Busca")) {
+			projectService.createUserStory(TOKEN, title, "", UserStoryPriority.MEDIUM, UserStoryStatus.TO_DO, projectId);
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("user_story", "sprint", "project_user", "project", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@Test
+	void repeatedReadsSkipTheDatabase() throws Exception {
+		BoardDTO board = boardReadModelService.getBoard(TOKEN, projectId);
+		assertEquals(List.of("Login", "Cadastro", "Busca"), titles(board.backlog()));
+		assertEquals(1, board.sprints().size());
+
+		statistics.clear();
+		for (int i = 0; i < 3; i++) {
+			assertSame(board, boardReadModelService.getBoard(TOKEN, projectId));
+		}
+		assertEquals(0, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void writesAreAppliedWithoutRebuilding() throws Exception {
+		List<UserStoryDTO> backlog = boardReadModelService.getBoard(TOKEN, projectId).backlog();
+		UUID login = backlog.get(0).id();
+		UUID busca = backlog.get(2).id();
+
+		projectService.updateUserStory(TOKEN, projectId, login.toString(), "Entrar", null, null, UserStoryStatus.DOING, sprintId, null);
+		projectService.reorderUserStory(TOKEN, projectId, busca.toString(), null, backlog.get(1).id().toString(), null);
+		projectService.updateSprint(TOKEN, projectId, sprintId, "Login pronto", null, null, null, null);
+		projectService.batchUserStories(TOKEN, projectId, List.of(
+			new UserStoryOperation(UserStoryOperationType.UPDATE, busca.toString(), null, null, UserStoryPriority.HIGH, null, null),
+			new UserStoryOperation(UserStoryOperationType.CREATE, null, "Relatórios", "", UserStoryPriority.LOW, UserStoryStatus.TO_DO, null)));
+
+		statistics.clear();
+		BoardDTO board = boardReadModelService.getBoard(TOKEN, projectId);
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertEquals(List.of("Busca", "Cadastro", "Relatórios"), titles(board.backlog()));
+		assertEquals(UserStoryPriority.HIGH, board.backlog().get(0).priority());
+		assertEquals("Login pronto", board.sprints().get(0).objective());
+		assertEquals(List.of("Entrar"), titles(board.sprints().get(0).userStories()));
+
+		// As versões vindas dos eventos são as do banco, que o cliente usa no If-Match
+		boardReadModelService.evict(UUID.fromString(projectId));
+		assertEquals(board, boardReadModelService.getBoard(TOKEN, projectId));
+	}
+
+	@Test
+	void movesAndRebalancesRebuildTheBoard() throws Exception {
+		List<UserStoryDTO> backlog = boardReadModelService.getBoard(TOKEN, projectId).backlog();
+
+		projectService.batchUserStories(TOKEN, projectId, List.of(
+			new UserStoryOperation(UserStoryOperationType.ASSIGN_SPRINT, backlog.get(1).id().toString(), null, null, null, null, sprintId)));
+		BoardDTO board = boardReadModelService.getBoard(TOKEN, projectId);
+		assertEquals(List.of("Login", "Busca"), titles(board.backlog()));
+		assertEquals(List.of("Cadastro"), titles(board.sprints().get(0).userStories()));
+		assertEquals(backlog.get(1).version() + 1, board.sprints().get(0).userStories().get(0).version());
+
+		rankRebalancer.rebalance(UUID.fromString(projectId));
+		BoardDTO rebalanced = boardReadModelService.getBoard(TOKEN, projectId);
+		assertEquals(List.of("Login", "Busca"), titles(rebalanced.backlog()));
+		assertEquals(board.backlog().get(0).version() + 1, rebalanced.backlog().get(0).version());
+	}
+
+	@Test
+	void deletedSprintTakesItsStoriesAlong() throws Exception {
+		String userStoryId = boardReadModelService.getBoard(TOKEN, projectId).backlog().get(0).id().toString();
+		projectService.updateUserStory(TOKEN, projectId, userStoryId, null, null, null, null, sprintId, null);
+		assertEquals(1, boardReadModelService.getBoard(TOKEN, projectId).sprints().get(0).userStories().size());
+
+		projectService.deleteSprint(TOKEN, projectId, sprintId, null);
+
+		BoardDTO board = boardReadModelService.getBoard(TOKEN, projectId);
+		assertEquals(List.of(), board.sprints());
+		assertEquals(List.of("Cadastro", "Busca"), titles(board.backlog()));
+	}
+
+	@Test
+	void nonMembersCannotReadTheBoard() {
+		when(utils.getUserIdByToken("other")).thenReturn(UUID.randomUUID());
+		assertThrows(Exception.class, () -> boardReadModelService.getBoard("other", projectId));
+	}
+
+	private static List<String> titles(List<UserStoryDTO> userStories) {
+		return userStories.stream().map(UserStoryDTO::title).toList();
+	}
+}
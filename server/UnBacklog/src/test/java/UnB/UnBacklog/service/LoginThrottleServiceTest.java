@@ -0,0 +1,90 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import UnB.UnBacklog.service.LoginThrottleService.TooManyAttemptsException;
+
+class LoginThrottleServiceTest {
+
+	@Test
+	void rejectsAnEmailAfterItsBurstButNotOtherEmails() {
+		LoginThrottleService throttle = new LoginThrottleService(3, 1, 100, 100, 10);
+		for (int i = 0; i < 3; i++) {
+			throttle.acquire("ana@unb.br", "10.0.0." + i);
+		}
+
+		TooManyAttemptsException e = assertThrows(TooManyAttemptsException.class,
+			() -> throttle.acquire("ANA@unb.br ", "10.0.0.9"));
+		assertTrue(e.getRetryAfterSeconds() > 0 && e.getRetryAfterSeconds() <= 60);
+		assertDoesNotThrow(() -> throttle.acquire("bia@unb.br", "10.0.0.9"));
+		assertEquals(1, throttle.stats().rejectedByEmail());
+	}
+
+	@Test
+	void rejectsAnAddressTryingManyEmails() {
+		LoginThrottleService throttle = new LoginThrottleService(5, 5, 4, 1, 10);
+		for (int i = 0; i < 4; i++) {
+			throttle.acquire("user" + i + "@unb.br", "10.0.0.1");
+		}
+
+		assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("outro@unb.br", "10.0.0.1"));
+		assertDoesNotThrow(() -> throttle.acquire("outro@unb.br", "10.0.0.2"));
+		assertEquals(1, throttle.stats().rejectedByAddress());
+	}
+
+	@Test
+	void hashingRejectsWorkBeyondThePoolAndQueue() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder slowEncoder = new PasswordEncoder() {
+			@Override
+			public String encode(CharSequence rawPassword) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return rawPassword.toString();
+			}
+
+			@Override
+			public boolean matches(CharSequence rawPassword, String encodedPassword) {
+				return encode(rawPassword).equals(encodedPassword);
+			}
+		};
+		PasswordHashingService hashing = new PasswordHashingService(slowEncoder, 1, 1, 5000);
+		try {
+			CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.encode("a"));
+			waitUntil(() -> hashing.stats().active() == 1);
+			CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.encode("b"));
+			waitUntil(() -> hashing.stats().queued() == 1);
+
+			assertThrows(TaskRejectedException.class, () -> hashing.encode("c"));
+
+			release.countDown();
+			assertEquals("a", running.get(5, TimeUnit.SECONDS));
+			assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+			assertEquals(1, hashing.stats().rejected());
+			assertEquals(2, hashing.stats().hashes());
+		} finally {
+			hashing.shutdown();
+		}
+	}
+
+	private void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,223 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import UnB.UnBacklog.dto.BurndownPointDTO;
+import UnB.UnBacklog.dto.CycleTimeDTO;
+import UnB.UnBacklog.dto.ProjectAnalyticsDTO;
+import UnB.UnBacklog.dto.StatusTransitionEvent;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.repository.SprintDailyRollupRepository;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectAnalyticsService.class, ProjectMembershipService.class})
+class ProjectAnalyticsServiceTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ProjectAnalyticsService projectAnalyticsService;
+
+	@Autowired
+	private SprintDailyRollupRepository sprintRollupRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockitoBean
+	private Utils utils;
+
+	private final LocalDate today = LocalDate.now();
+	private Project project;
+	private Sprint activeSprint;
+	private Sprint completedSprint;
+	private UUID first;
+	private UUID second;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setName("Owner");
+		owner.setEmail("owner@unb.br");
+		entityManager.persist(owner);
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		project = new Project();
+		project.setName("Projeto");
+		entityManager.persist(project);
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(owner);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		entityManager.persist(projectUser);
+
+		completedSprint = sprint(SprintStatus.COMPLETED, today.minusDays(20), today.minusDays(6));
+		activeSprint = sprint(SprintStatus.ACTIVE, today.minusDays(3), today.plusDays(7));
+		first = userStory(activeSprint).getId();
+		second = userStory(activeSprint).getId();
+		userStory(activeSprint);
+		entityManager.flush();
+	}
+
+	@Test
+	void rollupsDriveBurndownVelocityAndCycleTime() throws Exception {
+		// Em dois lotes: o segundo incrementa os agregados já gravados pelo primeiro
+		record(
+			transition(first, activeSprint, null, UserStoryStatus.TO_DO, at(3, 8)),
+			transition(second, activeSprint, null, UserStoryStatus.TO_DO, at(3, 8)),
+			transition(first, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DOING, at(2, 10)),
+			transition(first, activeSprint, UserStoryStatus.DOING, UserStoryStatus.DONE, at(2, 14))
+		);
+		assertEquals(4, projectAnalyticsService.rollUpPending(100));
+		record(
+			transition(second, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DONE, at(1, 8)),
+			transition(second, activeSprint, UserStoryStatus.DONE, UserStoryStatus.DOING, at(0, 9)),
+			transition(UUID.randomUUID(), completedSprint, UserStoryStatus.DOING, UserStoryStatus.DONE, at(8, 9))
+		);
+		assertEquals(3, projectAnalyticsService.rollUpPending(100));
+		// Nada pendente: uma nova rodada não conta as transições de novo
+		assertEquals(0, projectAnalyticsService.rollUpPending(100));
+		entityManager.flush();
+		entityManager.clear();
+
+		ProjectAnalyticsDTO analytics = projectAnalyticsService.getAnalytics(TOKEN, project.getProjectId().toString(), null, null);
+
+		assertEquals(3, analytics.burndown().scope());
+		assertEquals(List.of(
+			new BurndownPointDTO(today.minusDays(3), 0, 3),
+			new BurndownPointDTO(today.minusDays(2), 1, 2),
+			new BurndownPointDTO(today.minusDays(1), 2, 1),
+			new BurndownPointDTO(today, 1, 2)
+		), analytics.burndown().points());
+
+		assertEquals(1, analytics.velocity().size());
+		assertEquals(completedSprint.getSprintId(), analytics.velocity().get(0).sprintId());
+		assertEquals(1, analytics.velocity().get(0).completed());
+
+		// 4 h desde a entrada em DOING e 48 h desde a criação, sem passagem por DOING
+		assertEquals(List.of(new CycleTimeDTO(UserStoryPriority.HIGH, 2, 26.0)),
+			analytics.cycleTime().stream().filter(row -> row.priority() == UserStoryPriority.HIGH).toList());
+		assertEquals(1, sprintRollupRepository.findBySprintId(activeSprint.getSprintId()).stream()
+			.filter(rollup -> rollup.getDay().equals(today)).mapToLong(rollup -> rollup.getReopened()).sum());
+	}
+
+	@Test
+	void rollUpAppliesPendingTransitionsInBatchesOnlyOnce() throws Exception {
+		record(
+			transition(first, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DONE, at(1, 8)),
+			transition(second, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DONE, at(1, 9)),
+			transition(second, activeSprint, UserStoryStatus.DONE, UserStoryStatus.DOING, at(0, 9))
+		);
+		assertEquals(3, projectAnalyticsService.countPendingTransitions());
+
+		assertEquals(2, projectAnalyticsService.rollUpPending(2));
+		assertEquals(1, projectAnalyticsService.countPendingTransitions());
+		assertEquals(1, projectAnalyticsService.rollUpPending(2));
+		assertEquals(0, projectAnalyticsService.rollUpPending(2));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(0, projectAnalyticsService.countPendingTransitions());
+		ProjectAnalyticsDTO analytics = projectAnalyticsService.getAnalytics(TOKEN, project.getProjectId().toString(), null, null);
+		assertEquals(1, analytics.burndown().points().get(analytics.burndown().points().size() - 1).completed());
+	}
+
+	private void record(StatusTransitionEvent... events) {
+		for (StatusTransitionEvent event : events) {
+			projectAnalyticsService.recordTransition(event);
+		}
+	}
+
+	@Test
+	void doneStoryMovedOutOfTheSprintLeavesItsBurndown() throws Exception {
+		UserStory moved = entityManager.find(UserStory.class, first);
+		UserStory removed = entityManager.find(UserStory.class, second);
+		moved.setStatus(UserStoryStatus.DONE);
+		removed.setStatus(UserStoryStatus.DONE);
+		record(
+			transition(first, activeSprint, null, UserStoryStatus.TO_DO, at(3, 8)),
+			transition(second, activeSprint, null, UserStoryStatus.TO_DO, at(3, 8)),
+			transition(first, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DONE, at(2, 8)),
+			transition(second, activeSprint, UserStoryStatus.TO_DO, UserStoryStatus.DONE, at(2, 9)),
+			new StatusTransitionEvent(project.getProjectId(), first, activeSprint.getSprintId(), completedSprint.getSprintId(),
+				UserStoryPriority.HIGH, UserStoryStatus.DONE, UserStoryStatus.DONE, null, at(1, 8)),
+			StatusTransitionEvent.removed(removed, null)
+		);
+		moved.setSprint(completedSprint);
+		entityManager.remove(removed);
+		projectAnalyticsService.rollUpPending(100);
+		entityManager.flush();
+		entityManager.clear();
+
+		ProjectAnalyticsDTO analytics = projectAnalyticsService.getAnalytics(TOKEN, project.getProjectId().toString(), null, null);
+
+		// Só resta a terceira história, ainda aberta: nada concluído na sprint ativa hoje
+		assertEquals(1, analytics.burndown().scope());
+		List<BurndownPointDTO> points = analytics.burndown().points();
+		assertEquals(new BurndownPointDTO(today.minusDays(2), 2, -1), points.get(1));
+		assertEquals(new BurndownPointDTO(today, 0, 1), points.get(points.size() - 1));
+		// A história movida conta na sprint de destino, sem virar nova conclusão no tempo de ciclo
+		assertEquals(1, analytics.velocity().get(0).completed());
+		assertEquals(List.of(new CycleTimeDTO(UserStoryPriority.HIGH, 2, 24.5)),
+			analytics.cycleTime().stream().filter(row -> row.priority() == UserStoryPriority.HIGH).toList());
+	}
+
+	private StatusTransitionEvent transition(UUID userStoryId, Sprint sprint, UserStoryStatus from, UserStoryStatus to, LocalDateTime at) {
+		UUID sprintId = sprint.getSprintId();
+		return new StatusTransitionEvent(project.getProjectId(), userStoryId, from == null ? null : sprintId, sprintId,
+			UserStoryPriority.HIGH, from, to, null, at);
+	}
+
+	private LocalDateTime at(int daysAgo, int hour) {
+		return today.minusDays(daysAgo).atTime(hour, 0);
+	}
+
+	private Sprint sprint(SprintStatus status, LocalDate start, LocalDate finish) {
+		Sprint sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setStatus(status);
+		sprint.setStartDate(start.atStartOfDay());
+		sprint.setFinishDate(finish.atStartOfDay());
+		entityManager.persist(sprint);
+		return sprint;
+	}
+
+	private UserStory userStory(Sprint sprint) {
+		UserStory userStory = new UserStory();
+		userStory.setTitle("História");
+		userStory.setProject(project);
+		userStory.setSprint(sprint);
+		userStory.setPriority(UserStoryPriority.HIGH);
+		userStory.setStatus(UserStoryStatus.TO_DO);
+		userStory.setRank("i");
+		entityManager.persist(userStory);
+		return userStory;
+	}
+}
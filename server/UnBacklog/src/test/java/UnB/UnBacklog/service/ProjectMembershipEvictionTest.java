@@ -0,0 +1,105 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.UserRepository;
+import UnB.UnBacklog.util.ProjectRole;
+
+// Sem a transação de teste: a invalidação depende do commit de verdade
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ProjectMembershipService.class)
+class ProjectMembershipEvictionTest {
+
+	@Autowired
+	private ProjectMembershipService projectMembershipService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private UUID projectId;
+	private UUID userId;
+
+	@BeforeEach
+	void setUp() {
+		User user = new User();
+		user.setName("Dev");
+		user.setEmail("dev@unb.br");
+		userId = userRepository.save(user).getUserId();
+
+		Project project = new Project();
+		project.setName("Projeto");
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(user);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		project.getProjectUsers().add(projectUser);
+		projectId = projectRepository.save(project).getProjectId();
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("project_user", "project", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+	}
+
+	@Test
+	void lookupDuringTheDemotionDoesNotCacheTheOldRole() throws Exception {
+		assertEquals(Optional.of(ProjectRole.PRODUCT_OWNER), projectMembershipService.getRole(projectId, userId));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Project project = projectRepository.findById(projectId).orElseThrow();
+			project.getProjectUsers().get(0).setRole(ProjectRole.DEVELOPER);
+			projectRepository.saveAndFlush(project);
+
+			// Flush feito e commit pendente: outra requisição ainda vê o papel antigo no banco
+			assertEquals(Optional.of(ProjectRole.PRODUCT_OWNER), lookupFromAnotherThread());
+		});
+
+		assertEquals(Optional.of(ProjectRole.DEVELOPER), projectMembershipService.getRole(projectId, userId));
+	}
+
+	private Optional<ProjectRole> lookupFromAnotherThread() {
+		try {
+			return CompletableFuture.supplyAsync(() -> projectMembershipService.getRole(projectId, userId))
+				.get(10, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
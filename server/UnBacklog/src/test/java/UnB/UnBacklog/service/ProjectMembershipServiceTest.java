@@ -0,0 +1,72 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.util.ProjectRole;
+
+class ProjectMembershipServiceTest {
+
+	private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+	private final ProjectMembershipService service = new ProjectMembershipService(projectRepository, 2);
+
+	@Test
+	void cachesRoleAfterFirstLookup() {
+		UUID projectId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		when(projectRepository.findRoleByProjectIdAndUserId(projectId, userId)).thenReturn(Optional.of(ProjectRole.DEVELOPER));
+
+		assertEquals(Optional.of(ProjectRole.DEVELOPER), service.getRole(projectId, userId));
+		assertEquals(Optional.of(ProjectRole.DEVELOPER), service.getRole(projectId, userId));
+
+		verify(projectRepository, times(1)).findRoleByProjectIdAndUserId(projectId, userId);
+		assertEquals(1, service.stats().hits());
+		assertEquals(1, service.stats().misses());
+	}
+
+	@Test
+	void evictProjectForcesReload() throws Exception {
+		UUID projectId = UUID.randomUUID();
+		UUID userId = UUID.randomUUID();
+		when(projectRepository.findRoleByProjectIdAndUserId(projectId, userId))
+			.thenReturn(Optional.empty())
+			.thenReturn(Optional.of(ProjectRole.PRODUCT_OWNER));
+
+		assertThrows(Exception.class, () -> service.requireMember(projectId, userId, "User not part of project"));
+		service.evictProject(projectId);
+		service.requireRole(projectId, userId, ProjectRole.PRODUCT_OWNER, "Only Product Owners");
+
+		verify(projectRepository, times(2)).findRoleByProjectIdAndUserId(projectId, userId);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntryWhenFull() {
+		UUID projectId = UUID.randomUUID();
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID third = UUID.randomUUID();
+		when(projectRepository.findRoleByProjectIdAndUserId(eq(projectId), any()))
+			.thenReturn(Optional.of(ProjectRole.DEVELOPER));
+
+		service.getRole(projectId, first);
+		service.getRole(projectId, second);
+		service.getRole(projectId, third);
+		service.getRole(projectId, first);
+
+		verify(projectRepository, times(2)).findRoleByProjectIdAndUserId(projectId, first);
+		assertEquals(2, service.stats().evictions());
+		assertEquals(2, service.stats().size());
+	}
+}
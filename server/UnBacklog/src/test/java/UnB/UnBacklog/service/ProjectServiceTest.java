@@ -0,0 +1,318 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import UnB.UnBacklog.config.HibernateMetricsConfig;
+import UnB.UnBacklog.config.RequestQueryMetrics;
+import UnB.UnBacklog.controller.ProjectController.UserStoryOperation;
+import UnB.UnBacklog.dto.UserStoryDTO;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.ETags;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryOperationType;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStorySort;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+import jakarta.persistence.EntityManagerFactory;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProjectService.class, RankRebalancer.class, BoardReadModelService.class, ProjectMembershipService.class, ProjectSummaryService.class, HibernateMetricsConfig.class})
+class ProjectServiceTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private UserStoryRepository userStoryRepository;
+
+	@Autowired
+	private RankRebalancer rankRebalancer;
+
+	@Autowired
+	private SprintRepository sprintRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@MockitoBean
+	private Utils utils;
+
+	private User owner;
+	private Project project;
+	private Sprint sprint;
+
+	@BeforeEach
+	void setUp() {
+		owner = user("owner@unb.br");
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		project = new Project();
+		project.setName("Projeto");
+		entityManager.persist(project);
+		member(project, owner, ProjectRole.PRODUCT_OWNER);
+
+		sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setStatus(SprintStatus.PLANNED);
+		entityManager.persist(sprint);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void getProjectsUsesSingleQueryRegardlessOfProjectsAndMembers() {
+		for (int i = 0; i < 5; i++) {
+			Project other = new Project();
+			other.setName("Projeto " + i);
+			entityManager.persist(other);
+			member(other, owner, ProjectRole.DEVELOPER);
+			for (int j = 0; j < 4; j++) {
+				member(other, user("membro" + i + "-" + j + "@unb.br"), ProjectRole.DEVELOPER);
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+
+		RequestQueryMetrics metrics = RequestQueryMetrics.begin();
+		List<ProjectService.ProjectResponse> projects;
+		try {
+			projects = projectService.getProjects(TOKEN);
+		} finally {
+			RequestQueryMetrics.end();
+		}
+
+		assertEquals(6, projects.size());
+		assertEquals(1, metrics.getStatements());
+		assertEquals(0, metrics.getEntityLoads());
+		assertEquals(26, projects.stream().mapToInt(project -> project.users().size()).sum());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void batchAppliesEveryOperationAndReportsPerItemErrors() throws Exception {
+		UserStory toUpdate = userStory("Atualizar");
+		UserStory toDelete = userStory("Remover");
+		String projectId = project.getProjectId().toString();
+
+		List<ProjectService.BatchItemResult> results = projectService.batchUserStories(TOKEN, projectId, List.of(
+			new UserStoryOperation(UserStoryOperationType.CREATE, null, "Nova", null, UserStoryPriority.HIGH, UserStoryStatus.TO_DO, sprint.getSprintId().toString()),
+			new UserStoryOperation(UserStoryOperationType.UPDATE, toUpdate.getId().toString(), null, null, null, UserStoryStatus.DONE, null),
+			new UserStoryOperation(UserStoryOperationType.ASSIGN_SPRINT, toUpdate.getId().toString(), null, null, null, null, sprint.getSprintId().toString()),
+			new UserStoryOperation(UserStoryOperationType.DELETE, toDelete.getId().toString(), null, null, null, null, null),
+			new UserStoryOperation(UserStoryOperationType.UPDATE, UUID.randomUUID().toString(), "x", null, null, null, null)
+		));
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(5, results.size());
+		assertTrue(results.subList(0, 4).stream().allMatch(ProjectService.BatchItemResult::success));
+		assertFalse(results.get(4).success());
+		assertEquals(4, results.get(4).index());
+
+		UserStory created = userStoryRepository.findById(results.get(0).userStoryId()).orElseThrow();
+		assertEquals(sprint.getSprintId(), created.getSprint().getSprintId());
+		UserStory updated = userStoryRepository.findById(toUpdate.getId()).orElseThrow();
+		assertEquals(UserStoryStatus.DONE, updated.getStatus());
+		assertEquals(sprint.getSprintId(), updated.getSprint().getSprintId());
+		assertTrue(userStoryRepository.findById(toDelete.getId()).isEmpty());
+	}
+
+	@Test
+	void updateWithoutSprintKeepsCurrentSprint() throws Exception {
+		UserStory userStory = userStory("Sem sprint");
+
+		UserStory updated = projectService.updateUserStory(TOKEN, project.getProjectId().toString(), userStory.getId().toString(),
+			"Novo título", null, null, null, null, null);
+
+		assertEquals("Novo título", updated.getTitle());
+		assertNull(updated.getSprint());
+	}
+
+	@Test
+	void updateWithStaleIfMatchIsRejected() throws Exception {
+		UserStory userStory = userStory("Concorrente");
+		String projectId = project.getProjectId().toString();
+		String staleETag = ETags.of(userStory.getVersion());
+
+		projectService.updateUserStory(TOKEN, projectId, userStory.getId().toString(), "Primeira", null, null, null, null, staleETag);
+		entityManager.flush();
+
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> projectService.updateUserStory(
+			TOKEN, projectId, userStory.getId().toString(), "Segunda", null, null, null, null, staleETag));
+		assertEquals("Primeira", userStoryRepository.findById(userStory.getId()).orElseThrow().getTitle());
+	}
+
+	@Test
+	void boardETagChangesOnlyWhenBoardChanges() throws Exception {
+		UserStory userStory = userStory("Versionada");
+		String projectId = project.getProjectId().toString();
+		String before = projectService.getBoardETag(TOKEN, projectId);
+		assertEquals(before, projectService.getBoardETag(TOKEN, projectId));
+
+		projectService.updateUserStory(TOKEN, projectId, userStory.getId().toString(), null, null, null, UserStoryStatus.DONE, null, null);
+		entityManager.flush();
+
+		assertNotEquals(before, projectService.getBoardETag(TOKEN, projectId));
+	}
+
+	@Test
+	void deleteSprintKeepsTombstonesUntilThePurge() throws Exception {
+		String projectId = project.getProjectId().toString();
+		for (int i = 0; i < 3; i++) {
+			UserStory userStory = userStory("Na sprint " + i);
+			userStory.setSprint(entityManager.find(Sprint.class, sprint.getSprintId()));
+		}
+		UserStory backlog = userStory("No backlog");
+		entityManager.flush();
+		entityManager.clear();
+
+		projectService.deleteSprint(TOKEN, projectId, sprint.getSprintId().toString(), null);
+		entityManager.flush();
+		entityManager.clear();
+
+		assertTrue(sprintRepository.findById(sprint.getSprintId()).isEmpty());
+		assertEquals(List.of(backlog.getId()), userStoryRepository.findDTOsByProjectId(project.getProjectId()).stream()
+			.map(userStory -> userStory.id()).toList());
+		assertEquals(3L, countRows("SELECT COUNT(*) FROM user_story WHERE deleted_at IS NOT NULL"));
+		assertEquals(1L, countRows("SELECT COUNT(*) FROM sprint WHERE deleted_at IS NOT NULL"));
+
+		// Retenção negativa: tudo que já foi removido está vencido; lotes de 1 exercitam a repetição
+		new TombstonePurgeService(userStoryRepository, sprintRepository, projectRepository, -1, 1).purge();
+
+		assertEquals(1L, countRows("SELECT COUNT(*) FROM user_story"));
+		assertEquals(0L, countRows("SELECT COUNT(*) FROM sprint"));
+	}
+
+	@Test
+	void reorderWritesOnlyTheMovedStory() throws Exception {
+		String projectId = project.getProjectId().toString();
+		List<String> ids = new ArrayList<>();
+		for (String title : List.of("A", "B", "C", "D")) {
+			ids.add(projectService.createUserStory(TOKEN, title, null, UserStoryPriority.LOW, UserStoryStatus.TO_DO, projectId));
+		}
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(List.of("A", "B", "C", "D"), titlesInRankOrder(projectId));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		UserStory moved = projectService.reorderUserStory(TOKEN, projectId, ids.get(3), ids.get(0), ids.get(1), ETags.of(0));
+		entityManager.flush();
+
+		assertEquals(1, statistics.getEntityUpdateCount());
+		assertEquals(1, moved.getVersion());
+		entityManager.clear();
+		assertEquals(List.of("A", "D", "B", "C"), titlesInRankOrder(projectId));
+
+		projectService.reorderUserStory(TOKEN, projectId, ids.get(2), null, ids.get(0), null);
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(List.of("C", "A", "D", "B"), titlesInRankOrder(projectId));
+	}
+
+	@Test
+	void tiedRanksAreRebalancedBeforeTheMove() throws Exception {
+		String projectId = project.getProjectId().toString();
+		UserStory first = userStory("Primeira");
+		UserStory second = userStory("Segunda");
+		UserStory third = userStory("Terceira");
+		entityManager.clear();
+
+		Exception error = assertThrows(Exception.class, () -> projectService.reorderUserStory(
+			TOKEN, projectId, third.getId().toString(), first.getId().toString(), second.getId().toString(), null));
+		assertEquals("Backlog order changed, reload and try again", error.getMessage());
+
+		// Chaves iguais: a renumeração desempata pelo id
+		rankRebalancer.rebalanceRequested();
+		entityManager.clear();
+		List<UserStoryDTO> ordered = projectService.listUserStories(TOKEN, projectId, null, null, null, UserStorySort.RANK, Sort.Direction.ASC, null, null).items();
+		assertEquals(3, ordered.stream().map(UserStoryDTO::rank).distinct().count());
+
+		projectService.reorderUserStory(TOKEN, projectId, ordered.get(0).id().toString(), ordered.get(1).id().toString(), ordered.get(2).id().toString(), null);
+		entityManager.flush();
+		entityManager.clear();
+		assertEquals(List.of(ordered.get(1).title(), ordered.get(0).title(), ordered.get(2).title()), titlesInRankOrder(projectId));
+	}
+
+	private List<String> titlesInRankOrder(String projectId) throws Exception {
+		return projectService.listUserStories(TOKEN, projectId, null, null, null, UserStorySort.RANK, Sort.Direction.ASC, null, null)
+			.items().stream().map(UserStoryDTO::title).toList();
+	}
+
+	private long countRows(String sql) {
+		return ((Number) entityManager.getEntityManager().createNativeQuery(sql).getSingleResult()).longValue();
+	}
+
+	private User user(String email) {
+		User user = new User();
+		user.setName(email);
+		user.setEmail(email);
+		entityManager.persist(user);
+		return user;
+	}
+
+	private void member(Project project, User user, ProjectRole role) {
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(user);
+		projectUser.setRole(role);
+		entityManager.persist(projectUser);
+	}
+
+	private UserStory userStory(String title) {
+		UserStory userStory = new UserStory();
+		userStory.setTitle(title);
+		userStory.setProject(entityManager.find(Project.class, project.getProjectId()));
+		userStory.setStatus(UserStoryStatus.TO_DO);
+		userStory.setPriority(UserStoryPriority.MEDIUM);
+		userStory.setRank("i");
+		entityManager.persistAndFlush(userStory);
+		return userStory;
+	}
+}
@@ -0,0 +1,155 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.UserRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.RankKeys;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+// Sem a transação de teste: o movimento precisa fazer commit entre a leitura e a escrita da renumeração
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjectService.class, RankRebalancer.class, BoardReadModelService.class, ProjectMembershipService.class})
+class RankRebalancerTest {
+
+	private static final String TOKEN = "token";
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private RankRebalancer rankRebalancer;
+
+	@Autowired
+	private UserStoryRepository userStoryRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private BoardReadModelService boardReadModelService;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Project project;
+	private List<UserStory> userStories;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setName("Owner");
+		owner.setEmail("owner@unb.br");
+		owner = userRepository.save(owner);
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		project = new Project();
+		project.setName("Projeto");
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(owner);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		project.getProjectUsers().add(projectUser);
+		project = projectRepository.save(project);
+
+		String[] ranks = RankKeys.spread(3);
+		userStories = List.of(userStory("A", ranks[0]), userStory("B", ranks[1]), userStory("C", ranks[2]));
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("user_story", "project_user", "project", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+	}
+
+	@Test
+	void moveCommittedDuringTheRebalanceIsKept() throws Exception {
+		UUID projectId = project.getProjectId();
+		// A renumeração lê a ordem A, B, C; antes de gravar, o usuário move C para o topo
+		UserStoryRepository interleaved = mock(UserStoryRepository.class, delegatesTo(userStoryRepository));
+		doAnswer(invocation -> {
+			Object versions = userStoryRepository.findVersionsByProjectIdOrderByRank(invocation.getArgument(0));
+			CompletableFuture.runAsync(() -> reorder(userStories.get(2), null, userStories.get(0)))
+				.get(10, TimeUnit.SECONDS);
+			return versions;
+		}).when(interleaved).findVersionsByProjectIdOrderByRank(any());
+		RankRebalancer rebalancer = new RankRebalancer(interleaved, jdbcTemplate, transactionTemplate, boardReadModelService, 48);
+
+		assertThrows(OptimisticLockingFailureException.class, () -> rebalancer.rebalance(projectId));
+		assertEquals(List.of("C", "A", "B"), titlesInRankOrder());
+
+		// Na nova tentativa a ordem lida já inclui o movimento
+		rankRebalancer.rebalance(projectId);
+		assertEquals(List.of("C", "A", "B"), titlesInRankOrder());
+	}
+
+	private void reorder(UserStory userStory, UserStory after, UserStory before) {
+		try {
+			projectService.reorderUserStory(TOKEN, project.getProjectId().toString(), userStory.getId().toString(),
+				after == null ? null : after.getId().toString(), before == null ? null : before.getId().toString(), null);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private List<String> titlesInRankOrder() {
+		return jdbcTemplate.queryForList("SELECT title FROM user_story ORDER BY rank_key, id", String.class);
+	}
+
+	private UserStory userStory(String title, String rank) {
+		UserStory userStory = new UserStory();
+		userStory.setTitle(title);
+		userStory.setProject(project);
+		userStory.setPriority(UserStoryPriority.MEDIUM);
+		userStory.setStatus(UserStoryStatus.TO_DO);
+		userStory.setRank(rank);
+		return userStoryRepository.save(userStory);
+	}
+}
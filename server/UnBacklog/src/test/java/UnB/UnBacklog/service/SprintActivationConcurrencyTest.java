@@ -0,0 +1,168 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserRepository;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.Utils;
+
+// Sem a transação de teste: cada ativação precisa fazer commit de verdade para disputar o índice
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProjectService.class, RankRebalancer.class, BoardReadModelService.class, ProjectMembershipService.class})
+class SprintActivationConcurrencyTest {
+
+	private static final String TOKEN = "token";
+	private static final int SPRINTS = 8;
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private SprintRepository sprintRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@MockitoBean
+	private Utils utils;
+
+	private Project project;
+	private List<UUID> sprintIds;
+
+	@BeforeEach
+	void setUp() {
+		User owner = new User();
+		owner.setName("Owner");
+		owner.setEmail("owner@unb.br");
+		owner = userRepository.save(owner);
+		when(utils.getUserIdByToken(TOKEN)).thenReturn(owner.getUserId());
+
+		project = new Project();
+		project.setName("Projeto");
+		ProjectUser projectUser = new ProjectUser();
+		projectUser.setProject(project);
+		projectUser.setUser(owner);
+		projectUser.setRole(ProjectRole.PRODUCT_OWNER);
+		project.getProjectUsers().add(projectUser);
+		project = projectRepository.save(project);
+
+		sprintIds = new ArrayList<>();
+		for (int i = 0; i < SPRINTS; i++) {
+			sprintIds.add(sprint(SprintStatus.PLANNED).getSprintId());
+		}
+	}
+
+	// deleteAll só marcaria as linhas como removidas; o próximo teste precisa das tabelas vazias
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("user_story", "sprint", "project_user", "project", "user")) {
+			jdbcTemplate.update("DELETE FROM " + table);
+		}
+	}
+
+	@Test
+	void databaseRejectsSecondActiveSprint() {
+		sprint(SprintStatus.ACTIVE);
+
+		assertThrows(DataIntegrityViolationException.class, () -> sprint(SprintStatus.ACTIVE));
+	}
+
+	@Test
+	void sequentialActivationsCompleteThePreviousSprint() throws Exception {
+		for (UUID sprintId : sprintIds) {
+			projectService.updateSprint(TOKEN, project.getProjectId().toString(), sprintId.toString(), null, null, null, SprintStatus.ACTIVE, null);
+		}
+
+		assertEquals(List.of(sprintIds.get(SPRINTS - 1)), activeSprintIds());
+		assertEquals(SPRINTS - 1, sprintRepository.findSummariesByProjectIdAndStatus(project.getProjectId(), SprintStatus.COMPLETED).size());
+	}
+
+	@Test
+	void parallelActivationsLeaveExactlyOneActiveSprint() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(SPRINTS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		try {
+			for (UUID sprintId : sprintIds) {
+				results.add(executor.submit(() -> {
+					start.await();
+					try {
+						projectService.updateSprint(TOKEN, project.getProjectId().toString(), sprintId.toString(), null, null, null, SprintStatus.ACTIVE, null);
+						return true;
+					} catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+
+			int succeeded = 0;
+			for (Future<Boolean> result : results) {
+				if (result.get(30, TimeUnit.SECONDS)) {
+					succeeded++;
+				}
+			}
+			assertTrue(succeeded >= 1);
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(1, activeSprintIds().size());
+	}
+
+	private List<UUID> activeSprintIds() {
+		return sprintRepository.findSummariesByProjectIdAndStatus(project.getProjectId(), SprintStatus.ACTIVE).stream()
+			.map(sprint -> sprint.sprintId())
+			.toList();
+	}
+
+	private Sprint sprint(SprintStatus status) {
+		Sprint sprint = new Sprint();
+		sprint.setProject(project);
+		sprint.setStatus(status);
+		return sprintRepository.save(sprint);
+	}
+}
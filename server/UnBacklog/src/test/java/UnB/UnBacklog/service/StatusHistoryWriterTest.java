@@ -0,0 +1,32 @@
+package UnB.UnBacklog.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class StatusHistoryWriterTest {
+
+	private final ProjectAnalyticsService projectAnalyticsService = mock(ProjectAnalyticsService.class);
+	private final StatusHistoryWriter writer = new StatusHistoryWriter(projectAnalyticsService, 2);
+
+	@Test
+	void failedRollupStopsTheCycleAndIsRetriedOnTheNextOne() {
+		when(projectAnalyticsService.rollUpPending(2))
+			.thenThrow(new DataAccessResourceFailureException("down"))
+			.thenReturn(2, 2, 1);
+		when(projectAnalyticsService.countPendingTransitions()).thenReturn(5L, 0L);
+
+		writer.flush();
+		assertEquals(new StatusHistoryWriter.Stats(5, 0, 1), writer.stats());
+
+		// As transições continuam pendentes no banco: o ciclo seguinte drena lote a lote
+		writer.flush();
+		verify(projectAnalyticsService, times(4)).rollUpPending(2);
+		assertEquals(new StatusHistoryWriter.Stats(0, 5, 1), writer.stats());
+	}
+}
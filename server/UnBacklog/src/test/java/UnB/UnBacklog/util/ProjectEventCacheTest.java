@@ -0,0 +1,140 @@
+package UnB.UnBacklog.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import UnB.UnBacklog.dto.BoardEvent;
+
+class ProjectEventCacheTest {
+
+	private final UUID projectId = UUID.randomUUID();
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	// Estado de teste: os ids das histórias removidas, na ordem em que os eventos foram aplicados
+	private static ProjectEventCache<List<UUID>> cache(Function<UUID, List<UUID>> loader) {
+		return new ProjectEventCache<>(10, loader, (state, event) -> state.add(event.userStoryId()));
+	}
+
+	private BoardEvent event() {
+		return BoardEvent.userStoryDeleted(projectId, null, UUID.randomUUID());
+	}
+
+	@Test
+	void eventsDuringTheLoadAreReplayedOnTheLoadedState() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ProjectEventCache<List<UUID>> cache = cache(id -> {
+			loading.countDown();
+			await(release);
+			return new ArrayList<>();
+		});
+
+		Future<Integer> reader = executor.submit(() -> cache.read(projectId, List::size));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		// O commit deste evento pode não estar na consulta em andamento
+		BoardEvent during = event();
+		cache.apply(projectId, during);
+		release.countDown();
+
+		assertEquals(1, reader.get(5, TimeUnit.SECONDS));
+		BoardEvent after = event();
+		cache.apply(projectId, after);
+		assertEquals(List.of(during.userStoryId(), after.userStoryId()), cache.read(projectId, List::copyOf));
+	}
+
+	@Test
+	void failedLoadDropsPendingEventsAndTheNextReadLoadsAgain() {
+		AtomicInteger loads = new AtomicInteger();
+		List<BoardEvent> applied = new ArrayList<>();
+		ProjectEventCache<List<UUID>> cache = new ProjectEventCache<List<UUID>>(10, id -> {
+			if (loads.incrementAndGet() == 1) {
+				throw new IllegalStateException("banco fora do ar");
+			}
+			return new ArrayList<>();
+		}, (state, event) -> applied.add(event));
+
+		assertThrows(IllegalStateException.class, () -> cache.read(projectId, List::size));
+		// Sem carga em andamento o evento é ignorado: a próxima carga já o vê no banco
+		cache.apply(projectId, event());
+
+		assertEquals(0, size(cache));
+		assertEquals(2, loads.get());
+		assertTrue(applied.isEmpty());
+	}
+
+	@Test
+	void concurrentReadsShareOneLoad() throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ProjectEventCache<List<UUID>> cache = cache(id -> {
+			loads.incrementAndGet();
+			loading.countDown();
+			await(release);
+			return new ArrayList<>();
+		});
+
+		Future<Integer> first = executor.submit(() -> cache.read(projectId, List::size));
+		assertTrue(loading.await(5, TimeUnit.SECONDS));
+		Future<Integer> second = executor.submit(() -> cache.read(projectId, List::size));
+		release.countDown();
+
+		assertEquals(0, first.get(5, TimeUnit.SECONDS));
+		assertEquals(0, second.get(5, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void eventsForProjectsNotInMemoryAndEvictionReload() {
+		AtomicInteger loads = new AtomicInteger();
+		ProjectEventCache<List<UUID>> cache = cache(id -> {
+			loads.incrementAndGet();
+			return new ArrayList<>();
+		});
+
+		cache.apply(projectId, event());
+		assertEquals(0, size(cache));
+		cache.apply(projectId, event());
+		assertEquals(1, size(cache));
+		assertEquals(1, loads.get());
+
+		cache.evict(projectId);
+		assertEquals(0, size(cache));
+		assertEquals(2, loads.get());
+	}
+
+	private int size(ProjectEventCache<List<UUID>> cache) {
+		return cache.read(projectId, List::size);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("timeout");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package UnB.UnBacklog.benchmarks;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import UnB.UnBacklog.service.AuthService;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AuthBenchmark {
+
+    @Benchmark
+    public UUID getUserIdByToken(BenchmarkData data) {
+        return data.utils.getUserIdByToken(data.token);
+    }
+
+    @Benchmark
+    public AuthService.AuthTokens login(BenchmarkData data) {
+        return data.authService.login(BenchmarkData.EMAIL, BenchmarkData.PASSWORD, BenchmarkData.CLIENT_ADDRESS);
+    }
+}
@@ -0,0 +1,172 @@
+package UnB.UnBacklog.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import UnB.UnBacklog.UnBacklogApplication;
+import UnB.UnBacklog.entities.Project;
+import UnB.UnBacklog.entities.ProjectUser;
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.User;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.repository.ProjectRepository;
+import UnB.UnBacklog.repository.SprintRepository;
+import UnB.UnBacklog.repository.UserRepository;
+import UnB.UnBacklog.repository.UserStoryRepository;
+import UnB.UnBacklog.service.AuthService;
+import UnB.UnBacklog.service.ProjectService;
+import UnB.UnBacklog.util.ProjectRole;
+import UnB.UnBacklog.util.RankKeys;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryPriority;
+import UnB.UnBacklog.util.UserStoryStatus;
+import UnB.UnBacklog.util.Utils;
+
+/**
+ * Sobe a aplicação com o perfil "bench" (H2 em memória) e popula o banco com a
+ * quantidade de projetos, membros, histórias e sprints definida pelos parâmetros.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkData {
+
+    public static final String EMAIL = "bench@unb.br";
+    public static final String PASSWORD = "bench-password";
+    public static final String CLIENT_ADDRESS = "127.0.0.1";
+
+    @Param({"20"})
+    public int projects;
+
+    @Param({"10"})
+    public int members;
+
+    @Param({"200"})
+    public int stories;
+
+    @Param({"10"})
+    public int sprints;
+
+    public ConfigurableApplicationContext context;
+    public ProjectService projectService;
+    public AuthService authService;
+    public Utils utils;
+    public TransactionTemplate transactionTemplate;
+
+    public String token;
+    public String projectId;
+    public List<String> userStoryIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(UnBacklogApplication.class)
+            .profiles("bench")
+            .run();
+        projectService = context.getBean(ProjectService.class);
+        authService = context.getBean(AuthService.class);
+        utils = context.getBean(Utils.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        seed();
+        token = authService.login(EMAIL, PASSWORD, CLIENT_ADDRESS).accessToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Emula o open-in-view: as coleções lazy retornadas pelo serviço são lidas dentro da sessão
+    public <T> T inSession(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ProjectRepository projectRepository = context.getBean(ProjectRepository.class);
+        UserStoryRepository userStoryRepository = context.getBean(UserStoryRepository.class);
+        SprintRepository sprintRepository = context.getBean(SprintRepository.class);
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+
+        User owner = new User();
+        owner.setName("Bench");
+        owner.setEmail(EMAIL);
+        owner.setPassword(passwordEncoder.encode(PASSWORD));
+        owner = userRepository.save(owner);
+
+        List<User> team = new ArrayList<>();
+        for (int i = 0; i < members - 1; i++) {
+            User user = new User();
+            user.setName("Membro " + i);
+            user.setEmail("membro" + i + "@unb.br");
+            team.add(user);
+        }
+        team = userRepository.saveAll(team);
+
+        UserStoryPriority[] priorities = UserStoryPriority.values();
+        UserStoryStatus[] statuses = UserStoryStatus.values();
+        for (int p = 0; p < projects; p++) {
+            Project project = new Project();
+            project.setName("Projeto " + p);
+            project.setDescription("Projeto de benchmark " + p);
+            project.setCreatedAt(LocalDateTime.now());
+            project.getProjectUsers().add(membership(project, owner, ProjectRole.PRODUCT_OWNER));
+            for (User user : team) {
+                project.getProjectUsers().add(membership(project, user, ProjectRole.DEVELOPER));
+            }
+            project = projectRepository.save(project);
+
+            List<Sprint> projectSprints = new ArrayList<>();
+            for (int s = 0; s < sprints; s++) {
+                Sprint sprint = new Sprint();
+                sprint.setProject(project);
+                sprint.setObjective("Sprint " + s);
+                sprint.setStatus(s == 0 ? SprintStatus.ACTIVE : SprintStatus.PLANNED);
+                projectSprints.add(sprint);
+            }
+            projectSprints = sprintRepository.saveAll(projectSprints);
+
+            List<UserStory> projectStories = new ArrayList<>();
+            String[] ranks = RankKeys.spread(stories);
+            for (int s = 0; s < stories; s++) {
+                UserStory userStory = new UserStory();
+                userStory.setProject(project);
+                userStory.setTitle("História " + s);
+                userStory.setDescription("Como usuário, quero a funcionalidade " + s);
+                userStory.setPriority(priorities[s % priorities.length]);
+                userStory.setStatus(statuses[s % statuses.length]);
+                userStory.setRank(ranks[s]);
+                userStory.setSprint(projectSprints.isEmpty() || s % 2 == 0 ? null : projectSprints.get(s % projectSprints.size()));
+                projectStories.add(userStory);
+            }
+            projectStories = userStoryRepository.saveAll(projectStories);
+
+            if (p == 0) {
+                projectId = project.getProjectId().toString();
+                for (UserStory userStory : projectStories) {
+                    userStoryIds.add(userStory.getId().toString());
+                }
+            }
+        }
+    }
+
+    private ProjectUser membership(Project project, User user, ProjectRole role) {
+        ProjectUser projectUser = new ProjectUser();
+        projectUser.setProject(project);
+        projectUser.setUser(user);
+        projectUser.setRole(role);
+        return projectUser;
+    }
+}
@@ -0,0 +1,62 @@
+package UnB.UnBacklog.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import UnB.UnBacklog.entities.Sprint;
+import UnB.UnBacklog.entities.UserStory;
+import UnB.UnBacklog.service.ProjectService;
+import UnB.UnBacklog.util.SprintStatus;
+import UnB.UnBacklog.util.UserStoryStatus;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ProjectServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public List<ProjectService.ProjectResponse> getProjects(BenchmarkData data) {
+        return data.inSession(() -> data.projectService.getProjects(data.token));
+    }
+
+    @Benchmark
+    public int getUserStory(BenchmarkData data) {
+        return data.inSession(() -> {
+            try {
+                return data.projectService.getUserStory(data.token, data.projectId).size();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Benchmark
+    public UserStory updateUserStory(BenchmarkData data, Cursor cursor) throws Exception {
+        int index = cursor.next++ % data.userStoryIds.size();
+        UserStoryStatus status = UserStoryStatus.values()[cursor.next % UserStoryStatus.values().length];
+        return data.projectService.updateUserStory(
+            data.token, data.projectId, data.userStoryIds.get(index), null, null, null, status, null, null);
+    }
+
+    @Benchmark
+    public Sprint createSprint(BenchmarkData data) throws Exception {
+        return data.projectService.createSprint(data.token, data.projectId, "Sprint de benchmark", null, null, SprintStatus.PLANNED);
+    }
+}
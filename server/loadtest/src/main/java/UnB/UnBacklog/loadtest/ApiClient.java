@@ -0,0 +1,84 @@
+package UnB.UnBacklog.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP mínimo da API. O cookie {@code token} é passado explicitamente, assim
+ * um único HttpClient atende todos os usuários virtuais.
+ */
+public class ApiClient {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public record Response(int status, String body, String token) {
+        public boolean ok() { return status >= 200 && status < 300; }
+
+        public JsonNode json() {
+            try {
+                return MAPPER.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Invalid JSON response: " + body, e);
+            }
+        }
+    }
+
+    public ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    }
+
+    public Response send(String method, String path, String token, Object body, String endpoint, LatencyRecorder recorder) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Cookie", "token=" + token);
+        }
+        try {
+            builder.method(method, body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> httpResponse = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            response = new Response(httpResponse.statusCode(), httpResponse.body(), tokenFrom(httpResponse));
+        } catch (IOException e) {
+            response = new Response(0, e.toString(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = new Response(0, e.toString(), null);
+        }
+        if (recorder != null) {
+            recorder.record(endpoint, System.nanoTime() - start, response.ok());
+        }
+        return response;
+    }
+
+    private String tokenFrom(HttpResponse<?> response) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            if (header.startsWith("token=")) {
+                int end = header.indexOf(';');
+                return header.substring("token=".length(), end < 0 ? header.length() : end);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,192 @@
+package UnB.UnBacklog.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Cria usuários, projetos, histórias e sprints pelos endpoints públicos da API.
+ * Os dados dependem só da semente: rodar de novo contra o mesmo banco reaproveita
+ * o que já existe em vez de duplicar.
+ */
+public class DataSeeder {
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+    private static final String[] STATUSES = {"TO_DO", "DOING", "DONE"};
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+
+    public static final class SeededUser {
+        final String email;
+        final String password;
+        volatile String token;
+        final List<SeededProject> owned = Collections.synchronizedList(new ArrayList<>());
+        final List<SeededProject> memberOf = Collections.synchronizedList(new ArrayList<>());
+
+        SeededUser(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+    }
+
+    public record SeededProject(String projectId, List<String> storyIds, List<String> sprintIds) {}
+
+    public record SeededData(List<SeededUser> users, int projects, int stories, int sprints) {}
+
+    public DataSeeder(LoadTestConfig config, ApiClient api) {
+        this.config = config;
+        this.api = api;
+    }
+
+    public SeededData seed() throws Exception {
+        List<SeededUser> users = new ArrayList<>();
+        for (int i = 0; i < config.users(); i++) {
+            users.add(new SeededUser("loadtest-" + config.seed() + "-" + i + "@unb.br", "loadtest-" + config.seed()));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.concurrency()));
+        try {
+            runAll(executor, users, this::registerOrLogin);
+
+            // Sorteia os membros de cada projeto antes de paralelizar, para manter o resultado determinístico
+            Random random = new Random(config.seed());
+            Map<String, List<Integer>> membersByProject = new LinkedHashMap<>();
+            for (int owner = 0; owner < users.size(); owner++) {
+                for (int p = 0; p < config.projectsPerUser(); p++) {
+                    List<Integer> candidates = new ArrayList<>();
+                    for (int i = 0; i < users.size(); i++) if (i != owner) candidates.add(i);
+                    Collections.shuffle(candidates, random);
+                    membersByProject.put(owner + ":" + p,
+                        candidates.subList(0, Math.min(config.membersPerProject() - 1, candidates.size())));
+                }
+            }
+
+            List<Runnable> tasks = new ArrayList<>();
+            for (int owner = 0; owner < users.size(); owner++) {
+                for (int p = 0; p < config.projectsPerUser(); p++) {
+                    int ownerIndex = owner;
+                    int projectIndex = p;
+                    tasks.add(() -> seedProject(users, ownerIndex, projectIndex, membersByProject.get(ownerIndex + ":" + projectIndex)));
+                }
+            }
+            runAll(executor, tasks, Runnable::run);
+        } finally {
+            executor.shutdown();
+        }
+
+        int projects = 0, stories = 0, sprints = 0;
+        for (SeededUser user : users) {
+            for (SeededProject project : user.owned) {
+                projects++;
+                stories += project.storyIds().size();
+                sprints += project.sprintIds().size();
+            }
+        }
+        return new SeededData(users, projects, stories, sprints);
+    }
+
+    private void registerOrLogin(SeededUser user) {
+        ApiClient.Response response = api.send("POST", "/api/auth/register", null,
+            Map.of("name", user.email, "email", user.email, "password", user.password), null, null);
+        if (!response.ok()) {
+            response = api.send("POST", "/api/auth/login", null,
+                Map.of("email", user.email, "password", user.password), null, null);
+        }
+        if (response.token() == null) {
+            throw new IllegalStateException("Could not authenticate " + user.email + ": " + response.body());
+        }
+        user.token = response.token();
+    }
+
+    private void seedProject(List<SeededUser> users, int ownerIndex, int projectIndex, List<Integer> members) {
+        SeededUser owner = users.get(ownerIndex);
+        String name = "loadtest-" + config.seed() + "-" + ownerIndex + "-" + projectIndex;
+
+        String projectId = findProject(owner, name);
+        boolean created = projectId == null;
+        if (created) {
+            List<Map<String, String>> associates = new ArrayList<>();
+            for (int member : members) {
+                associates.add(Map.of("email", users.get(member).email, "role", "DEVELOPER"));
+            }
+            check(api.send("POST", "/api/project", owner.token,
+                Map.of("name", name, "description", "Projeto do teste de carga", "associates", associates), null, null));
+            projectId = findProject(owner, name);
+        }
+
+        List<String> storyIds = new ArrayList<>();
+        List<String> sprintIds = new ArrayList<>();
+        if (created) {
+            Random random = new Random(config.seed() * 31 + name.hashCode());
+            for (int s = 0; s < config.sprintsPerProject(); s++) {
+                ApiClient.Response response = check(api.send("POST", "/api/project/" + projectId + "/sprint", owner.token,
+                    Map.of("objective", "Sprint " + s, "status", "PLANNED"), null, null));
+                sprintIds.add(response.json().get("sprintId").asText());
+            }
+            for (int s = 0; s < config.storiesPerProject(); s++) {
+                ApiClient.Response response = check(api.send("POST", "/api/project/" + projectId + "/user-story", owner.token,
+                    Map.of(
+                        "title", "História " + s,
+                        "description", "Como usuário, quero a funcionalidade " + s,
+                        "priority", PRIORITIES[random.nextInt(PRIORITIES.length)],
+                        "status", STATUSES[random.nextInt(STATUSES.length)]
+                    ), null, null));
+                storyIds.add(response.body().replace("\"", "").trim());
+            }
+        } else {
+            for (JsonNode story : check(api.send("GET", "/api/project/" + projectId + "/user-story", owner.token, null, null, null)).json()) {
+                storyIds.add(story.get("id").asText());
+            }
+            for (JsonNode sprint : check(api.send("GET", "/api/project/" + projectId + "/sprint", owner.token, null, null, null)).json()) {
+                sprintIds.add(sprint.get("sprintId").asText());
+            }
+        }
+
+        SeededProject project = new SeededProject(projectId, List.copyOf(storyIds), List.copyOf(sprintIds));
+        owner.owned.add(project);
+        for (int member : members) {
+            users.get(member).memberOf.add(project);
+        }
+    }
+
+    private String findProject(SeededUser owner, String name) {
+        for (JsonNode project : check(api.send("GET", "/api/project", owner.token, null, null, null)).json()) {
+            if (name.equals(project.get("name").asText())) {
+                return project.get("id").asText();
+            }
+        }
+        return null;
+    }
+
+    private ApiClient.Response check(ApiClient.Response response) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Seeding request failed with status " + response.status() + ": " + response.body());
+        }
+        return response;
+    }
+
+    private interface Task<T> {
+        void run(T item) throws Exception;
+    }
+
+    private <T> void runAll(ExecutorService executor, List<T> items, Task<T> task) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        for (T item : items) {
+            futures.add(executor.submit(() -> {
+                task.run(item);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
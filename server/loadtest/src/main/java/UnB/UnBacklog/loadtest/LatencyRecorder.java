@@ -0,0 +1,62 @@
+package UnB.UnBacklog.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latências de uma única thread, agrupadas por endpoint. Cada worker tem o seu
+ * recorder e eles são combinados no final, evitando contenção durante a medição.
+ */
+public class LatencyRecorder {
+
+    public static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        void merge(Samples other) {
+            for (int i = 0; i < other.size; i++) add(other.nanos[i]);
+            errors += other.errors;
+        }
+
+        public int count() { return size; }
+        public long errors() { return errors; }
+
+        public long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private final Map<String, Samples> byEndpoint = new TreeMap<>();
+
+    public void record(String endpoint, long nanos, boolean success) {
+        Samples samples = byEndpoint.computeIfAbsent(endpoint, key -> new Samples());
+        samples.add(nanos);
+        if (!success) samples.errors++;
+    }
+
+    public void merge(LatencyRecorder other) {
+        other.byEndpoint.forEach((endpoint, samples) ->
+            byEndpoint.computeIfAbsent(endpoint, key -> new Samples()).merge(samples));
+    }
+
+    public Map<String, Samples> byEndpoint() {
+        return byEndpoint;
+    }
+
+    public static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
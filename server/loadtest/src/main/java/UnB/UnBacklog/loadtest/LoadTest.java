@@ -0,0 +1,178 @@
+package UnB.UnBacklog.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import UnB.UnBacklog.loadtest.DataSeeder.SeededProject;
+import UnB.UnBacklog.loadtest.DataSeeder.SeededUser;
+import UnB.UnBacklog.loadtest.LoadTestConfig.Operation;
+
+/**
+ * Popula a aplicação e reproduz um tráfego misto (login, carga do board, edição de
+ * história e ativação de sprint) com usuários virtuais concorrentes. Ao final imprime
+ * p50/p99/p99.9 e vazão por endpoint e encerra com código 2 se os limites configurados
+ * forem ultrapassados.
+ */
+public class LoadTest {
+
+    public record EndpointReport(long requests, long errors, double throughput, double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ApiClient api = new ApiClient(config.baseUrl());
+
+        System.out.printf("Seeding %d users against %s (seed %d)...%n", config.users(), config.baseUrl(), config.seed());
+        long seedStart = System.nanoTime();
+        DataSeeder.SeededData data = new DataSeeder(config, api).seed();
+        System.out.printf("Seeded %d projects, %d stories and %d sprints in %.1f s%n",
+            data.projects(), data.stories(), data.sprints(), (System.nanoTime() - seedStart) / 1e9);
+
+        if (config.warmupSeconds() > 0) {
+            System.out.printf("Warming up for %d s...%n", config.warmupSeconds());
+            run(config, api, data, config.warmupSeconds());
+        }
+
+        System.out.printf("Running %d virtual users for %d s...%n", config.concurrency(), config.durationSeconds());
+        LatencyRecorder recorder = run(config, api, data, config.durationSeconds());
+
+        Map<String, EndpointReport> report = report(recorder, config.durationSeconds());
+        print(report);
+        if (config.reportPath() != null) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(Path.of(config.reportPath()).toFile(), report);
+        }
+
+        List<String> violations = violations(config, report);
+        if (!violations.isEmpty()) {
+            violations.forEach(violation -> System.out.println("FAIL " + violation));
+            System.exit(2);
+        }
+    }
+
+    private static LatencyRecorder run(LoadTestConfig config, ApiClient api, DataSeeder.SeededData data, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(config.concurrency());
+
+        for (int worker = 0; worker < config.concurrency(); worker++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            SeededUser user = data.users().get(worker % data.users().size());
+            Random random = new Random(config.seed() + worker);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        execute(pick(config.mix(), random), user, random, api, recorder);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "loadtest-" + worker);
+            thread.start();
+        }
+        done.await();
+
+        LatencyRecorder merged = new LatencyRecorder();
+        recorders.forEach(merged::merge);
+        return merged;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey();
+        }
+        return Operation.BOARD;
+    }
+
+    private static void execute(Operation operation, SeededUser user, Random random, ApiClient api, LatencyRecorder recorder) {
+        switch (operation) {
+            case LOGIN -> {
+                ApiClient.Response response = api.send("POST", "/api/auth/login", null,
+                    Map.of("email", user.email, "password", user.password), "POST /api/auth/login", recorder);
+                if (response.token() != null) user.token = response.token();
+            }
+            case BOARD -> {
+                SeededProject project = anyProject(user, random);
+                if (project == null) return;
+                String base = "/api/project/" + project.projectId();
+                api.send("GET", base + "/user-story", user.token, null, "GET /api/project/{projectId}/user-story", recorder);
+                api.send("GET", base + "/sprint", user.token, null, "GET /api/project/{projectId}/sprint", recorder);
+                api.send("GET", base + "/summary", user.token, null, "GET /api/project/{projectId}/summary", recorder);
+            }
+            case UPDATE_STORY -> {
+                SeededProject project = ownedProject(user, random);
+                if (project == null || project.storyIds().isEmpty()) return;
+                String storyId = project.storyIds().get(random.nextInt(project.storyIds().size()));
+                String status = new String[] {"TO_DO", "DOING", "DONE"}[random.nextInt(3)];
+                api.send("PUT", "/api/project/" + project.projectId() + "/user-story/" + storyId, user.token,
+                    Map.of("status", status), "PUT /api/project/{projectId}/user-story/{userStoryId}", recorder);
+            }
+            case ACTIVATE_SPRINT -> {
+                SeededProject project = ownedProject(user, random);
+                if (project == null || project.sprintIds().isEmpty()) return;
+                String sprintId = project.sprintIds().get(random.nextInt(project.sprintIds().size()));
+                api.send("PUT", "/api/project/" + project.projectId() + "/sprint/" + sprintId, user.token,
+                    Map.of("status", "ACTIVE"), "PUT /api/project/{projectId}/sprint/{sprintId}", recorder);
+            }
+        }
+    }
+
+    private static SeededProject ownedProject(SeededUser user, Random random) {
+        List<SeededProject> owned = user.owned;
+        return owned.isEmpty() ? null : owned.get(random.nextInt(owned.size()));
+    }
+
+    private static SeededProject anyProject(SeededUser user, Random random) {
+        int total = user.owned.size() + user.memberOf.size();
+        if (total == 0) return null;
+        int index = random.nextInt(total);
+        return index < user.owned.size() ? user.owned.get(index) : user.memberOf.get(index - user.owned.size());
+    }
+
+    private static Map<String, EndpointReport> report(LatencyRecorder recorder, int seconds) {
+        Map<String, EndpointReport> report = new LinkedHashMap<>();
+        recorder.byEndpoint().forEach((endpoint, samples) -> {
+            long[] sorted = samples.sorted();
+            report.put(endpoint, new EndpointReport(
+                samples.count(),
+                samples.errors(),
+                samples.count() / (double) seconds,
+                LatencyRecorder.percentileMillis(sorted, 50),
+                LatencyRecorder.percentileMillis(sorted, 99),
+                LatencyRecorder.percentileMillis(sorted, 99.9),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0
+            ));
+        });
+        return report;
+    }
+
+    private static void print(Map<String, EndpointReport> report) {
+        System.out.printf("%n%-58s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.forEach((endpoint, row) -> System.out.printf("%-58s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint, row.requests(), row.errors(), row.throughput(), row.p50Ms(), row.p99Ms(), row.p999Ms(), row.maxMs()));
+    }
+
+    private static List<String> violations(LoadTestConfig config, Map<String, EndpointReport> report) {
+        List<String> violations = new ArrayList<>();
+        report.forEach((endpoint, row) -> {
+            double errorRate = row.requests() == 0 ? 0 : (double) row.errors() / row.requests();
+            if (errorRate > config.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.2f%% above %.2f%%", endpoint, errorRate * 100, config.maxErrorRate() * 100));
+            }
+            if (config.maxP99Millis() != null && row.p99Ms() > config.maxP99Millis()) {
+                violations.add(String.format("%s p99 %.2f ms above %.2f ms", endpoint, row.p99Ms(), config.maxP99Millis()));
+            }
+        });
+        return violations;
+    }
+}
@@ -0,0 +1,62 @@
+package UnB.UnBacklog.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de propriedades de sistema {@code -Dloadtest.*}.
+ */
+public record LoadTestConfig(
+    String baseUrl,
+    long seed,
+    int users,
+    int projectsPerUser,
+    int membersPerProject,
+    int storiesPerProject,
+    int sprintsPerProject,
+    int concurrency,
+    int warmupSeconds,
+    int durationSeconds,
+    Map<Operation, Integer> mix,
+    Double maxP99Millis,
+    double maxErrorRate,
+    String reportPath
+) {
+
+    public enum Operation { LOGIN, BOARD, UPDATE_STORY, ACTIVATE_SPRINT }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            System.getProperty("loadtest.baseUrl", "http://localhost:8080"),
+            Long.getLong("loadtest.seed", 42L),
+            Integer.getInteger("loadtest.users", 20),
+            Integer.getInteger("loadtest.projectsPerUser", 1),
+            Integer.getInteger("loadtest.membersPerProject", 5),
+            Integer.getInteger("loadtest.storiesPerProject", 200),
+            Integer.getInteger("loadtest.sprintsPerProject", 5),
+            Integer.getInteger("loadtest.concurrency", 32),
+            Integer.getInteger("loadtest.warmupSeconds", 10),
+            Integer.getInteger("loadtest.durationSeconds", 60),
+            parseMix(System.getProperty("loadtest.mix", "login:5,board:60,update:30,activate:5")),
+            System.getProperty("loadtest.maxP99Ms") == null ? null : Double.valueOf(System.getProperty("loadtest.maxP99Ms")),
+            Double.parseDouble(System.getProperty("loadtest.maxErrorRate", "0.01")),
+            System.getProperty("loadtest.report")
+        );
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Operation operation = switch (parts[0].trim().toLowerCase()) {
+                case "login" -> Operation.LOGIN;
+                case "board" -> Operation.BOARD;
+                case "update" -> Operation.UPDATE_STORY;
+                case "activate" -> Operation.ACTIVATE_SPRINT;
+                default -> throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + parts[0]);
+            };
+            mix.put(operation, Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}